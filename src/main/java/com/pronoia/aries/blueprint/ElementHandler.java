@@ -28,4 +28,17 @@ public interface ElementHandler {
 
     Metadata parseElement(final Element serviceElement, final ParserContext parserContext);
 
+
+    /**
+     * Determine if the metadata for an element can be cached - the metadata must be a pure function of the element.
+     *
+     * Metadata containing {@link org.apache.aries.blueprint.PassThroughMetadata} is never cached, since the object it
+     * passes through would be shared between containers.
+     *
+     * @return true if the metadata can be cached
+     */
+    default boolean isCacheable() {
+        return false;
+    }
+
 }
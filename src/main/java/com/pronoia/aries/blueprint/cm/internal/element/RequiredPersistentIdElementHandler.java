@@ -49,4 +49,9 @@ public class RequiredPersistentIdElementHandler extends AbstractElementHandler {
             return metadata;
         }
     }
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
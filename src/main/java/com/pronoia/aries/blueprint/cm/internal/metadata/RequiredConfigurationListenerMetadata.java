@@ -2,7 +2,7 @@ package com.pronoia.aries.blueprint.cm.internal.metadata;
 
 import com.pronoia.aries.blueprint.cm.RequiredConfigurationListener;
 import com.pronoia.aries.blueprint.util.metadata.AbstractSingletonBeanMetadata;
-import com.pronoia.aries.blueprint.util.reflect.RefMetadataUtil;
+import com.pronoia.aries.blueprint.util.reflect.MetadataPool;
 import com.pronoia.aries.blueprint.util.reflect.ReferenceMetadataUtil;
 import com.pronoia.aries.blueprint.util.reflect.SetMetadataUtil;
 import com.pronoia.aries.blueprint.util.reflect.ValueMetadataUtil;
@@ -28,7 +28,7 @@ public class RequiredConfigurationListenerMetadata extends AbstractSingletonBean
 
         MutableBeanArgument bundleContextArgument = new BeanArgumentImpl();
         bundleContextArgument.setIndex(0);
-        bundleContextArgument.setValue(RefMetadataUtil.create("blueprintBundleContext"));
+        bundleContextArgument.setValue(MetadataPool.ref("blueprintBundleContext"));
 
         this.addArgument(bundleContextArgument);
     }
@@ -59,7 +59,7 @@ public class RequiredConfigurationListenerMetadata extends AbstractSingletonBean
 
         switch (propertyName) {
             case "registrationDelay":
-                propertyMetadata = ValueMetadataUtil.create(Integer.class, propertyValue);
+                propertyMetadata = MetadataPool.value(propertyValue, Integer.class);
                 break;
             default:
                 // TODO:  Make the message better - include more detail
@@ -2,12 +2,14 @@ package com.pronoia.aries.blueprint.internal;
 
 import com.pronoia.aries.blueprint.cm.internal.element.RequiredConfigurationListenerElementHandler;
 import com.pronoia.aries.blueprint.cm.internal.element.RequiredPersistentIdElementHandler;
+import com.pronoia.aries.blueprint.timing.internal.TimedAttributeDecorator;
 import com.pronoia.aries.blueprint.util.namespace.AbstractNamespaceHandler;
 
 public class UtilNamespaceHandler  extends AbstractNamespaceHandler {
     public UtilNamespaceHandler() {
         addElementHandler(new RequiredPersistentIdElementHandler(this));
         addElementHandler(new RequiredConfigurationListenerElementHandler(this));
+        addAttributeDecorator(new TimedAttributeDecorator(this));
     }
 
     @Override
@@ -0,0 +1,180 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.timing;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+
+import org.apache.aries.blueprint.BeanProcessor;
+import org.osgi.framework.BundleContext;
+import org.osgi.service.blueprint.reflect.BeanMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * An Aries {@link BeanProcessor} that records the instances and the init/destroy latency of timed beans, and exposes
+ * the timing statistics of the beans over JMX.
+ *
+ * NOTE:  Bean processors are called after the bean has been constructed and its properties injected, so the
+ * construction of a bean is counted but not timed.
+ */
+public class BeanTimingProcessor implements BeanProcessor {
+    public static final String OBJECT_NAME_DOMAIN = "com.pronoia.aries.util";
+
+    final BundleContext bundleContext;
+    final Map<String, BeanTimingStatistics> beanStatistics;
+
+    final Map<Object, Long> pendingInits = Collections.synchronizedMap(new IdentityHashMap<>());
+    final Map<Object, Long> pendingDestroys = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    List<ObjectName> registeredObjectNames = new LinkedList<>();
+
+    Logger log = LoggerFactory.getLogger(this.getClass());
+
+    public BeanTimingProcessor(BundleContext bundleContext, Map<String, BeanTimingStatistics> beanStatistics) {
+        this.bundleContext = bundleContext;
+        this.beanStatistics = beanStatistics;
+    }
+
+    public Map<String, BeanTimingStatistics> getBeanStatistics() {
+        return beanStatistics;
+    }
+
+    /**
+     * Register the MBeans for the timed beans.
+     */
+    public synchronized void start() {
+        MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+
+        for (BeanTimingStatistics statistics : beanStatistics.values()) {
+            ObjectName objectName;
+            try {
+                objectName = createObjectName(statistics.getBeanId());
+            } catch (MalformedObjectNameException malformedNameEx) {
+                log.warn("Failed to create ObjectName for bean {} - MBean will not be registered", statistics.getBeanId(), malformedNameEx);
+                continue;
+            }
+
+            try {
+                mbeanServer.registerMBean(statistics, objectName);
+                registeredObjectNames.add(objectName);
+            } catch (InstanceAlreadyExistsException allreadyExistsEx) {
+                log.warn("MBean already registered for timed bean {}", objectName, allreadyExistsEx);
+            } catch (MBeanRegistrationException registrationEx) {
+                log.warn("MBean registration failure for timed bean {}", objectName, registrationEx);
+            } catch (NotCompliantMBeanException nonCompliantMBeanEx) {
+                log.warn("Invalid MBean for timed bean {}", objectName, nonCompliantMBeanEx);
+            }
+        }
+    }
+
+    /**
+     * Unregister the MBeans for the timed beans.
+     */
+    public synchronized void stop() {
+        MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+
+        for (ObjectName objectName : registeredObjectNames) {
+            try {
+                mbeanServer.unregisterMBean(objectName);
+            } catch (InstanceNotFoundException | MBeanRegistrationException unregisterEx) {
+                log.warn("Failed to unregister MBean for timed bean {}", objectName, unregisterEx);
+            }
+        }
+        registeredObjectNames.clear();
+    }
+
+    ObjectName createObjectName(String beanId) throws MalformedObjectNameException {
+        String bundleName = bundleContext != null ? bundleContext.getBundle().getSymbolicName() : "unknown";
+
+        return new ObjectName(String.format("%s:type=BeanTimingStatistics,bundle=%s,id=%s", OBJECT_NAME_DOMAIN, quote(bundleName), quote(beanId)));
+    }
+
+    static String quote(String value) {
+        for (int i = 0; i < value.length(); ++i) {
+            switch (value.charAt(i)) {
+            case ',':
+            case '=':
+            case ':':
+            case '"':
+            case '*':
+            case '?':
+            case '\n':
+                return ObjectName.quote(value);
+            default:
+                break;
+            }
+        }
+
+        return value;
+    }
+
+    @Override
+    public Object beforeInit(Object bean, String beanName, BeanCreator beanCreator, BeanMetadata beanData) {
+        BeanTimingStatistics statistics = beanStatistics.get(beanName);
+        if (statistics != null) {
+            statistics.recordInstance();
+            pendingInits.put(bean, System.nanoTime());
+        }
+
+        return bean;
+    }
+
+    @Override
+    public Object afterInit(Object bean, String beanName, BeanCreator beanCreator, BeanMetadata beanData) {
+        BeanTimingStatistics statistics = beanStatistics.get(beanName);
+        if (statistics != null) {
+            Long startNanos = pendingInits.remove(bean);
+            if (startNanos != null) {
+                statistics.getInitStatistics().record(System.nanoTime() - startNanos, false);
+            }
+        }
+
+        return bean;
+    }
+
+    @Override
+    public void beforeDestroy(Object bean, String beanName) {
+        if (beanStatistics.containsKey(beanName)) {
+            pendingDestroys.put(bean, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterDestroy(Object bean, String beanName) {
+        BeanTimingStatistics statistics = beanStatistics.get(beanName);
+        if (statistics != null) {
+            Long startNanos = pendingDestroys.remove(bean);
+            if (startNanos != null) {
+                statistics.getDestroyStatistics().record(System.nanoTime() - startNanos, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.timing;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+
+/**
+ * The timing statistics of a Blueprint bean - the number of instances created, the latency of the init and destroy
+ * methods, and the latency of each method called through the Blueprint proxy of the bean.
+ */
+public class BeanTimingStatistics implements BeanTimingStatisticsMBean {
+    final String beanId;
+
+    final LongAdder instanceCount = new LongAdder();
+    final LatencyStatistics initStatistics = new LatencyStatistics("init");
+    final LatencyStatistics destroyStatistics = new LatencyStatistics("destroy");
+    final ConcurrentMap<Method, LatencyStatistics> methodStatistics = new ConcurrentHashMap<>();
+
+    public BeanTimingStatistics(String beanId) {
+        if (beanId == null || beanId.isEmpty()) {
+            throw new IllegalArgumentException("BeanTimingStatistics(beanId) - beanId cannot be null or empty");
+        }
+        this.beanId = beanId;
+    }
+
+    @Override
+    public String getBeanId() {
+        return beanId;
+    }
+
+    /**
+     * Record the creation of an instance of the bean.
+     */
+    public void recordInstance() {
+        instanceCount.increment();
+    }
+
+    public LatencyStatistics getInitStatistics() {
+        return initStatistics;
+    }
+
+    public LatencyStatistics getDestroyStatistics() {
+        return destroyStatistics;
+    }
+
+    /**
+     * Return the statistics for a method of the bean, creating them if required.
+     *
+     * @param method the method
+     *
+     * @return the statistics for the method
+     */
+    public LatencyStatistics getMethodStatistics(Method method) {
+        LatencyStatistics answer = methodStatistics.get(method);
+        if (answer == null) {
+            answer = methodStatistics.computeIfAbsent(method, key -> new LatencyStatistics(methodLabel(key)));
+        }
+
+        return answer;
+    }
+
+    static String methodLabel(Method method) {
+        StringBuilder builder = new StringBuilder(method.getName()).append('(');
+
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; ++i) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(parameterTypes[i].getSimpleName());
+        }
+
+        return builder.append(')').toString();
+    }
+
+    @Override
+    public long getInstanceCount() {
+        return instanceCount.sum();
+    }
+
+    @Override
+    public long getInitCount() {
+        return initStatistics.getCount();
+    }
+
+    @Override
+    public double getMeanInitTimeMicros() {
+        return initStatistics.getMean(TimeUnit.MICROSECONDS);
+    }
+
+    @Override
+    public long getMaxInitTimeMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(initStatistics.getMaxNanos());
+    }
+
+    @Override
+    public long getDestroyCount() {
+        return destroyStatistics.getCount();
+    }
+
+    @Override
+    public double getMeanDestroyTimeMicros() {
+        return destroyStatistics.getMean(TimeUnit.MICROSECONDS);
+    }
+
+    @Override
+    public long getMaxDestroyTimeMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(destroyStatistics.getMaxNanos());
+    }
+
+    @Override
+    public Map<String, Long> getCallCounts() {
+        return collect(LatencyStatistics::getCount);
+    }
+
+    @Override
+    public Map<String, Long> getErrorCounts() {
+        return collect(LatencyStatistics::getErrorCount);
+    }
+
+    @Override
+    public Map<String, Double> getMeanCallTimesMicros() {
+        return collect(statistics -> statistics.getMean(TimeUnit.MICROSECONDS));
+    }
+
+    @Override
+    public Map<String, Long> getMaxCallTimesMicros() {
+        return collect(statistics -> TimeUnit.NANOSECONDS.toMicros(statistics.getMaxNanos()));
+    }
+
+    /**
+     * Return an estimate of a call latency percentile for a method.
+     *
+     * @param methodName the method name - either the plain name, which matches every overload, or the name with the
+     *                   parameter types as returned by getCallCounts()
+     * @param percentile the percentile - between 0 and 100
+     *
+     * @return the estimated latency in microseconds, or zero if the method has not been called
+     */
+    @Override
+    public long getCallTimePercentileMicros(String methodName, double percentile) {
+        long answer = 0;
+
+        for (LatencyStatistics statistics : methodStatistics.values()) {
+            String label = statistics.getName();
+            if (label.equals(methodName) || (label.startsWith(methodName) && label.charAt(methodName.length()) == '(')) {
+                answer = Math.max(answer, statistics.getPercentileNanos(percentile));
+            }
+        }
+
+        return TimeUnit.NANOSECONDS.toMicros(answer);
+    }
+
+    @Override
+    public void reset() {
+        instanceCount.reset();
+        initStatistics.reset();
+        destroyStatistics.reset();
+        for (LatencyStatistics statistics : methodStatistics.values()) {
+            statistics.reset();
+        }
+    }
+
+    <V> Map<String, V> collect(Function<LatencyStatistics, V> getter) {
+        Map<String, V> answer = new TreeMap<>();
+
+        for (LatencyStatistics statistics : methodStatistics.values()) {
+            answer.put(statistics.getName(), getter.apply(statistics));
+        }
+
+        return answer;
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.timing;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Low-overhead latency statistics - a count, an error count, the total and maximum latency, and a histogram.
+ *
+ * The histogram has one bucket per power of two nanoseconds, so percentiles are estimates - the upper bound of the bucket
+ * the percentile falls in - but recording a latency is a few uncontended adds.  All the counters are {@link LongAdder}s
+ * (or a {@link LongAccumulator} for the maximum), so concurrent callers do not contend on a single counter.
+ */
+public final class LatencyStatistics {
+    static final int BUCKET_COUNT = 64;
+
+    final String name;
+
+    final LongAdder count = new LongAdder();
+    final LongAdder errorCount = new LongAdder();
+    final LongAdder totalNanos = new LongAdder();
+    final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+    public LatencyStatistics(String name) {
+        this.name = name;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Return the name of the timed operation.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Record the latency of an operation.
+     *
+     * @param nanos  the latency in nanoseconds - negative values are recorded as zero
+     * @param failed true if the operation failed
+     */
+    public void record(long nanos, boolean failed) {
+        long latency = Math.max(0, nanos);
+
+        count.increment();
+        if (failed) {
+            errorCount.increment();
+        }
+        totalNanos.add(latency);
+        maxNanos.accumulate(latency);
+        buckets[bucketIndex(latency)].increment();
+    }
+
+    static int bucketIndex(long nanos) {
+        return nanos == 0 ? 0 : BUCKET_COUNT - Long.numberOfLeadingZeros(nanos) - 1;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Return the mean latency.
+     *
+     * @param timeUnit the unit of the result
+     *
+     * @return the mean latency, or zero if nothing has been recorded
+     */
+    public double getMean(TimeUnit timeUnit) {
+        long currentCount = count.sum();
+
+        return currentCount == 0 ? 0.0 : (double) totalNanos.sum() / currentCount / timeUnit.toNanos(1);
+    }
+
+    /**
+     * Return an estimate of a latency percentile - the upper bound of the histogram bucket the percentile falls in, capped
+     * at the maximum latency.
+     *
+     * @param percentile the percentile - between 0 and 100
+     *
+     * @return the estimated latency in nanoseconds, or zero if nothing has been recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0.0 || percentile > 100.0) {
+            String message = String.format("getPercentileNanos(percentile[%s]) - percentile must be between 0 and 100", percentile);
+            throw new IllegalArgumentException(message);
+        }
+
+        long[] bucketCounts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            bucketCounts[i] = buckets[i].sum();
+            total += bucketCounts[i];
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            cumulative += bucketCounts[i];
+            if (cumulative >= rank) {
+                long upperBound = i >= BUCKET_COUNT - 2 ? Long.MAX_VALUE : (2L << i) - 1;
+                return Math.min(upperBound, maxNanos.get());
+            }
+        }
+
+        return maxNanos.get();
+    }
+
+    /**
+     * Reset the statistics.
+     *
+     * NOTE:  The reset is not atomic - latencies recorded while the statistics are reset may be partially counted.
+     */
+    public void reset() {
+        count.reset();
+        errorCount.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s {count = %d errors = %d mean = %.1fus max = %dus}",
+            name, getCount(), getErrorCount(), getMean(TimeUnit.MICROSECONDS), TimeUnit.NANOSECONDS.toMicros(getMaxNanos()));
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.timing;
+
+import java.lang.reflect.Method;
+
+import org.apache.aries.blueprint.Interceptor;
+import org.osgi.service.blueprint.reflect.ComponentMetadata;
+
+
+/**
+ * An Aries {@link Interceptor} that records the latency of the calls made through the Blueprint proxy of a bean.
+ */
+public class TimingInterceptor implements Interceptor {
+    final BeanTimingStatistics statistics;
+
+    public TimingInterceptor(BeanTimingStatistics statistics) {
+        if (statistics == null) {
+            throw new IllegalArgumentException("TimingInterceptor(statistics[null]) - statistics cannot be null");
+        }
+        this.statistics = statistics;
+    }
+
+    public BeanTimingStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public Object preCall(ComponentMetadata componentMetadata, Method method, Object... parameters) {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void postCallWithReturn(ComponentMetadata componentMetadata, Method method, Object returnType, Object preCallToken) {
+        record(method, preCallToken, false);
+    }
+
+    @Override
+    public void postCallWithException(ComponentMetadata componentMetadata, Method method, Throwable exception, Object preCallToken) {
+        record(method, preCallToken, true);
+    }
+
+    void record(Method method, Object preCallToken, boolean failed) {
+        if (preCallToken instanceof Long) {
+            statistics.getMethodStatistics(method).record(System.nanoTime() - (Long) preCallToken, failed);
+        }
+    }
+
+    @Override
+    public int getRank() {
+        return 0;
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.timing.internal;
+
+import com.pronoia.aries.blueprint.AttributeDecorator;
+import com.pronoia.aries.blueprint.timing.BeanTimingProcessor;
+import com.pronoia.aries.blueprint.timing.BeanTimingStatistics;
+import com.pronoia.aries.blueprint.timing.TimingInterceptor;
+import com.pronoia.aries.blueprint.util.namespace.AbstractNamespaceHandler;
+import com.pronoia.aries.blueprint.util.placeholder.PlaceholderTemplate;
+import com.pronoia.aries.blueprint.util.reflect.MetadataPool;
+import com.pronoia.aries.blueprint.util.reflect.PassThroughMetadataUtil;
+import com.pronoia.aries.blueprint.util.reflect.SingletonBeanMetadataUtil;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.aries.blueprint.ComponentDefinitionRegistry;
+import org.apache.aries.blueprint.ParserContext;
+import org.apache.aries.blueprint.PassThroughMetadata;
+import org.apache.aries.blueprint.mutable.MutableBeanMetadata;
+import org.osgi.service.blueprint.container.ComponentDefinitionException;
+import org.osgi.service.blueprint.reflect.BeanArgument;
+import org.osgi.service.blueprint.reflect.BeanMetadata;
+import org.osgi.service.blueprint.reflect.ComponentMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Attr;
+
+
+/**
+ * Decorates a bean with a {@link TimingInterceptor} for the {@code util:timed="true"} attribute.
+ *
+ * The first timed bean in a Blueprint container also registers a {@link BeanTimingProcessor}, which times the
+ * init/destroy methods of the timed beans and registers their statistics over JMX.
+ */
+public class TimedAttributeDecorator implements AttributeDecorator {
+    public static final String ATTRIBUTE_NAME = "timed";
+    public static final String PROCESSOR_ID = "pronoia-bean-timing-processor";
+
+    final AbstractNamespaceHandler namespaceHandler;
+
+    Logger log = LoggerFactory.getLogger(this.getClass());
+
+    public TimedAttributeDecorator(AbstractNamespaceHandler namespaceHandler) {
+        if (namespaceHandler == null) {
+            throw new IllegalArgumentException("TimedAttributeDecorator(namespaceHandler[null]) - the namespaceHandler argument cannot be null");
+        }
+        this.namespaceHandler = namespaceHandler;
+    }
+
+    @Override
+    public String getAttributeName() {
+        return ATTRIBUTE_NAME;
+    }
+
+    @Override
+    public ComponentMetadata decorate(Attr attribute, ComponentMetadata componentMetadata, ParserContext parserContext) {
+        String value = attribute.getValue();
+        if (namespaceHandler.getPlaceholderResolver() != null) {
+            value = PlaceholderTemplate.resolve(value, namespaceHandler.getPlaceholderResolver(), true);
+        }
+
+        if (!isTimed(value)) {
+            return componentMetadata;
+        }
+
+        if (!(componentMetadata instanceof BeanMetadata) || componentMetadata.getId() == null) {
+            String errorMessage = String.format("Invalid use of %s attribute - only supported on a bean with an id {component = '%s'}", attribute.getName(), componentMetadata);
+            throw new ComponentDefinitionException(errorMessage);
+        }
+
+        ComponentDefinitionRegistry registry = parserContext.getComponentDefinitionRegistry();
+
+        BeanTimingStatistics statistics = new BeanTimingStatistics(componentMetadata.getId());
+        BeanTimingStatistics existingStatistics = getBeanStatistics(registry).putIfAbsent(statistics.getBeanId(), statistics);
+        if (existingStatistics != null) {
+            statistics = existingStatistics;
+        }
+
+        log.debug("Registering timing interceptor for bean '{}'", statistics.getBeanId());
+        registry.registerInterceptorWithComponent(componentMetadata, new TimingInterceptor(statistics));
+
+        return componentMetadata;
+    }
+
+    static boolean isTimed(String value) {
+        return "true".equals(value) || "1".equals(value);
+    }
+
+    /**
+     * Return the timing statistics of the container, registering the timing processor if required.
+     *
+     * @param registry the component definition registry of the container
+     *
+     * @return the map of bean ids to timing statistics used by the timing processor
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, BeanTimingStatistics> getBeanStatistics(ComponentDefinitionRegistry registry) {
+        ComponentMetadata processorMetadata = registry.getComponentDefinition(PROCESSOR_ID);
+
+        if (processorMetadata instanceof BeanMetadata) {
+            for (BeanArgument argument : ((BeanMetadata) processorMetadata).getArguments()) {
+                if (argument.getValue() instanceof PassThroughMetadata) {
+                    return (Map<String, BeanTimingStatistics>) ((PassThroughMetadata) argument.getValue()).getObject();
+                }
+            }
+        }
+
+        Map<String, BeanTimingStatistics> answer = new ConcurrentHashMap<>();
+
+        MutableBeanMetadata timingProcessorMetadata = SingletonBeanMetadataUtil.createWithLifecycleMethods(BeanTimingProcessor.class, PROCESSOR_ID, "start", "stop");
+        timingProcessorMetadata.setRuntimeClass(BeanTimingProcessor.class);
+        timingProcessorMetadata.setProcessor(true);
+        timingProcessorMetadata.addArgument(MetadataPool.ref("blueprintBundleContext"), null, 0);
+        timingProcessorMetadata.addArgument(PassThroughMetadataUtil.create(answer), null, 1);
+
+        registry.registerComponentDefinition(timingProcessorMetadata);
+
+        return answer;
+    }
+}
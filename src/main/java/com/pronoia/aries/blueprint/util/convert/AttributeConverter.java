@@ -0,0 +1,37 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.convert;
+
+
+/**
+ * Converts the {@link String} value of an attribute to a target type.
+ *
+ * @param <T> the target type.
+ */
+@FunctionalInterface
+public interface AttributeConverter<T> {
+    /**
+     * Convert an attribute value.
+     *
+     * @param value The attribute value, which is never null.
+     *
+     * @return the converted value.
+     *
+     * @throws Exception Raised if the value cannot be converted.
+     */
+    T convert(String value) throws Exception;
+}
@@ -0,0 +1,408 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.convert;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+
+/**
+ * A registry of {@link AttributeConverter}s, keyed by target type.
+ *
+ * The default registry converts to {@link String}, the primitive wrappers (and the primitive types), any {@link Enum},
+ * {@link Duration}, {@link DataSize}, {@link Pattern}, {@link URI} and {@link Class}.  Additional converters can be
+ * registered at any time.
+ *
+ * Converters for types that are expensive to create - i.e. {@link Pattern} - can be registered as memoized, in which
+ * case converted values are kept in a bounded, least-recently-used cache keyed by the raw string and the target type,
+ * so a value repeated across many elements is only converted once.  Only immutable types should be memoized, since the
+ * same instance is returned for every conversion of the value.
+ *
+ * Classes are loaded with the class loader supplied when the registry is created - in OSGi, namespace handlers should
+ * use a registry created with the class loader of their own bundle (see
+ * {@link com.pronoia.aries.blueprint.util.namespace.AbstractNamespaceHandler#getConverterRegistry()}).  {@link Class}es
+ * and {@link Enum} constants are only memoized by registries created with an explicit class loader, so the shared
+ * default registry never holds on to the classes of other bundles after they are refreshed.
+ *
+ * Registries are thread-safe.
+ */
+public final class ConverterRegistry {
+    public static final int DEFAULT_MEMO_SIZE = 1024;
+
+    static final Map<Class<?>, Class<?>> PRIMITIVE_WRAPPERS = new HashMap<>();
+    static final Object CONVERSION_FAILED = new Object();
+
+    static {
+        PRIMITIVE_WRAPPERS.put(boolean.class, Boolean.class);
+        PRIMITIVE_WRAPPERS.put(byte.class, Byte.class);
+        PRIMITIVE_WRAPPERS.put(short.class, Short.class);
+        PRIMITIVE_WRAPPERS.put(int.class, Integer.class);
+        PRIMITIVE_WRAPPERS.put(long.class, Long.class);
+        PRIMITIVE_WRAPPERS.put(float.class, Float.class);
+        PRIMITIVE_WRAPPERS.put(double.class, Double.class);
+        PRIMITIVE_WRAPPERS.put(char.class, Character.class);
+    }
+
+    static final ConverterRegistry DEFAULT_REGISTRY = new ConverterRegistry();
+
+    final ConcurrentMap<Class<?>, Registration> registrations = new ConcurrentHashMap<>();
+    final Map<ConversionKey, Object> memo;
+    final ClassLoader classLoader;
+    final boolean memoizeClasses;
+
+    /**
+     * Create a registry with the default converters, which loads classes with the class loader of this library.
+     *
+     * {@link Class}es and {@link Enum} constants are not memoized by this registry.
+     */
+    public ConverterRegistry() {
+        this(ConverterRegistry.class.getClassLoader(), DEFAULT_MEMO_SIZE, false);
+    }
+
+    /**
+     * Create a registry with the default converters.
+     *
+     * @param classLoader The class loader used to convert class names to {@link Class}es.
+     * @param memoSize    The maximum number of memoized values.
+     */
+    public ConverterRegistry(ClassLoader classLoader, final int memoSize) {
+        this(classLoader, memoSize, true);
+    }
+
+    ConverterRegistry(ClassLoader classLoader, final int memoSize, boolean memoizeClasses) {
+        if (classLoader == null) {
+            throw new IllegalArgumentException(String.format("ConverterRegistry(classLoader[null], memoSize[%d]) - classLoader cannot be null", memoSize));
+        }
+
+        if (memoSize < 0) {
+            throw new IllegalArgumentException(String.format("ConverterRegistry(classLoader, memoSize[%d]) - memoSize cannot be less than zero", memoSize));
+        }
+
+        this.classLoader = classLoader;
+        this.memoizeClasses = memoizeClasses;
+        this.memo = new MemoMap(memoSize);
+
+        register(String.class, value -> value, false);
+        register(Boolean.class, Boolean::valueOf, false);
+        register(Byte.class, Byte::valueOf, false);
+        register(Short.class, Short::valueOf, false);
+        register(Integer.class, Integer::valueOf, false);
+        register(Long.class, Long::valueOf, false);
+        register(Float.class, Float::valueOf, false);
+        register(Double.class, Double::valueOf, false);
+        register(Character.class, ConverterRegistry::parseCharacter, false);
+        register(Duration.class, ConverterRegistry::parseDuration, true);
+        register(DataSize.class, DataSize::parse, true);
+        register(Pattern.class, Pattern::compile, true);
+        register(URI.class, URI::new, true);
+        register(Class.class, value -> Class.forName(value.trim(), false, this.classLoader), memoizeClasses);
+    }
+
+    /**
+     * Return the shared registry with the default converters, which loads classes with the class loader of this library.
+     *
+     * @return the default registry.
+     */
+    public static ConverterRegistry getDefault() {
+        return DEFAULT_REGISTRY;
+    }
+
+    /**
+     * Register a converter, replacing any converter registered for the type.
+     *
+     * @param type      The target type.
+     * @param converter The converter.
+     * @param memoize   If true, converted values are memoized - only use this for immutable types.
+     * @param <T>       The target type.
+     *
+     * @return this registry.
+     */
+    public <T> ConverterRegistry register(Class<T> type, AttributeConverter<? extends T> converter, boolean memoize) {
+        if (type == null) {
+            throw new IllegalArgumentException("register(type[null], converter) - type cannot be null");
+        }
+
+        if (converter == null) {
+            throw new IllegalArgumentException(String.format("register(type[%s], converter[null]) - converter cannot be null", type.getName()));
+        }
+
+        registrations.put(type, new Registration(converter, memoize));
+        synchronized (memo) {
+            memo.keySet().removeIf(key -> key.type == type);
+        }
+
+        return this;
+    }
+
+    /**
+     * Determine if a value can be converted to a type.
+     *
+     * @param type The target type.
+     *
+     * @return true if a converter is registered for the type, or the type is an {@link Enum}.
+     */
+    public boolean canConvert(Class<?> type) {
+        return type != null && (registrations.containsKey(wrap(type)) || type.isEnum());
+    }
+
+    /**
+     * Convert a value.
+     *
+     * @param value The value to convert, which may be null.
+     * @param type  The target type - primitive types are converted to their wrapper type.
+     * @param <T>   The target type.
+     *
+     * @return the converted value, or null if the value is null.
+     *
+     * @throws IllegalArgumentException Raised if there is no converter for the type or the value cannot be converted - the
+     *                                  exception thrown by the converter is the cause.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T convert(String value, Class<T> type) {
+        if (type == null) {
+            throw new IllegalArgumentException(String.format("convert(value[%s], type[null]) - type cannot be null", value));
+        }
+
+        return (T) convertValue(value, type, false);
+    }
+
+    /**
+     * Convert a value, without throwing an exception if it cannot be converted.
+     *
+     * @param value The value to convert, which may be null.
+     * @param type  The target type - primitive types are converted to their wrapper type.
+     * @param <T>   The target type.
+     *
+     * @return the converted value, or empty if the value is null, there is no converter for the type or the value cannot be converted.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> tryConvert(String value, Class<T> type) {
+        if (type == null) {
+            throw new IllegalArgumentException(String.format("tryConvert(value[%s], type[null]) - type cannot be null", value));
+        }
+
+        Object answer = convertValue(value, type, true);
+
+        return answer != CONVERSION_FAILED ? Optional.ofNullable((T) answer) : Optional.empty();
+    }
+
+    Object convertValue(String value, Class<?> type, boolean quiet) {
+        if (value == null) {
+            return null;
+        }
+
+        Class<?> targetType = wrap(type);
+        Registration registration = registrations.get(targetType);
+        if (registration == null) {
+            if (!targetType.isEnum()) {
+                if (quiet) {
+                    return CONVERSION_FAILED;
+                }
+                throw new IllegalArgumentException(String.format("convert(value[%s], type[%s]) - no converter is registered for the type", value, type.getName()));
+            }
+            registration = new Registration(enumValue -> parseEnum(enumValue, targetType), memoizeClasses);
+        }
+
+        if (!registration.memoize) {
+            return registration.apply(value, type, quiet);
+        }
+
+        ConversionKey key = new ConversionKey(value, targetType);
+        Object answer;
+        synchronized (memo) {
+            answer = memo.get(key);
+        }
+
+        if (answer == null) {
+            answer = registration.apply(value, type, quiet);
+            if (answer != null && answer != CONVERSION_FAILED) {
+                synchronized (memo) {
+                    memo.put(key, answer);
+                }
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Parse a {@link Duration}.
+     *
+     * Durations are either an ISO-8601 duration - i.e. {@code PT5S} - or an integer followed by an optional unit, which
+     * is one of ns, us, ms, s, m, h or d - i.e. {@code 5s} or {@code 250ms}.  An integer without a unit is in milliseconds,
+     * which is the unit used for Blueprint timeouts.
+     *
+     * @param value The duration.
+     *
+     * @return the duration.
+     *
+     * @throws IllegalArgumentException Raised if the value is not a valid duration.
+     */
+    public static Duration parseDuration(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException(String.format("parseDuration(value[%s]) - value cannot be null or empty", value));
+        }
+
+        String trimmedValue = value.trim();
+        char first = trimmedValue.charAt(0);
+        if (first == 'P' || first == 'p' || first == '-') {
+            return Duration.parse(trimmedValue);
+        }
+
+        int unitStart = 0;
+        while (unitStart < trimmedValue.length() && Character.isDigit(trimmedValue.charAt(unitStart))) {
+            ++unitStart;
+        }
+
+        if (unitStart == 0) {
+            throw new IllegalArgumentException(String.format("parseDuration(value[%s]) - value must start with a number", value));
+        }
+
+        long amount = Long.parseLong(trimmedValue.substring(0, unitStart));
+        String unit = trimmedValue.substring(unitStart).trim().toLowerCase(Locale.ROOT);
+
+        switch (unit) {
+            case "ns":
+                return Duration.ofNanos(amount);
+            case "us":
+                return Duration.ofNanos(Math.multiplyExact(amount, 1000L));
+            case "":
+            case "ms":
+                return Duration.ofMillis(amount);
+            case "s":
+                return Duration.ofSeconds(amount);
+            case "m":
+                return Duration.ofMinutes(amount);
+            case "h":
+                return Duration.ofHours(amount);
+            case "d":
+                return Duration.ofDays(amount);
+            default:
+                throw new IllegalArgumentException(String.format("parseDuration(value[%s]) - unknown unit '%s'", value, unit));
+        }
+    }
+
+    /**
+     * Parse an {@link Enum} constant.  The constant name is matched exactly first, and then after converting the value
+     * to upper case and replacing '-' with '_' - so {@code fail-fast} matches the {@code FAIL_FAST} constant.
+     *
+     * @param value    The constant name.
+     * @param enumType The {@link Enum} type.
+     * @param <E>      The {@link Enum} type.
+     *
+     * @return the constant.
+     *
+     * @throws IllegalArgumentException Raised if the {@link Enum} does not have a matching constant.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> E parseEnum(String value, Class<?> enumType) {
+        Class<E> type = (Class<E>) enumType;
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException exactMatchEx) {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    static Character parseCharacter(String value) {
+        if (value.length() != 1) {
+            throw new IllegalArgumentException(String.format("parseCharacter(value[%s]) - value must be a single character", value));
+        }
+
+        return value.charAt(0);
+    }
+
+    static Class<?> wrap(Class<?> type) {
+        Class<?> wrapperType = PRIMITIVE_WRAPPERS.get(type);
+
+        return wrapperType != null ? wrapperType : type;
+    }
+
+    static final class Registration {
+        final AttributeConverter<?> converter;
+        final boolean memoize;
+
+        Registration(AttributeConverter<?> converter, boolean memoize) {
+            this.converter = converter;
+            this.memoize = memoize;
+        }
+
+        Object apply(String value, Class<?> type, boolean quiet) {
+            try {
+                return converter.convert(value);
+            } catch (Exception conversionEx) {
+                if (quiet) {
+                    return CONVERSION_FAILED;
+                }
+                throw new IllegalArgumentException(String.format("convert(value[%s], type[%s]) - %s", value, type.getName(), conversionEx), conversionEx);
+            }
+        }
+    }
+
+    static final class ConversionKey {
+        final String value;
+        final Class<?> type;
+
+        ConversionKey(String value, Class<?> type) {
+            this.value = value;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ConversionKey)) {
+                return false;
+            }
+
+            ConversionKey other = (ConversionKey) obj;
+
+            return type == other.type && value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + value.hashCode();
+        }
+    }
+
+    /**
+     * An access-ordered memo that evicts the least-recently-used conversion when the maximum size is exceeded.
+     */
+    static final class MemoMap extends LinkedHashMap<ConversionKey, Object> {
+        private static final long serialVersionUID = 1L;
+
+        final int memoSize;
+
+        MemoMap(int memoSize) {
+            super(Math.min(memoSize, DEFAULT_MEMO_SIZE) * 4 / 3 + 1, 0.75f, true);
+            this.memoSize = memoSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ConversionKey, Object> eldest) {
+            return size() > memoSize;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.convert;
+
+
+/**
+ * An amount of data, in bytes.
+ *
+ * Sizes are parsed from an integer followed by an optional unit - i.e. {@code 512}, {@code 64KB} or {@code 64MiB}.
+ * Decimal units (KB, MB, GB, TB) are powers of 1000 and binary units (KiB, MiB, GiB, TiB) are powers of 1024.  Units
+ * are case-insensitive and may be separated from the number by whitespace.
+ *
+ * Instances are immutable.
+ */
+public final class DataSize implements Comparable<DataSize> {
+    static final String[] UNITS = {"B", "KB", "MB", "GB", "TB", "KiB", "MiB", "GiB", "TiB"};
+    static final long[] UNIT_BYTES = {1L, 1000L, 1000L * 1000, 1000L * 1000 * 1000, 1000L * 1000 * 1000 * 1000, 1L << 10, 1L << 20, 1L << 30, 1L << 40};
+
+    final long bytes;
+
+    DataSize(long bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Return the size for a number of bytes.
+     *
+     * @param bytes The number of bytes.
+     *
+     * @return the size.
+     */
+    public static DataSize ofBytes(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException(String.format("ofBytes(bytes[%d]) - bytes cannot be less than zero", bytes));
+        }
+
+        return new DataSize(bytes);
+    }
+
+    /**
+     * Parse a size.
+     *
+     * @param value The size - i.e. {@code 64MiB}.
+     *
+     * @return the size.
+     *
+     * @throws IllegalArgumentException Raised if the value is not a valid size.
+     */
+    public static DataSize parse(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException(String.format("parse(value[%s]) - value cannot be null or empty", value));
+        }
+
+        String trimmedValue = value.trim();
+        int unitStart = 0;
+        while (unitStart < trimmedValue.length() && Character.isDigit(trimmedValue.charAt(unitStart))) {
+            ++unitStart;
+        }
+
+        if (unitStart == 0) {
+            throw new IllegalArgumentException(String.format("parse(value[%s]) - value must start with a number", value));
+        }
+
+        long amount;
+        try {
+            amount = Long.parseLong(trimmedValue.substring(0, unitStart));
+        } catch (NumberFormatException numberEx) {
+            throw new IllegalArgumentException(String.format("parse(value[%s]) - the number is too large", value), numberEx);
+        }
+
+        String unit = trimmedValue.substring(unitStart).trim();
+        if (unit.isEmpty()) {
+            return new DataSize(amount);
+        }
+
+        for (int i = 0; i < UNITS.length; ++i) {
+            if (UNITS[i].equalsIgnoreCase(unit)) {
+                if (amount > Long.MAX_VALUE / UNIT_BYTES[i]) {
+                    throw new IllegalArgumentException(String.format("parse(value[%s]) - the size is too large", value));
+                }
+                return new DataSize(amount * UNIT_BYTES[i]);
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("parse(value[%s]) - unknown unit '%s'", value, unit));
+    }
+
+    /**
+     * Return the size in bytes.
+     *
+     * @return the number of bytes.
+     */
+    public long toBytes() {
+        return bytes;
+    }
+
+    @Override
+    public int compareTo(DataSize other) {
+        return Long.compare(bytes, other.bytes);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof DataSize && bytes == ((DataSize) obj).bytes;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(bytes);
+    }
+
+    @Override
+    public String toString() {
+        return bytes + "B";
+    }
+}
@@ -17,9 +17,18 @@
 package com.pronoia.aries.blueprint.util.namespace;
 
 import com.pronoia.aries.blueprint.ElementHandler;
+import com.pronoia.aries.blueprint.util.parser.ElementCursor;
 import com.pronoia.aries.blueprint.util.parser.ElementParser;
+import com.pronoia.aries.blueprint.util.parser.ElementSnapshot;
 import com.pronoia.aries.blueprint.util.reflect.BeanMetadataUtil;
-import com.pronoia.aries.blueprint.util.reflect.RefMetadataUtil;
+import com.pronoia.aries.blueprint.util.reflect.DeferredMetadataUtil;
+import com.pronoia.aries.blueprint.util.reflect.MetadataPool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
 
 import org.apache.aries.blueprint.ParserContext;
 import org.apache.aries.blueprint.mutable.MutableBeanMetadata;
@@ -36,6 +45,10 @@ public abstract class AbstractElementHandler implements ElementHandler {
     final AbstractNamespaceHandler namespaceHandler;
     final String elementTagName;
 
+    boolean indexChildElements;
+    int parallelThreshold;
+    ForkJoinPool forkJoinPool;
+
     public AbstractElementHandler(AbstractNamespaceHandler namespaceHandler, String elementTagName) {
         if (namespaceHandler == null) {
             throw new IllegalArgumentException(String.format("AbstractElementHandler(namespaceHandler, elementTagName[%s]) - the namespaceHandler argument cannot be null", elementTagName));
@@ -88,7 +101,9 @@ public abstract class AbstractElementHandler implements ElementHandler {
      */
     @Override
     public Metadata parseElement(Element handledElement, ParserContext parserContext) {
-        ElementParser handledElementParser = new ElementParser(handledElement);
+        ElementParser handledElementParser = new ElementParser(handledElement, indexChildElements);
+        handledElementParser.setPlaceholderResolver(namespaceHandler.getPlaceholderResolver());
+        handledElementParser.setConverterRegistry(namespaceHandler.getConverterRegistry());
         Metadata metadata = createMetadata(handledElementParser, parserContext);
         if (metadata == null) {
             metadata = createMetadata(handledElementParser);
@@ -102,6 +117,166 @@ public abstract class AbstractElementHandler implements ElementHandler {
         return elementTagName;
     }
 
+    /**
+     * Determine if the descendant elements of the handled element are indexed by the ElementParser.
+     *
+     * @return true if the descendant elements are indexed
+     */
+    protected boolean isIndexChildElements() {
+        return indexChildElements;
+    }
+
+    /**
+     * Index the descendant elements of the handled element in the ElementParser.
+     *
+     * NOTE:  Enable this for handlers that look up several descendant tag names - each lookup will then use the index
+     * instead of scanning all the descendant elements.
+     *
+     * @param indexChildElements if true, the descendant elements are indexed
+     */
+    protected void setIndexChildElements(boolean indexChildElements) {
+        this.indexChildElements = indexChildElements;
+    }
+
+    /**
+     * Return the number of descendant elements above which {@link #createChildMetadata(ElementParser, String, Function)}
+     * processes the descendant elements in parallel.
+     *
+     * @return the parallel threshold, or zero if parallel processing is disabled
+     */
+    protected int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Enable parallel processing of the descendant elements in {@link #createChildMetadata(ElementParser, String, Function)}.
+     *
+     * When the number of matching descendant elements exceeds the threshold, they are split into batches of at most
+     * threshold elements which are processed by the {@link ForkJoinPool}.  Choose a threshold large enough that the
+     * work in a batch outweighs the cost of forking - typically several hundred elements.
+     *
+     * @param parallelThreshold the parallel threshold - zero (the default) disables parallel processing
+     */
+    protected void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException(String.format("setParallelThreshold(parallelThreshold[%d]) - parallelThreshold cannot be less than zero", parallelThreshold));
+        }
+
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Return the {@link ForkJoinPool} used for parallel processing of the descendant elements.
+     *
+     * @return the configured pool, or the common pool if a pool has not been configured
+     */
+    protected ForkJoinPool getForkJoinPool() {
+        return forkJoinPool != null ? forkJoinPool : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Set the {@link ForkJoinPool} used for parallel processing of the descendant elements.
+     *
+     * @param forkJoinPool the pool - if null, the common pool is used
+     */
+    protected void setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * Create the Blueprint Metadata for descendant elements of the handled element.
+     *
+     * The factory is called with an {@link ElementSnapshot} of each selected descendant element, so it may be called on
+     * any thread when parallel processing is enabled (see {@link #setParallelThreshold(int)}).  The factory must not use
+     * the ParserContext or the DOM, since neither is thread-safe.
+     *
+     * Only the selected descendant elements are snapshotted.  In serial mode the descendants are walked with an
+     * {@link ElementCursor} and each snapshot is handed to the factory as soon as it is taken.
+     *
+     * @param handledElementParser the ElementParser for the handled element
+     * @param tagName              the tag name of the descendant elements to process, or null for all descendant elements
+     * @param childMetadataFactory the factory for the Metadata of a descendant element - null results are skipped
+     * @param <M>                  the type of the Metadata
+     *
+     * @return the Metadata for the descendant elements, in document order
+     */
+    protected <M> List<M> createChildMetadata(ElementParser handledElementParser, String tagName, Function<ElementSnapshot, M> childMetadataFactory) {
+        if (handledElementParser == null) {
+            throw new IllegalArgumentException(String.format("createChildMetadata(handledElementParser[null], tagName[%s], childMetadataFactory) - handledElementParser cannot be null", tagName));
+        }
+
+        if (childMetadataFactory == null) {
+            throw new IllegalArgumentException(String.format("createChildMetadata(handledElementParser, tagName[%s], childMetadataFactory[null]) - childMetadataFactory cannot be null", tagName));
+        }
+
+        ElementCursor cursor = tagName != null ? handledElementParser.getElementCursor(tagName) : handledElementParser.getElementCursor();
+
+        if (parallelThreshold <= 0) {
+            List<M> answer = new ArrayList<>();
+            while (cursor.next()) {
+                M metadata = childMetadataFactory.apply(cursor.getParser().snapshot());
+                if (metadata != null) {
+                    answer.add(metadata);
+                }
+            }
+
+            return answer;
+        }
+
+        // The snapshots are taken on the calling thread, since the DOM is not thread-safe
+        List<ElementSnapshot> childSnapshots = new ArrayList<>();
+        while (cursor.next()) {
+            childSnapshots.add(cursor.getParser().snapshot());
+        }
+
+        Object[] childMetadata = new Object[childSnapshots.size()];
+
+        ChildMetadataAction<M> action = new ChildMetadataAction<>(childSnapshots, 0, childSnapshots.size(), parallelThreshold, childMetadataFactory, childMetadata);
+        if (childSnapshots.size() > parallelThreshold) {
+            getForkJoinPool().invoke(action);
+        } else {
+            action.compute();
+        }
+
+        List<M> answer = new ArrayList<>(childMetadata.length);
+        for (Object metadata : childMetadata) {
+            if (metadata != null) {
+                @SuppressWarnings("unchecked")
+                M typedMetadata = (M) metadata;
+                answer.add(typedMetadata);
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Create the Blueprint Metadata for an object that is only created if the component is instantiated.
+     *
+     * Use this when creating the object is expensive - i.e. it loads classes, reads resources or compiles patterns - and
+     * the component may never be instantiated.  The handled element is captured in an {@link ElementSnapshot}, and the
+     * factory is called with the snapshot the first time the component is instantiated; the object is then reused.  The
+     * factory must not use the ParserContext or the DOM, since neither is available when it is called.
+     *
+     * @param handledElementParser the ElementParser for the handled element - the id attribute is used as the bean id
+     * @param objectFactory        the factory for the object
+     *
+     * @return the Metadata for the deferred object
+     */
+    protected MutableBeanMetadata createDeferredMetadata(ElementParser handledElementParser, Function<ElementSnapshot, ?> objectFactory) {
+        if (handledElementParser == null) {
+            throw new IllegalArgumentException("createDeferredMetadata(handledElementParser[null], objectFactory) - handledElementParser cannot be null");
+        }
+
+        if (objectFactory == null) {
+            throw new IllegalArgumentException(String.format("createDeferredMetadata(handledElementParser[%s], objectFactory[null]) - objectFactory cannot be null", handledElementParser.getTagName()));
+        }
+
+        ElementSnapshot snapshot = handledElementParser.snapshot();
+
+        return DeferredMetadataUtil.create(() -> objectFactory.apply(snapshot), snapshot.getAttribute("id"));
+    }
+
     protected boolean hasNamespaceHandler() {
         return namespaceHandler != null;
     }
@@ -111,8 +286,47 @@ public abstract class AbstractElementHandler implements ElementHandler {
     }
 
     protected void addBlueprintArguments(MutableBeanMetadata beanMetadata) {
-        BeanMetadataUtil.addArgument(beanMetadata, RefMetadataUtil.create("blueprintBundleContext"), "org.osgi.framework.BundleContext", 0);
-        BeanMetadataUtil.addArgument(beanMetadata, RefMetadataUtil.create("blueprintContainer"), "org.osgi.service.blueprint.container.BlueprintContainer", 1);
+        BeanMetadataUtil.addArgument(beanMetadata, MetadataPool.ref("blueprintBundleContext"), "org.osgi.framework.BundleContext", 0);
+        BeanMetadataUtil.addArgument(beanMetadata, MetadataPool.ref("blueprintContainer"), "org.osgi.service.blueprint.container.BlueprintContainer", 1);
     }
 
+    /**
+     * Creates the Metadata for a range of descendant elements, splitting the range in half until it is within the threshold.
+     *
+     * Each result is stored at the position of its element, so the results are in document order regardless of the
+     * order the batches complete in.
+     */
+    static class ChildMetadataAction<M> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final List<ElementSnapshot> childSnapshots;
+        final int from;
+        final int to;
+        final int threshold;
+        final Function<ElementSnapshot, M> childMetadataFactory;
+        final Object[] childMetadata;
+
+        ChildMetadataAction(List<ElementSnapshot> childSnapshots, int from, int to, int threshold, Function<ElementSnapshot, M> childMetadataFactory, Object[] childMetadata) {
+            this.childSnapshots = childSnapshots;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.childMetadataFactory = childMetadataFactory;
+            this.childMetadata = childMetadata;
+        }
+
+        @Override
+        protected void compute() {
+            if (threshold > 0 && to - from > threshold) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ChildMetadataAction<>(childSnapshots, from, middle, threshold, childMetadataFactory, childMetadata),
+                    new ChildMetadataAction<>(childSnapshots, middle, to, threshold, childMetadataFactory, childMetadata));
+                return;
+            }
+
+            for (int childIndex = from; childIndex < to; ++childIndex) {
+                childMetadata[childIndex] = childMetadataFactory.apply(childSnapshots.get(childIndex));
+            }
+        }
+    }
 }
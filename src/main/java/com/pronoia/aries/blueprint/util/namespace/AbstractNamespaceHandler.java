@@ -16,30 +16,74 @@
  */
 package com.pronoia.aries.blueprint.util.namespace;
 
+import com.pronoia.aries.blueprint.AttributeDecorator;
 import com.pronoia.aries.blueprint.ElementHandler;
+import com.pronoia.aries.blueprint.timing.LatencyStatistics;
+import com.pronoia.aries.blueprint.util.convert.ConverterRegistry;
+import com.pronoia.aries.blueprint.util.placeholder.PlaceholderResolver;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.net.URL;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import javax.xml.XMLConstants;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
 
 import org.apache.aries.blueprint.NamespaceHandler;
 import org.apache.aries.blueprint.ParserContext;
 import org.osgi.service.blueprint.container.ComponentDefinitionException;
 import org.osgi.service.blueprint.reflect.ComponentMetadata;
 import org.osgi.service.blueprint.reflect.Metadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
 
 
 /**
  *
  */
 public abstract class AbstractNamespaceHandler implements NamespaceHandler {
-    Map<String, ElementHandler> elementHandlers = new HashMap<>();
+    static final ClassValue<SchemaHolder> SCHEMA_HOLDERS = new ClassValue<SchemaHolder>() {
+        @Override
+        protected SchemaHolder computeValue(Class<?> namespaceHandlerClass) {
+            return new SchemaHolder();
+        }
+    };
+
+    volatile Map<String, ElementHandler> elementHandlers = new HashMap<>();
+    volatile ElementHandlerTable elementHandlerTable;
+    volatile Map<String, AttributeDecorator> attributeDecorators = Collections.emptyMap();
+
+    PlaceholderResolver placeholderResolver;
+    volatile ConverterRegistry converterRegistry;
+    boolean validateElements;
+    boolean mdcDecoration = true;
+    volatile long slowParseThresholdNanos;
+    volatile MetadataCache metadataCache;
+
+    final ParseStatistics parseStatistics = new ParseStatistics(this);
+    ObjectName parseStatisticsObjectName;
+
+    Logger log = LoggerFactory.getLogger(this.getClass());
 
     /**
      * Derived classes must provide a way to initialize the elementHandlers map - a constructor is a decent way.
@@ -56,15 +100,60 @@ public abstract class AbstractNamespaceHandler implements NamespaceHandler {
         return new LinkedHashMap<>();
     }
 
+    /**
+     * Return the location of the schema for the namespace.
+     *
+     * NOTE:  The location is resolved once per namespace handler class, so getSchemaResourcePath() must return the same
+     * path for every instance of the class.
+     *
+     * @param schema the namespace of the schema
+     *
+     * @return the location of the schema, or null if the namespace is not handled by this namespace handler
+     */
     @Override
     public URL getSchemaLocation(String schema) {
         if (getSchema().equals(schema)) {
-            return getClass().getResource(getSchemaResourcePath());
+            return SCHEMA_HOLDERS.get(getClass()).getSchemaLocation(this);
         }
 
         return null;
     }
 
+    /**
+     * Return the compiled schema for the namespace.
+     *
+     * The schema is compiled the first time it is requested and shared by all instances of the namespace handler class.
+     * A {@link Schema} is thread-safe, but the validators it creates are not.
+     *
+     * @return the compiled schema
+     *
+     * @throws ComponentDefinitionException Raised if the schema resource is not found or cannot be compiled.
+     */
+    public Schema getCompiledSchema() {
+        return SCHEMA_HOLDERS.get(getClass()).getCompiledSchema(this);
+    }
+
+    /**
+     * Determine if handled elements are validated against the schema before they are dispatched to an element handler.
+     *
+     * @return true if handled elements are validated
+     */
+    public boolean isValidateElements() {
+        return validateElements;
+    }
+
+    /**
+     * Validate handled elements against the schema before they are dispatched to an element handler.
+     *
+     * NOTE:  The Blueprint container normally validates the whole document, so this is only useful when the container
+     * validation is disabled or the elements are created programmatically.
+     *
+     * @param validateElements if true, handled elements are validated
+     */
+    public void setValidateElements(boolean validateElements) {
+        this.validateElements = validateElements;
+    }
+
     @Override
     public Set<Class> getManagedClasses() {
         return null;
@@ -72,7 +161,8 @@ public abstract class AbstractNamespaceHandler implements NamespaceHandler {
 
     @Override
     public Metadata parse(Element element, ParserContext parserContext) {
-        try (MDCHelper helper = new MDCHelper(element) ) {
+        MDCScope mdcScope = mdcDecoration ? new MDCScope(element) : null;
+        try {
             if (element == null) {
                 String errorMessage = String.format("Illegal use of Namespace Handler %s - cannot parse null org.w3c.dom.Element", this.getClass().getName());
                 throw new ComponentDefinitionException(errorMessage);
@@ -82,35 +172,281 @@ public abstract class AbstractNamespaceHandler implements NamespaceHandler {
 
             String elementName = element.getTagName();
 
-            if (elementHandlers == null) {
+            ElementHandlerTable table = elementHandlerTable;
+            if (table == null || table.source != elementHandlers) {
+                freezeElementHandlers();
+                table = elementHandlerTable;
+            }
+
+            if (table == null) {
                 String errorMessage = String.format("Illegal state of namespace handler <%s> {schema = '%s' element='%s'}  - null element handler collection",
                     this.getClass().getName(), getSchema(), elementName);
                 throw new ComponentDefinitionException(errorMessage);
-            } else if (elementHandlers.isEmpty()) {
+            } else if (table.isEmpty()) {
                 String errorMessage = String.format("Illegal state of namespace handler <%s> {schema = '%s' element='%s'} - empty element handler collection",
                     this.getClass().getName(), getSchema(), elementName);
                 throw new ComponentDefinitionException(errorMessage);
-            } else if (!elementHandlers.containsKey(elementName)) {
+            }
+
+            ElementHandlerTable.Dispatch dispatch = table.lookup(element);
+            if (dispatch == null) {
                 String errorMessage = String.format("Illegal use of namespace handler <%s> {schema = '%s' element='%s'} - handler not configured for element %s",
                     this.getClass().getName(), getSchema(), elementName, element);
                 throw new ComponentDefinitionException(errorMessage);
-            } else {
-                ElementHandler serviceElementHandler = elementHandlers.get(elementName);
-                metadata = serviceElementHandler.parseElement(element, parserContext);
+            }
+
+            ElementHandler serviceElementHandler = dispatch.handler;
+            boolean failed = true;
+            long startNanos = System.nanoTime();
+            try {
+                MetadataCache cache = metadataCache;
+                MetadataCache.Key cacheKey = null;
+                if (cache != null && serviceElementHandler.isCacheable() && element.hasAttribute("id")) {
+                    cacheKey = MetadataCache.key(element, placeholderResolver);
+                    metadata = cache.get(cacheKey);
+                }
+
                 if (metadata == null) {
-                    String errorMessage = String.format("%s.parseElement(Element, ParserContext) returned null for namespace handler <%s> {schema = '%s' element='%s'} for element %s",
-                        serviceElementHandler.getClass().getName(), this.getClass().getName(), getSchema(), elementName, element);
-                    throw new ComponentDefinitionException(errorMessage);
+                    if (validateElements) {
+                        validate(element);
+                    }
+                    metadata = serviceElementHandler.parseElement(element, parserContext);
+                    if (metadata == null) {
+                        String errorMessage = String.format("%s.parseElement(Element, ParserContext) returned null for namespace handler <%s> {schema = '%s' element='%s'} for element %s",
+                            serviceElementHandler.getClass().getName(), this.getClass().getName(), getSchema(), elementName, element);
+                        throw new ComponentDefinitionException(errorMessage);
+                    }
+                    if (cacheKey != null) {
+                        cache.put(cacheKey, metadata);
+                    }
+                }
+                failed = false;
+            } finally {
+                long elapsedNanos = System.nanoTime() - startNanos;
+                dispatch.statistics.record(elapsedNanos, failed);
+                if (slowParseThresholdNanos > 0 && elapsedNanos > slowParseThresholdNanos) {
+                    Document document = element.getOwnerDocument();
+                    log.warn("Slow parse of element '{}' in document '{}' - {} ms exceeded the threshold of {} ms",
+                        elementName, document != null ? document.getDocumentURI() : null, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), getSlowParseThresholdMillis());
                 }
             }
 
             return metadata;
+        } finally {
+            if (mdcScope != null) {
+                mdcScope.close();
+            }
         }
     }
 
+    /**
+     * Decorate a component with a custom attribute, using the attribute decorator registered for the attribute.
+     *
+     * @param node              the custom attribute
+     * @param componentMetadata the metadata of the enclosing component
+     * @param parserContext     the Blueprint parser context
+     *
+     * @return the decorated metadata, or the supplied metadata if the node is not an attribute or there is no decorator
+     *         for the attribute
+     */
     @Override
     public ComponentMetadata decorate(Node node, ComponentMetadata componentMetadata, ParserContext parserContext) {
-        return null;
+        if (!(node instanceof Attr)) {
+            return componentMetadata;
+        }
+
+        Attr attribute = (Attr) node;
+        String attributeName = attribute.getLocalName() != null ? attribute.getLocalName() : attribute.getName();
+
+        AttributeDecorator attributeDecorator = attributeDecorators.get(attributeName);
+        if (attributeDecorator == null) {
+            return componentMetadata;
+        }
+
+        MDCScope mdcScope = mdcDecoration ? new MDCScope(attribute.getOwnerElement()) : null;
+        try {
+            return attributeDecorator.decorate(attribute, componentMetadata, parserContext);
+        } finally {
+            if (mdcScope != null) {
+                mdcScope.close();
+            }
+        }
+    }
+
+    /**
+     * Return the resolver for the placeholders in the attribute values of handled elements.
+     *
+     * @return the placeholder resolver, or null if attribute values are taken literally.
+     */
+    public PlaceholderResolver getPlaceholderResolver() {
+        return placeholderResolver;
+    }
+
+    /**
+     * Resolve {@code ${key}} and {@code ${key:default}} placeholders in the attribute values of handled elements.
+     *
+     * Resolution is off by default.  Placeholders without a default value that the resolver cannot resolve are left in
+     * the attribute value, so they can still be resolved by a container-time property placeholder.
+     *
+     * @param placeholderResolver the placeholder resolver - if null, attribute values are taken literally.
+     */
+    public void setPlaceholderResolver(PlaceholderResolver placeholderResolver) {
+        this.placeholderResolver = placeholderResolver;
+    }
+
+    /**
+     * Return the registry used to convert the attribute values of handled elements.
+     *
+     * Unless a registry is supplied, a registry that loads classes with the class loader of the namespace handler class is
+     * created the first time it is needed, so class names in attribute values are resolved against the bundle of the
+     * namespace handler rather than this library.
+     *
+     * @return the converter registry.
+     */
+    public ConverterRegistry getConverterRegistry() {
+        ConverterRegistry answer = converterRegistry;
+        if (answer == null) {
+            synchronized (this) {
+                answer = converterRegistry;
+                if (answer == null) {
+                    answer = new ConverterRegistry(this.getClass().getClassLoader(), ConverterRegistry.DEFAULT_MEMO_SIZE);
+                    converterRegistry = answer;
+                }
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Convert the attribute values of handled elements with the supplied registry.
+     *
+     * @param converterRegistry the converter registry - if null, a registry that loads classes with the class loader of
+     *                          the namespace handler class is used.
+     */
+    public void setConverterRegistry(ConverterRegistry converterRegistry) {
+        this.converterRegistry = converterRegistry;
+    }
+
+    /**
+     * Determine if the blueprint.namespace, blueprint.document and blueprint.element MDC keys are set while an element is parsed.
+     *
+     * @return true if the MDC is decorated
+     */
+    public boolean isMdcDecoration() {
+        return mdcDecoration;
+    }
+
+    /**
+     * Set the blueprint.namespace, blueprint.document and blueprint.element MDC keys while an element is parsed.
+     *
+     * @param mdcDecoration if true (the default), the MDC is decorated
+     */
+    public void setMdcDecoration(boolean mdcDecoration) {
+        this.mdcDecoration = mdcDecoration;
+    }
+
+    /**
+     * Return the cache of the metadata built by cacheable element handlers.
+     *
+     * @return the metadata cache, or null if caching is disabled
+     */
+    public MetadataCache getMetadataCache() {
+        return metadataCache;
+    }
+
+    /**
+     * Cache the metadata built by cacheable element handlers, so identical elements are only parsed once - i.e. when a
+     * bundle is refreshed.
+     *
+     * Only elements with an id attribute are cached, since element handlers generate a unique id for elements without
+     * one.  The cache is keyed by a fingerprint of the element, and a deep copy of the cached metadata is returned.
+     *
+     * @param metadataCacheSize the maximum number of cached entries - zero or less disables the cache (the default)
+     */
+    public void setMetadataCacheSize(int metadataCacheSize) {
+        this.metadataCache = metadataCacheSize > 0 ? new MetadataCache(metadataCacheSize) : null;
+    }
+
+    /**
+     * Return the parse statistics of the element handlers.
+     *
+     * @return the parse statistics
+     */
+    public ParseStatistics getParseStatistics() {
+        return parseStatistics;
+    }
+
+    /**
+     * Return the threshold for logging slow parse calls.
+     *
+     * @return the threshold in milliseconds - zero if slow parse calls are not logged
+     */
+    public long getSlowParseThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowParseThresholdNanos);
+    }
+
+    /**
+     * Log a warning with the element name and document URI when parsing an element takes longer than the threshold.
+     *
+     * @param slowParseThresholdMillis the threshold in milliseconds - zero or less disables the warning
+     */
+    public void setSlowParseThresholdMillis(long slowParseThresholdMillis) {
+        this.slowParseThresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, slowParseThresholdMillis));
+    }
+
+    /**
+     * Register the parse statistics MBean for the namespace handler.
+     */
+    public synchronized void registerMBean() {
+        String objectNameString = String.format("com.pronoia.aries.util:type=NamespaceHandlerStatistics,namespace=%s", ObjectName.quote(getSchema()));
+        try {
+            parseStatisticsObjectName = new ObjectName(objectNameString);
+        } catch (MalformedObjectNameException malformedNameEx) {
+            log.warn("Failed to create ObjectName for string {} - MBean will not be registered", objectNameString, malformedNameEx);
+            return;
+        }
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(parseStatistics, parseStatisticsObjectName);
+        } catch (InstanceAlreadyExistsException allreadyExistsEx) {
+            log.warn("MBean already registered for namespace handler {}", parseStatisticsObjectName, allreadyExistsEx);
+            parseStatisticsObjectName = null;
+        } catch (MBeanRegistrationException | NotCompliantMBeanException registrationEx) {
+            log.warn("MBean registration failure for namespace handler {}", parseStatisticsObjectName, registrationEx);
+            parseStatisticsObjectName = null;
+        }
+    }
+
+    /**
+     * Unregister the parse statistics MBean for the namespace handler.
+     */
+    public synchronized void unregisterMBean() {
+        if (parseStatisticsObjectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(parseStatisticsObjectName);
+            } catch (InstanceNotFoundException | MBeanRegistrationException unregisterEx) {
+                log.warn("Failed to unregister MBean for namespace handler {}", parseStatisticsObjectName, unregisterEx);
+            }
+            parseStatisticsObjectName = null;
+        }
+    }
+
+    /**
+     * Validate an element against the schema.
+     *
+     * @param element the element to validate
+     *
+     * @throws ComponentDefinitionException Raised if the element is not valid.
+     */
+    protected void validate(Element element) {
+        try {
+            getCompiledSchema().newValidator().validate(new DOMSource(element));
+        } catch (SAXException | IOException validationEx) {
+            String errorMessage = String.format("Invalid element for namespace handler <%s> {schema = '%s' element='%s'} - %s",
+                this.getClass().getName(), getSchema(), element.getTagName(), validationEx.getMessage());
+            throw new ComponentDefinitionException(errorMessage, validationEx);
+        }
     }
 
     protected Map<String, ElementHandler> getElementHandlers() {
@@ -121,47 +457,215 @@ public abstract class AbstractNamespaceHandler implements NamespaceHandler {
         return elementHandlers;
     }
 
-    protected void addElementHandler(ElementHandler handler) {
+    /**
+     * Register an element handler.
+     *
+     * The registered handlers are never modified in place - a copy with the new handler is published, and the dispatch
+     * table is rebuilt if the handlers have already been frozen.
+     *
+     * @param handler the element handler - ignored if null
+     */
+    protected synchronized void addElementHandler(ElementHandler handler) {
         if (handler != null) {
-            getElementHandlers().put(handler.getElementName(), handler);
+            Map<String, ElementHandler> updatedElementHandlers = elementHandlers != null ? new HashMap<>(elementHandlers) : new HashMap<>();
+            updatedElementHandlers.put(handler.getElementName(), handler);
+
+            elementHandlers = updatedElementHandlers;
+            if (elementHandlerTable != null) {
+                freezeElementHandlers();
+            }
+        }
+    }
+
+    /**
+     * Register an attribute decorator.
+     *
+     * @param decorator the attribute decorator - ignored if null
+     */
+    protected synchronized void addAttributeDecorator(AttributeDecorator decorator) {
+        if (decorator != null) {
+            Map<String, AttributeDecorator> updatedAttributeDecorators = new HashMap<>(attributeDecorators);
+            updatedAttributeDecorators.put(decorator.getAttributeName(), decorator);
+
+            attributeDecorators = Collections.unmodifiableMap(updatedAttributeDecorators);
+        }
+    }
+
+    /**
+     * Freeze the registered element handlers into an immutable dispatch table.
+     *
+     * This is called by the first parse call, but it can be called once the handlers are registered so the table is
+     * built before the namespace handler is published to the Blueprint extender threads.  Once frozen, the map returned by
+     * getElementHandlers() cannot be modified - handlers registered later with addElementHandler(ElementHandler)
+     * replace the table.
+     */
+    public synchronized void freezeElementHandlers() {
+        Map<String, ElementHandler> currentElementHandlers = elementHandlers;
+
+        if (currentElementHandlers == null) {
+            elementHandlerTable = null;
+        } else if (elementHandlerTable == null || elementHandlerTable.source != currentElementHandlers) {
+            ElementHandlerTable table = new ElementHandlerTable(currentElementHandlers, parseStatistics);
+            elementHandlers = table.source;
+            elementHandlerTable = table;
         }
     }
 
-    static class MDCHelper implements AutoCloseable {
+    /**
+     * An immutable snapshot of the registered element handlers, keyed by the local name of the handled elements.
+     *
+     * The key does not include the namespace - the Blueprint container only dispatches elements in the handler's
+     * namespace - so an element matches regardless of the prefix used in the document.  For documents that were not
+     * parsed namespace-aware, and for handlers registered with a prefixed name, the tag name is used.
+     */
+    static final class ElementHandlerTable {
+        final Map<String, ElementHandler> source;
+        final Map<String, Dispatch> dispatches;
+
+        ElementHandlerTable(Map<String, ElementHandler> elementHandlers, ParseStatistics parseStatistics) {
+            source = Collections.unmodifiableMap(new HashMap<>(elementHandlers));
+            dispatches = new HashMap<>();
+            for (Map.Entry<String, ElementHandler> entry : source.entrySet()) {
+                dispatches.put(entry.getKey(), new Dispatch(entry.getValue(), parseStatistics.getElementStatistics(entry.getKey())));
+            }
+        }
+
+        boolean isEmpty() {
+            return dispatches.isEmpty();
+        }
+
+        Dispatch lookup(Element element) {
+            String localName = element.getLocalName();
+            if (localName == null) {
+                return dispatches.get(element.getTagName());
+            }
+
+            Dispatch answer = dispatches.get(localName);
+            if (answer == null && element.getPrefix() != null) {
+                answer = dispatches.get(element.getTagName());
+            }
+
+            return answer;
+        }
+
+        static final class Dispatch {
+            final ElementHandler handler;
+            final LatencyStatistics statistics;
+
+            Dispatch(ElementHandler handler, LatencyStatistics statistics) {
+                this.handler = handler;
+                this.statistics = statistics;
+            }
+        }
+    }
+
+    /**
+     * Scopes the blueprint.* MDC keys to a parse call.
+     *
+     * Only the three keys are saved and restored - the rest of the MDC is not copied - and keys that were not set before
+     * the parse call are removed afterwards.
+     */
+    static final class MDCScope implements AutoCloseable {
         public static final String MDC_NAMESPACE = "blueprint.namespace";
         public static final String MDC_DOCUMENT_URI = "blueprint.document";
         public static final String MDC_ELEMENT = "blueprint.element";
 
-        Map<String, String> originalContextMap;
+        final String previousNamespace;
+        final String previousDocumentURI;
+        final String previousElement;
 
-        public MDCHelper(Element element) {
-            originalContextMap = MDC.getCopyOfContextMap();
+        boolean namespacePushed;
+        boolean documentURIPushed;
+        boolean elementPushed;
+
+        MDCScope(Element element) {
+            previousNamespace = MDC.get(MDC_NAMESPACE);
+            previousDocumentURI = MDC.get(MDC_DOCUMENT_URI);
+            previousElement = MDC.get(MDC_ELEMENT);
 
             if (element != null) {
                 String schema = element.getNamespaceURI();
                 if (schema != null && !schema.isEmpty()) {
                     MDC.put(MDC_NAMESPACE, schema);
+                    namespacePushed = true;
                 }
 
                 Document document = element.getOwnerDocument();
                 if (document != null) {
                     String documentURI = document.getDocumentURI();
-                    if (documentURI == null) {
-                        documentURI = "null";
-                    }
-                    MDC.put(MDC_DOCUMENT_URI, documentURI);
+                    MDC.put(MDC_DOCUMENT_URI, documentURI != null ? documentURI : "null");
+                    documentURIPushed = true;
                 }
 
                 MDC.put(MDC_ELEMENT, element.getTagName());
+                elementPushed = true;
             }
         }
 
         @Override
         public void close() {
-            if (originalContextMap != null) {
-                MDC.setContextMap(originalContextMap);
+            if (namespacePushed) {
+                restore(MDC_NAMESPACE, previousNamespace);
+            }
+            if (documentURIPushed) {
+                restore(MDC_DOCUMENT_URI, previousDocumentURI);
+            }
+            if (elementPushed) {
+                restore(MDC_ELEMENT, previousElement);
+            }
+        }
+
+        static void restore(String key, String previousValue) {
+            if (previousValue != null) {
+                MDC.put(key, previousValue);
+            } else {
+                MDC.remove(key);
             }
         }
     }
 
+    /**
+     * The schema location and compiled schema of a namespace handler class, which are resolved lazily.
+     */
+    static class SchemaHolder {
+        boolean locationResolved;
+        URL schemaLocation;
+        volatile Schema compiledSchema;
+
+        synchronized URL getSchemaLocation(AbstractNamespaceHandler namespaceHandler) {
+            if (!locationResolved) {
+                schemaLocation = namespaceHandler.getClass().getResource(namespaceHandler.getSchemaResourcePath());
+                locationResolved = true;
+            }
+
+            return schemaLocation;
+        }
+
+        Schema getCompiledSchema(AbstractNamespaceHandler namespaceHandler) {
+            Schema answer = compiledSchema;
+            if (answer == null) {
+                synchronized (this) {
+                    answer = compiledSchema;
+                    if (answer == null) {
+                        URL location = getSchemaLocation(namespaceHandler);
+                        if (location == null) {
+                            String errorMessage = String.format("Schema resource '%s' not found for namespace handler <%s> {schema = '%s'}",
+                                namespaceHandler.getSchemaResourcePath(), namespaceHandler.getClass().getName(), namespaceHandler.getSchema());
+                            throw new ComponentDefinitionException(errorMessage);
+                        }
+                        try {
+                            answer = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema(location);
+                        } catch (SAXException compileEx) {
+                            String errorMessage = String.format("Failed to compile schema '%s' for namespace handler <%s> {schema = '%s'}",
+                                location, namespaceHandler.getClass().getName(), namespaceHandler.getSchema());
+                            throw new ComponentDefinitionException(errorMessage, compileEx);
+                        }
+                        compiledSchema = answer;
+                    }
+                }
+            }
+
+            return answer;
+        }
+    }
 }
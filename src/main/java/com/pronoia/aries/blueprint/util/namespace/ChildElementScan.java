@@ -0,0 +1,207 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.namespace;
+
+import com.pronoia.aries.blueprint.util.parser.ElementCursor;
+import com.pronoia.aries.blueprint.util.parser.ElementParser;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.w3c.dom.Element;
+
+
+/**
+ * A single pass over the descendant {@link Element}s of an {@link Element}, collecting any combination of projections.
+ *
+ * The projections are requested with a bit mask of {@link #ELEMENTS}, {@link #ELEMENT_MAP}, {@link #VALUES} and
+ * {@link #VALUE_MAP}, so a caller that needs both the elements and their values walks the DOM once instead of once per
+ * projection.  The text content of an element is the value of its first text node, as returned by
+ * {@link ElementParser#getTextValue(Element)}.
+ *
+ * The collections are {@link ArrayList}s and {@link LinkedHashMap}s in document order, and are owned by the caller.
+ */
+public final class ChildElementScan {
+    /**
+     * Collect a {@link List} of the matching descendant elements.
+     */
+    public static final int ELEMENTS = 1;
+
+    /**
+     * Collect a {@link Map} of the matching descendant elements, keyed by tag name.
+     */
+    public static final int ELEMENT_MAP = 1 << 1;
+
+    /**
+     * Collect a {@link List} of the text content of the matching descendant elements.
+     */
+    public static final int VALUES = 1 << 2;
+
+    /**
+     * Collect a {@link Map} of the text content of the matching descendant elements, keyed by tag name.
+     */
+    public static final int VALUE_MAP = 1 << 3;
+
+    /**
+     * Leave null and empty text content out of the {@link #VALUES} and {@link #VALUE_MAP} projections - tag names without
+     * any text content are left out of the {@link #VALUE_MAP} projection.
+     */
+    public static final int SKIP_EMPTY_VALUES = 1 << 4;
+
+    final int projections;
+    int size;
+    List<Element> elements;
+    Map<String, List<Element>> elementMap;
+    List<String> values;
+    Map<String, List<String>> valueMap;
+
+    ChildElementScan(int projections) {
+        this.projections = projections;
+    }
+
+    /**
+     * Scan the descendant {@link Element}s of an {@link Element}.
+     *
+     * @param parentElement The parent {@link Element}.
+     * @param tagName       The tag name to match on, or null to match all descendant elements.
+     * @param projections   The bit mask of the projections to collect.
+     *
+     * @return the result of the scan.
+     */
+    public static ChildElementScan scan(final Element parentElement, String tagName, int projections) {
+        if (parentElement == null) {
+            String message = String.format("scan(parentElement[null], tagName[%s], projections[%d]) - parentElement cannot be null", tagName, projections);
+            throw new IllegalArgumentException(message);
+        }
+
+        ChildElementScan answer = new ChildElementScan(projections);
+        answer.collect(parentElement, tagName);
+
+        return answer;
+    }
+
+    void collect(Element parentElement, String tagName) {
+        boolean collectElements = (projections & ELEMENTS) != 0;
+        boolean collectElementMap = (projections & ELEMENT_MAP) != 0;
+        boolean collectValues = (projections & VALUES) != 0;
+        boolean collectValueMap = (projections & VALUE_MAP) != 0;
+        boolean skipEmptyValues = (projections & SKIP_EMPTY_VALUES) != 0;
+
+        if (collectElements) {
+            elements = new ArrayList<>();
+        }
+        if (collectElementMap) {
+            elementMap = new LinkedHashMap<>();
+        }
+        if (collectValues) {
+            values = new ArrayList<>();
+        }
+        if (collectValueMap) {
+            valueMap = new LinkedHashMap<>();
+        }
+
+        ElementCursor cursor = new ElementCursor(parentElement, tagName);
+        while (cursor.next()) {
+            Element childElement = cursor.getElement();
+            String childTagName = childElement.getTagName();
+
+            ++size;
+
+            if (collectElements) {
+                elements.add(childElement);
+            }
+            if (collectElementMap) {
+                elementMap.computeIfAbsent(childTagName, key -> new ArrayList<>()).add(childElement);
+            }
+
+            if (collectValues || collectValueMap) {
+                String value = ElementParser.getTextValue(childElement);
+                if (!skipEmptyValues || (value != null && !value.isEmpty())) {
+                    if (collectValues) {
+                        values.add(value);
+                    }
+                    if (collectValueMap) {
+                        valueMap.computeIfAbsent(childTagName, key -> new ArrayList<>()).add(value);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the number of matching descendant elements, regardless of the projections.
+     *
+     * @return the number of matching descendant elements.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the matching descendant elements, in document order.
+     *
+     * @return the list of elements.
+     *
+     * @throws IllegalStateException Raised if the {@link #ELEMENTS} projection was not requested.
+     */
+    public List<Element> getElements() {
+        return projection(elements, "getElements", "ELEMENTS");
+    }
+
+    /**
+     * Return the matching descendant elements, keyed by tag name in document order.
+     *
+     * @return the map of elements.
+     *
+     * @throws IllegalStateException Raised if the {@link #ELEMENT_MAP} projection was not requested.
+     */
+    public Map<String, List<Element>> getElementMap() {
+        return projection(elementMap, "getElementMap", "ELEMENT_MAP");
+    }
+
+    /**
+     * Return the text content of the matching descendant elements, in document order.
+     *
+     * @return the list of values.
+     *
+     * @throws IllegalStateException Raised if the {@link #VALUES} projection was not requested.
+     */
+    public List<String> getValues() {
+        return projection(values, "getValues", "VALUES");
+    }
+
+    /**
+     * Return the text content of the matching descendant elements, keyed by tag name in document order.
+     *
+     * @return the map of values.
+     *
+     * @throws IllegalStateException Raised if the {@link #VALUE_MAP} projection was not requested.
+     */
+    public Map<String, List<String>> getValueMap() {
+        return projection(valueMap, "getValueMap", "VALUE_MAP");
+    }
+
+    <P> P projection(P projection, String methodName, String projectionName) {
+        if (projection == null) {
+            throw new IllegalStateException(String.format("%s() - the %s projection was not requested", methodName, projectionName));
+        }
+
+        return projection;
+    }
+}
@@ -16,6 +16,8 @@
  */
 package com.pronoia.aries.blueprint.util.namespace;
 
+import java.io.ObjectStreamException;
+
 import org.osgi.service.blueprint.container.ComponentDefinitionException;
 import org.w3c.dom.Element;
 
@@ -28,4 +30,58 @@ public class ElementDefinitionException extends ComponentDefinitionException {
     public ElementDefinitionException(String explanation, Throwable cause) {
         super(explanation, cause);
     }
+
+    /**
+     * Create a stackless exception with a lazily formatted message.
+     *
+     * The exception does not capture a stack trace, and the message is only formatted when it is read, so creating the
+     * exception is cheap.  Use this for exceptions that are thrown and caught within a handler - i.e. to abandon an
+     * optional branch - and not for exceptions that reach the Blueprint container, where the stack trace is needed.
+     *
+     * The arguments are not serialized - the message is formatted when the exception is serialized.
+     *
+     * @param explanationFormat The {@link String#format(String, Object...)} format of the message.
+     * @param explanationArgs   The arguments for the format.
+     *
+     * @return the exception.
+     */
+    public static ElementDefinitionException stackless(String explanationFormat, Object... explanationArgs) {
+        return new StacklessElementDefinitionException(explanationFormat, explanationArgs);
+    }
+
+    static final class StacklessElementDefinitionException extends ElementDefinitionException {
+        private static final long serialVersionUID = 1L;
+
+        final String explanationFormat;
+        final transient Object[] explanationArgs;
+        volatile String explanation;
+
+        StacklessElementDefinitionException(String explanationFormat, Object[] explanationArgs) {
+            super(null);
+            this.explanationFormat = explanationFormat;
+            this.explanationArgs = explanationArgs;
+        }
+
+        @Override
+        public String getMessage() {
+            String answer = explanation;
+            if (answer == null && explanationFormat != null) {
+                answer = explanationArgs != null && explanationArgs.length > 0 ? String.format(explanationFormat, explanationArgs) : explanationFormat;
+                explanation = answer;
+            }
+
+            return answer;
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+
+        Object writeReplace() throws ObjectStreamException {
+            // The arguments may not be serializable, so only the formatted message is written
+            getMessage();
+            return this;
+        }
+    }
 }
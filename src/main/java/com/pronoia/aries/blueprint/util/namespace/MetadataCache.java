@@ -0,0 +1,390 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.namespace;
+
+import com.pronoia.aries.blueprint.util.placeholder.PlaceholderResolver;
+import com.pronoia.aries.blueprint.util.placeholder.PlaceholderTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.xml.XMLConstants;
+
+import org.apache.aries.blueprint.ExtendedBeanMetadata;
+import org.apache.aries.blueprint.PassThroughMetadata;
+import org.apache.aries.blueprint.mutable.MutableBeanMetadata;
+import org.apache.aries.blueprint.reflect.MetadataUtil;
+import org.osgi.service.blueprint.reflect.BeanArgument;
+import org.osgi.service.blueprint.reflect.BeanMetadata;
+import org.osgi.service.blueprint.reflect.BeanProperty;
+import org.osgi.service.blueprint.reflect.CollectionMetadata;
+import org.osgi.service.blueprint.reflect.MapEntry;
+import org.osgi.service.blueprint.reflect.MapMetadata;
+import org.osgi.service.blueprint.reflect.Metadata;
+import org.osgi.service.blueprint.reflect.ReferenceListener;
+import org.osgi.service.blueprint.reflect.ServiceMetadata;
+import org.osgi.service.blueprint.reflect.ServiceReferenceMetadata;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Node;
+
+
+/**
+ * A bounded, least-recently-used cache of the {@link Metadata} built for elements, keyed by a fingerprint of the element.
+ *
+ * The fingerprint is a SHA-256 digest of the namespace and name of the element and of its subtree - the attributes (with
+ * placeholders resolved), the descendant elements and the text - so identical elements share an entry regardless of the
+ * document they appear in.  The cache stores a deep copy of the metadata and returns a new deep copy for every hit, so
+ * the Blueprint container can modify the metadata it is given.
+ *
+ * A {@link PassThroughMetadata} cannot be deep-copied - the copy shares the live object - so metadata containing one is
+ * never cached.  Otherwise a container created after a bundle refresh would be handed the objects of the old container.
+ */
+public class MetadataCache {
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    static final Logger LOG = LoggerFactory.getLogger(MetadataCache.class);
+
+    final int maxSize;
+    final Map<Key, Metadata> entries;
+
+    final LongAdder hitCount = new LongAdder();
+    final LongAdder missCount = new LongAdder();
+
+    /**
+     * Create a cache.
+     *
+     * @param maxSize The maximum number of cached entries - the least-recently-used entry is evicted when it is exceeded.
+     */
+    public MetadataCache(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException(String.format("MetadataCache(maxSize[%d]) - maxSize must be greater than zero", maxSize));
+        }
+
+        this.maxSize = maxSize;
+        this.entries = new LeastRecentlyUsedMap(maxSize);
+    }
+
+    /**
+     * Return the cache key for an element.
+     *
+     * @param element             The {@link Element}.
+     * @param placeholderResolver The resolver for placeholders in attribute values - may be null.
+     *
+     * @return the cache key.
+     */
+    public static Key key(Element element, PlaceholderResolver placeholderResolver) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException noDigestEx) {
+            throw new IllegalStateException("key(element, placeholderResolver) - SHA-256 is not available", noDigestEx);
+        }
+
+        update(digest, element, placeholderResolver);
+
+        return new Key(element.getNamespaceURI(), element.getLocalName() != null ? element.getLocalName() : element.getTagName(), digest.digest());
+    }
+
+    static void update(MessageDigest digest, Node node, PlaceholderResolver placeholderResolver) {
+        switch (node.getNodeType()) {
+        case Node.ELEMENT_NODE:
+            update(digest, 'E', node.getNamespaceURI());
+            update(digest, 'N', node.getLocalName() != null ? node.getLocalName() : node.getNodeName());
+
+            NamedNodeMap attributes = node.getAttributes();
+            if (attributes.getLength() > 0) {
+                Map<String, String> sortedAttributes = new TreeMap<>();
+                for (int i = 0; i < attributes.getLength(); ++i) {
+                    Attr attr = (Attr) attributes.item(i);
+                    if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attr.getNamespaceURI())) {
+                        // Namespace declarations are reflected in the names of the nodes
+                        continue;
+                    }
+                    String value = attr.getValue();
+                    if (placeholderResolver != null && PlaceholderTemplate.hasPlaceholders(value)) {
+                        value = PlaceholderTemplate.resolve(value, placeholderResolver, true);
+                    }
+                    sortedAttributes.put(attr.getNamespaceURI() != null ? "{" + attr.getNamespaceURI() + "}" + attr.getLocalName() : attr.getName(), value);
+                }
+                for (Map.Entry<String, String> attribute : sortedAttributes.entrySet()) {
+                    update(digest, 'A', attribute.getKey());
+                    update(digest, 'V', attribute.getValue());
+                }
+            }
+
+            for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+                update(digest, child, placeholderResolver);
+            }
+            digest.update((byte) 'e');
+            break;
+        case Node.TEXT_NODE:
+        case Node.CDATA_SECTION_NODE:
+            update(digest, 'T', node.getNodeValue());
+            break;
+        default:
+            // Comments and processing instructions do not affect the metadata
+            break;
+        }
+    }
+
+    static void update(MessageDigest digest, char tag, String value) {
+        digest.update((byte) tag);
+        if (value == null) {
+            digest.update((byte) 0);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            digest.update((byte) 1);
+            digest.update((byte) (bytes.length >>> 24));
+            digest.update((byte) (bytes.length >>> 16));
+            digest.update((byte) (bytes.length >>> 8));
+            digest.update((byte) bytes.length);
+            digest.update(bytes);
+        }
+    }
+
+    /**
+     * Return a copy of the cached metadata for a key.
+     *
+     * @param key The cache key.
+     *
+     * @return a deep copy of the cached metadata, or null if the key is not cached.
+     */
+    public Metadata get(Key key) {
+        Metadata cachedMetadata;
+        synchronized (entries) {
+            cachedMetadata = entries.get(key);
+        }
+
+        if (cachedMetadata == null) {
+            missCount.increment();
+            return null;
+        }
+
+        hitCount.increment();
+
+        return copy(cachedMetadata);
+    }
+
+    /**
+     * Cache a copy of the metadata for a key.
+     *
+     * @param key      The cache key.
+     * @param metadata The metadata.
+     *
+     * @return true if the metadata was cached, false if it cannot be copied or contains {@link PassThroughMetadata}.
+     */
+    public boolean put(Key key, Metadata metadata) {
+        if (containsPassThrough(metadata)) {
+            LOG.debug("Metadata for element '{}' contains PassThroughMetadata - it will not be cached", key.elementName);
+            return false;
+        }
+
+        Metadata copy;
+        try {
+            copy = copy(metadata);
+        } catch (RuntimeException cloneEx) {
+            LOG.debug("Metadata for element '{}' cannot be copied - it will not be cached", key.elementName, cloneEx);
+            return false;
+        }
+
+        synchronized (entries) {
+            entries.put(key, copy);
+        }
+
+        return true;
+    }
+
+    /**
+     * Return a deep copy of metadata.
+     *
+     * The Aries copy does not preserve the extended attributes of the top-level bean - i.e. the processor flag - so they are
+     * copied here.
+     *
+     * @param metadata The metadata to copy.
+     *
+     * @return the copy.
+     */
+    static Metadata copy(Metadata metadata) {
+        Metadata answer = MetadataUtil.cloneMetadata(metadata);
+
+        if (metadata instanceof ExtendedBeanMetadata && answer instanceof MutableBeanMetadata) {
+            ExtendedBeanMetadata source = (ExtendedBeanMetadata) metadata;
+            MutableBeanMetadata target = (MutableBeanMetadata) answer;
+
+            target.setProcessor(source.isProcessor());
+            target.setFieldInjection(source.getFieldInjection());
+            if (source.getRuntimeClass() != null) {
+                target.setRuntimeClass(source.getRuntimeClass());
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Determine if a metadata tree contains {@link PassThroughMetadata}, which shares its object when it is copied.
+     *
+     * @param metadata The root of the metadata tree.
+     *
+     * @return true if the tree contains pass-through metadata.
+     */
+    static boolean containsPassThrough(Metadata metadata) {
+        Deque<Metadata> pending = new ArrayDeque<>();
+        push(pending, metadata);
+
+        while (!pending.isEmpty()) {
+            Metadata current = pending.pop();
+            if (current instanceof PassThroughMetadata) {
+                return true;
+            }
+
+            if (current instanceof BeanMetadata) {
+                BeanMetadata beanMetadata = (BeanMetadata) current;
+                push(pending, beanMetadata.getFactoryComponent());
+                for (BeanArgument argument : beanMetadata.getArguments()) {
+                    push(pending, argument.getValue());
+                }
+                for (BeanProperty property : beanMetadata.getProperties()) {
+                    push(pending, property.getValue());
+                }
+            } else if (current instanceof CollectionMetadata) {
+                for (Metadata value : ((CollectionMetadata) current).getValues()) {
+                    push(pending, value);
+                }
+            } else if (current instanceof MapMetadata) {
+                for (MapEntry entry : ((MapMetadata) current).getEntries()) {
+                    push(pending, entry.getKey());
+                    push(pending, entry.getValue());
+                }
+            } else if (current instanceof ServiceMetadata) {
+                ServiceMetadata serviceMetadata = (ServiceMetadata) current;
+                push(pending, serviceMetadata.getServiceComponent());
+                for (MapEntry entry : serviceMetadata.getServiceProperties()) {
+                    push(pending, entry.getKey());
+                    push(pending, entry.getValue());
+                }
+            } else if (current instanceof ServiceReferenceMetadata) {
+                for (ReferenceListener listener : ((ServiceReferenceMetadata) current).getReferenceListeners()) {
+                    push(pending, listener.getListenerComponent());
+                }
+            }
+        }
+
+        return false;
+    }
+
+    static void push(Deque<Metadata> pending, Metadata metadata) {
+        if (metadata != null) {
+            pending.push(metadata);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * An access-ordered map that evicts the least-recently-used entry when the maximum size is exceeded.
+     */
+    static class LeastRecentlyUsedMap extends LinkedHashMap<Key, Metadata> {
+        private static final long serialVersionUID = 1L;
+
+        final int maxSize;
+
+        LeastRecentlyUsedMap(int maxSize) {
+            super(Math.min(maxSize, DEFAULT_CACHE_SIZE) * 4 / 3 + 1, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Metadata> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    /**
+     * The cache key for an element - the namespace and name of the element and the fingerprint of its subtree.
+     */
+    public static final class Key {
+        final String namespaceURI;
+        final String elementName;
+        final byte[] fingerprint;
+        final int hashCode;
+
+        Key(String namespaceURI, String elementName, byte[] fingerprint) {
+            this.namespaceURI = namespaceURI;
+            this.elementName = elementName;
+            this.fingerprint = fingerprint;
+            this.hashCode = Arrays.hashCode(fingerprint);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) obj;
+
+            return hashCode == other.hashCode && elementName.equals(other.elementName)
+                && (namespaceURI != null ? namespaceURI.equals(other.namespaceURI) : other.namespaceURI == null)
+                && Arrays.equals(fingerprint, other.fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("{%s}%s", namespaceURI, elementName);
+        }
+    }
+}
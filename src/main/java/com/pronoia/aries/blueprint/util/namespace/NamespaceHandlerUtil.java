@@ -16,17 +16,25 @@
  */
 package com.pronoia.aries.blueprint.util.namespace;
 
+import com.pronoia.aries.blueprint.util.convert.ConverterRegistry;
+import com.pronoia.aries.blueprint.util.parser.ElementCursor;
+import com.pronoia.aries.blueprint.util.parser.ElementParser;
+
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+import javax.xml.namespace.QName;
 
 import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 
 /**
@@ -56,24 +64,13 @@ public final class NamespaceHandlerUtil {
             throw new IllegalArgumentException(message);
         }
 
-        List<Element> answer = new LinkedList<>();
+        ChildElementScan scan = ChildElementScan.scan(element, null, ChildElementScan.ELEMENTS);
 
-        NodeList childNodes = element.getChildNodes();
-        if (childNodes != null && childNodes.getLength() > 0) {
-            for (int childIndex = 0; childIndex < childNodes.getLength(); ++childIndex) {
-                Node childNode = childNodes.item(childIndex);
-                if (Node.ELEMENT_NODE == childNode.getNodeType()) {
-                    answer.add((Element) childNode);
-                }
-            }
+        if (requireElement) {
+            checkDescendantsFound(element, scan);
         }
 
-        if (requireElement && (answer == null || answer.isEmpty())) {
-            String explanation = String.format("No descendant elements found in parent element '%s' in document '%s'", element.getTagName(), element.getOwnerDocument().getDocumentURI());
-            throw new ElementDefinitionException(explanation);
-        }
-
-        return answer;
+        return scan.getElements();
     }
 
 
@@ -100,28 +97,112 @@ public final class NamespaceHandlerUtil {
             throw new IllegalArgumentException(message);
         }
 
-        List<Element> answer = new LinkedList<>();
+        ChildElementScan scan = ChildElementScan.scan(element, tagName, ChildElementScan.ELEMENTS);
 
-        NodeList childNodes = element.getChildNodes();
-        if (childNodes != null && childNodes.getLength() > 0) {
-            for (int childIndex = 0; childIndex < childNodes.getLength(); ++childIndex) {
-                Node child = childNodes.item(childIndex);
-                if (Node.ELEMENT_NODE == child.getNodeType()) {
-                    Element childElement = (Element) child;
-                    if (childElement.getTagName().equals(tagName)) {
-                        answer.add((Element) child);
-                    }
-                }
-            }
+        if (requireElement) {
+            checkDescendantsFound(element, tagName, scan);
+        }
+
+        return scan.getElements();
+    }
+
+
+    /**
+     * Return the first descendant {@link Element} of an {@link Element} matching the tag name, without throwing an
+     * exception if it is not found.
+     *
+     * @param element The parent {@link Element}.
+     * @param tagName The tag name to match on.
+     *
+     * @return The first matching descendant element, or empty if it is not found.
+     */
+    public static Optional<Element> tryGetChildElement(final Element element, String tagName) {
+        if (element == null) {
+            String message = String.format("tryGetChildElement(element[null], tagName[%s]) - element cannot be null", tagName);
+            throw new IllegalArgumentException(message);
         }
 
-        if (requireElement && (answer == null || answer.isEmpty())) {
+        if (tagName == null || tagName.isEmpty()) {
+            String message = String.format("tryGetChildElement(element[%s], tagName[%s]) - tagName cannot be null or empty", element.getTagName(), tagName);
+            throw new IllegalArgumentException(message);
+        }
+
+        ElementCursor cursor = new ElementCursor(element, tagName);
+
+        return cursor.next() ? Optional.of(cursor.getElement()) : Optional.empty();
+    }
+
+    /**
+     * Returns a cursor over all the descendant {@link Element}s of an {@link Element}, in document order.
+     *
+     * The cursor walks the descendants without building a {@link List}, so it should be preferred over
+     * {@link #getChildElements(Element, boolean)} when the descendants are only iterated once.
+     *
+     * @param element The parent {@link Element}.
+     *
+     * @return A cursor positioned before the first descendant element.
+     */
+    public static ElementCursor getChildElementCursor(final Element element) {
+        if (element == null) {
+            throw new IllegalArgumentException("getChildElementCursor(element[null]) - element cannot be null");
+        }
+
+        return new ElementCursor(element);
+    }
+
+
+    /**
+     * Returns a cursor over the descendant {@link Element}s of an {@link Element} with the specified tag name, in document order.
+     *
+     * The cursor walks the descendants without building a {@link List}, so it should be preferred over
+     * {@link #getChildElements(Element, String, boolean)} when the descendants are only iterated once.
+     *
+     * @param element The parent {@link Element}.
+     * @param tagName The {@link Element} tag-name to match on.
+     *
+     * @return A cursor positioned before the first matching descendant element.
+     */
+    public static ElementCursor getChildElementCursor(final Element element, String tagName) {
+        if (element == null) {
+            String message = String.format("getChildElementCursor(element[null], tagName[%s]) - element cannot be null", tagName);
+            throw new IllegalArgumentException(message);
+        }
+
+        if (tagName == null || tagName.isEmpty()) {
+            String message = String.format("getChildElementCursor(element[%s], tagName[%s]) - tagName cannot be null or empty", element.getTagName(), tagName);
+            throw new IllegalArgumentException(message);
+        }
+
+        return new ElementCursor(element, tagName);
+    }
+
+    /**
+     * Returns a {@link List} of descendant {@link Element} instances, matching the specified namespace-qualified name, in document order.
+     *
+     * @param element        The parent {@link Element}.
+     * @param name           The namespace-qualified name to match on - the prefix used in the document does not matter.
+     * @param requireElement If true, at least one matching descendant {@link Element} must be found in the parent {@link Element} or
+     *                       an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return A list of matching elements, which may be empty if no matching descendant elements are found in the parent element.
+     *
+     * @throws ElementDefinitionException Raised if requireElement is true and no matching descendant {@link Element}s are found in the parent {@link Element}.
+     */
+    public static List<Element> getChildElementsNS(final Element element, QName name, boolean requireElement) {
+        ElementCursor cursor = getChildElementCursorNS(element, name);
+
+        List<Element> answer = new LinkedList<>();
+        while (cursor.next()) {
+            answer.add(cursor.getElement());
+        }
+
+        if (requireElement && answer.isEmpty()) {
             String documentUri = null;
             Document document = element.getOwnerDocument();
             if (document != null) {
                 documentUri = document.getDocumentURI();
             }
-            String explanation = String.format("Descendant element matching tag name '%s' not found in parent element '%s' in document '%s'", tagName, element.getTagName(), documentUri);
+            String explanation = String.format("Descendant element matching name '%s' not found in parent element '%s' in document '%s'", name, element.getTagName(), documentUri);
 
             throw new ElementDefinitionException(explanation);
         }
@@ -129,6 +210,64 @@ public final class NamespaceHandlerUtil {
         return answer;
     }
 
+    /**
+     * Returns a cursor over the descendant {@link Element}s, matching the specified namespace-qualified name, in document order.
+     *
+     * @param element The parent {@link Element}.
+     * @param name    The namespace-qualified name to match on - the prefix used in the document does not matter.
+     *
+     * @return A cursor positioned before the first matching descendant element.
+     */
+    public static ElementCursor getChildElementCursorNS(final Element element, QName name) {
+        if (element == null) {
+            String message = String.format("getChildElementCursorNS(element[null], name[%s]) - element cannot be null", name);
+            throw new IllegalArgumentException(message);
+        }
+
+        if (name == null) {
+            String message = String.format("getChildElementCursorNS(element[%s], name[null]) - name cannot be null", element.getTagName());
+            throw new IllegalArgumentException(message);
+        }
+
+        return new ElementCursor(element).resetNS(element, name);
+    }
+
+    /**
+     * Return the value of an {@link Attr} in an {@link Element} with the specified namespace-qualified name.
+     *
+     * Unprefixed attributes are not in a namespace, so they are matched with a name that has no namespace URI.
+     *
+     * @param element          The source {@link Element}.
+     * @param name             The namespace-qualified name of the attribute.
+     * @param requireAttribute If true, the attribute must exist or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return the value of the attribute, or null if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if requireAttribute is true and the attribute is not found in source {@link Element}.
+     */
+    public static String getAttributeValueNS(final Element element, QName name, boolean requireAttribute) {
+        if (element == null) {
+            String message = String.format("getAttributeValueNS(element[null], name[%s], requireAttribute[%b]) - element cannot be null", name, requireAttribute);
+            throw new IllegalArgumentException(message);
+        }
+
+        if (name == null) {
+            String message = String.format("getAttributeValueNS(element[%s], name[null], requireAttribute[%b]) - name cannot be null", element.getTagName(), requireAttribute);
+            throw new IllegalArgumentException(message);
+        }
+
+        String namespaceURI = name.getNamespaceURI();
+        Attr answer = element.getAttributeNodeNS(namespaceURI.isEmpty() ? null : namespaceURI, name.getLocalPart());
+
+        if (requireAttribute && answer == null) {
+            String explanation = String.format("Attribute '%s' not found in element '%s'", name, element.getTagName());
+
+            throw new ElementDefinitionException(explanation);
+        }
+
+        return answer != null ? answer.getValue() : null;
+    }
+
 
     /**
      * Returns a {@link Map} of all descendant {@link Element}s in document order.  The {@link Map} key is the @{link Element} tag name
@@ -148,26 +287,13 @@ public final class NamespaceHandlerUtil {
             throw new IllegalArgumentException(message);
         }
 
-        Map<String, List<Element>> answer = new LinkedHashMap<>();
-
-        List<Element> childElements = getChildElements(element, requireElement);
+        ChildElementScan scan = ChildElementScan.scan(element, null, ChildElementScan.ELEMENT_MAP);
 
-        if (childElements != null && !childElements.isEmpty()) {
-            for (Element childElement : childElements) {
-                String childElementTagName = childElement.getTagName();
-                if (answer.containsKey(childElementTagName)) {
-                    answer.get(childElementTagName).add(childElement);
-                } else {
-                    List<Element> tmpElementList = new LinkedList<>();
-                    tmpElementList.add(childElement);
-                    answer.put(childElementTagName, tmpElementList);
-                }
-            }
+        if (requireElement) {
+            checkDescendantsFound(element, scan);
         }
 
-        // Don't need to do anything with requireElement -  getChildElements will throw an exception if there are no descendants.
-
-        return answer;
+        return scan.getElementMap();
     }
 
 
@@ -187,18 +313,7 @@ public final class NamespaceHandlerUtil {
             throw new IllegalArgumentException(message);
         }
 
-        String answer = null;
-        NodeList childNodes = element.getChildNodes();
-
-        if (childNodes != null && childNodes.getLength() > 0) {
-            for (int childNodeIndex = 0; childNodeIndex < childNodes.getLength(); ++childNodeIndex) {
-                Node childNode = childNodes.item(childNodeIndex);
-                if (Node.TEXT_NODE == childNode.getNodeType()) {
-                    answer = childNode.getNodeValue();
-                    break;
-                }
-            }
-        }
+        String answer = ElementParser.getTextValue(element);
 
         if (requireValue) {
             if (answer == null || answer.isEmpty()) {
@@ -224,31 +339,17 @@ public final class NamespaceHandlerUtil {
      * @throws ElementDefinitionException Raised if requireElement is true and none of the descendant {@link Element}s have content.
      */
     public static Map<String, List<String>> getChildElementValues(final Element element, boolean requireValue) {
-        Map<String, List<String>> answer = new LinkedHashMap<>();
-
-        Map<String, List<Element>> childElementMap = getChildElementMap(element, requireValue);
-
-        if (childElementMap != null && !childElementMap.isEmpty()) {
-            for (String tagName : childElementMap.keySet()) {
-                List<String> tmpElementValuesForTagName = new LinkedList<>();
-                for (Element childElement : childElementMap.get(tagName)) {
-                    String childElementValue = getElementValue(childElement, false);
-                    if (requireValue) {
-                        if (childElementValue != null && !childElementValue.isEmpty()) {
-                            tmpElementValuesForTagName.add(childElementValue);
-                        }
-                    } else {
-                        tmpElementValuesForTagName.add(childElementValue);
-                    }
-                }
-                if (!tmpElementValuesForTagName.isEmpty()) {
-                    answer.put(tagName, tmpElementValuesForTagName);
-                }
-            }
+        if (element == null) {
+            String message = String.format("getChildElementMap(element[null], requireElement[%b]) - element cannot be null", requireValue);
+            throw new IllegalArgumentException(message);
         }
 
+        ChildElementScan scan = ChildElementScan.scan(element, null, requireValue ? ChildElementScan.VALUE_MAP | ChildElementScan.SKIP_EMPTY_VALUES : ChildElementScan.VALUE_MAP);
+        Map<String, List<String>> answer = scan.getValueMap();
+
         if (requireValue) {
-            if (answer == null || answer.isEmpty()) {
+            checkDescendantsFound(element, scan);
+            if (answer.isEmpty()) {
                 String explanation = String.format("The text content of all the descendant elements of the '%s' element is null or empty", element.getTagName());
 
                 throw new ElementDefinitionException(explanation);
@@ -272,25 +373,22 @@ public final class NamespaceHandlerUtil {
      * @throws ElementDefinitionException Raised if requireElement is true and the text content of all the descendant {@link Element}s is null or empty.
      */
     public static List<String> getChildElementValues(final Element element, final String tagName, boolean requireValue) {
-        List<String> answer = new LinkedList<>();
-
-        List<Element> childElements = getChildElements(element, tagName, requireValue);
-
-        if (childElements != null && !childElements.isEmpty()) {
-            for (Element childElement : childElements) {
-                String childElementValue = getElementValue(childElement, false);
-                if (requireValue) {
-                    if (childElementValue != null && !childElementValue.isEmpty()) {
-                        answer.add(childElementValue);
-                    }
-                } else {
-                    answer.add(childElementValue);
-                }
-            }
+        if (element == null) {
+            String message = String.format("getChildElements(element[null], tagName[%s], requireElement[%b]) - element cannot be null", tagName, requireValue);
+            throw new IllegalArgumentException(message);
+        }
+
+        if (tagName == null || tagName.isEmpty()) {
+            String message = String.format("getChildElements(element[%s], tagName[%s], requireElement[%b]) - tagName cannot be null or empty", element.getTagName(), tagName, requireValue);
+            throw new IllegalArgumentException(message);
         }
 
+        ChildElementScan scan = ChildElementScan.scan(element, tagName, requireValue ? ChildElementScan.VALUES | ChildElementScan.SKIP_EMPTY_VALUES : ChildElementScan.VALUES);
+        List<String> answer = scan.getValues();
+
         if (requireValue) {
-            if (answer == null || answer.isEmpty()) {
+            checkDescendantsFound(element, tagName, scan);
+            if (answer.isEmpty()) {
                 String explanation = String.format("The text content of all the descendant elements with tagName '%s' of the '%s' parent element is null or empty", tagName, element.getTagName());
 
                 throw new ElementDefinitionException(explanation);
@@ -417,6 +515,18 @@ public final class NamespaceHandlerUtil {
         return attr == null ? null : attr.getValue();
     }
 
+    /**
+     * Return the value of an {@link Attr} in an {@link Element}, without throwing an exception if it is not found.
+     *
+     * @param element       The source {@link Element}.
+     * @param attributeName Then name of the attribute the return the value of.
+     *
+     * @return the value of the attribute, or empty if the attribute was not found in the element.
+     */
+    public static Optional<String> tryGetAttributeValue(final Element element, String attributeName) {
+        return Optional.ofNullable(lookupAttributeValue("tryGetAttributeValue", element, attributeName));
+    }
+
     /**
      * Return a @{link Map} of the values all the {@link Attr} instances of an {@link Element}.  The {@link Map} key is the @{link Attr} name
      * and the {@link Map} value is the value of the {@link Attr}.
@@ -452,15 +562,7 @@ public final class NamespaceHandlerUtil {
      * @throws ElementDefinitionException Raised if requireAttribute is true and the attribute is not found in source {@link Element}.
      */
     public static Boolean getBooleanAttribute(final Element element, final String attributeName, boolean requireAttribute) {
-        String stringValue = getAttributeValue(element, attributeName, requireAttribute);
-
-        Boolean answer = null;
-
-        if (stringValue != null) {
-            answer = Boolean.valueOf(stringValue);
-        }
-
-        return answer;
+        return convertAttributeValue(element, attributeName, getAttributeValue(element, attributeName, requireAttribute), Boolean.class);
     }
 
 
@@ -491,19 +593,7 @@ public final class NamespaceHandlerUtil {
      * @throws ElementDefinitionException Raised if requireAttribute is true and the attribute is not found in source {@link Element} or the attribute's value cannot be converted to a {@link Byte}.
      */
     public static Byte getByteAttribute(final Element element, final String attributeName, boolean requireAttribute) {
-        String stringValue = getAttributeValue(element, attributeName, requireAttribute);
-
-        Byte answer = null;
-
-        if (stringValue != null) {
-            try {
-                answer = Byte.valueOf(stringValue);
-            } catch (Exception conversionEx) {
-                throw new ElementDefinitionException(String.format(CONVERSION_EXPLANATION_FORMAT, stringValue, attributeName, element.getTagName(), Byte.class), conversionEx);
-            }
-        }
-
-        return answer;
+        return convertAttributeValue(element, attributeName, getAttributeValue(element, attributeName, requireAttribute), Byte.class);
     }
 
     /**
@@ -518,19 +608,7 @@ public final class NamespaceHandlerUtil {
      * @throws ElementDefinitionException Raised if requireAttribute is true and the attribute is not found in source {@link Element} or the attribute's value cannot be converted to a {@link Short}.
      */
     public static Short getShortAttribute(final Element element, final String attributeName, boolean requireAttribute) {
-        String stringValue = getAttributeValue(element, attributeName, requireAttribute);
-
-        Short answer = null;
-
-        if (stringValue != null) {
-            try {
-                answer = Short.valueOf(stringValue);
-            } catch (Exception conversionEx) {
-                throw new ElementDefinitionException(String.format(CONVERSION_EXPLANATION_FORMAT, stringValue, attributeName, element.getTagName(), Short.class), conversionEx);
-            }
-        }
-
-        return answer;
+        return convertAttributeValue(element, attributeName, getAttributeValue(element, attributeName, requireAttribute), Short.class);
     }
 
     /**
@@ -545,19 +623,7 @@ public final class NamespaceHandlerUtil {
      * @throws ElementDefinitionException Raised if requireAttribute is true and the attribute is not found in source {@link Element} or the attribute's value cannot be converted to a {@link Integer}.
      */
     public static Integer getIntegerAttribute(final Element element, final String attributeName, boolean requireAttribute) {
-        String stringValue = getAttributeValue(element, attributeName, requireAttribute);
-
-        Integer answer = null;
-
-        if (stringValue != null) {
-            try {
-                answer = Integer.valueOf(stringValue);
-            } catch (Exception conversionEx) {
-                throw new ElementDefinitionException(String.format(CONVERSION_EXPLANATION_FORMAT, stringValue, attributeName, element.getTagName(), Integer.class), conversionEx);
-            }
-        }
-
-        return answer;
+        return convertAttributeValue(element, attributeName, getAttributeValue(element, attributeName, requireAttribute), Integer.class);
     }
 
     /**
@@ -572,19 +638,7 @@ public final class NamespaceHandlerUtil {
      * @throws ElementDefinitionException Raised if requireAttribute is true and the attribute is not found in source {@link Element} or the attribute's value cannot be converted to a {@link Long}.
      */
     public static Long getLongAttribute(final Element element, final String attributeName, boolean requireAttribute) {
-        String stringValue = getAttributeValue(element, attributeName, requireAttribute);
-
-        Long answer = null;
-
-        if (stringValue != null) {
-            try {
-                answer = Long.valueOf(stringValue);
-            } catch (Exception conversionEx) {
-                throw new ElementDefinitionException(String.format(CONVERSION_EXPLANATION_FORMAT, stringValue, attributeName, element.getTagName(), Long.class), conversionEx);
-            }
-        }
-
-        return answer;
+        return convertAttributeValue(element, attributeName, getAttributeValue(element, attributeName, requireAttribute), Long.class);
     }
 
     /**
@@ -599,19 +653,7 @@ public final class NamespaceHandlerUtil {
      * @throws ElementDefinitionException Raised if requireAttribute is true and the attribute is not found in source {@link Element} or the attribute's value cannot be converted to a {@link Float}.
      */
     public static Float getFloatAttribute(final Element element, final String attributeName, boolean requireAttribute) {
-        String stringValue = getAttributeValue(element, attributeName, requireAttribute);
-
-        Float answer = null;
-
-        if (stringValue != null) {
-            try {
-                answer = Float.valueOf(stringValue);
-            } catch (Exception conversionEx) {
-                throw new ElementDefinitionException(String.format(CONVERSION_EXPLANATION_FORMAT, stringValue, attributeName, element.getTagName(), Float.class), conversionEx);
-            }
-        }
-
-        return answer;
+        return convertAttributeValue(element, attributeName, getAttributeValue(element, attributeName, requireAttribute), Float.class);
     }
 
     /**
@@ -626,18 +668,242 @@ public final class NamespaceHandlerUtil {
      * @throws ElementDefinitionException Raised if requireAttribute is true and the attribute is not found in source {@link Element} or the attribute's value cannot be converted to a {@link Double}.
      */
     public static Double getDoubleAttribute(final Element element, final String attributeName, boolean requireAttribute) {
-        String stringValue = getAttributeValue(element, attributeName, requireAttribute);
+        return convertAttributeValue(element, attributeName, getAttributeValue(element, attributeName, requireAttribute), Double.class);
+    }
 
-        Double answer = null;
+    /**
+     * Return the value of an {@link Attr} in an {@link Element}, converted with the default {@link ConverterRegistry}.
+     *
+     * @param element          The source {@link Element}.
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param type             The type to convert the attribute value to - i.e. {@link java.time.Duration} or {@link java.util.regex.Pattern}.
+     * @param requireAttribute If true, the attribute must exist and its value must convertible to the type or an {@link ElementDefinitionException} will be thrown.
+     * @param <T>              The type to convert the attribute value to.
+     *
+     * @return The converted value of the attribute, or null if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if requireAttribute is true and the attribute is not found in source {@link Element} or the attribute's value cannot be converted to the type.
+     */
+    public static <T> T getAttributeValue(final Element element, final String attributeName, Class<T> type, boolean requireAttribute) {
+        return convertAttributeValue(element, attributeName, getAttributeValue(element, attributeName, requireAttribute), type);
+    }
 
-        if (stringValue != null) {
-            try {
-                answer = Double.valueOf(stringValue);
-            } catch (Exception conversionEx) {
-                throw new ElementDefinitionException(String.format(CONVERSION_EXPLANATION_FORMAT, stringValue, attributeName, element.getTagName(), Double.class), conversionEx);
+    /**
+     * Return the value of an {@link Attr} in an {@link Element}, converted with the supplied {@link ConverterRegistry}.
+     *
+     * The default registry loads classes with the class loader of this library, so namespace handlers in other bundles
+     * should use this method with their own registry to convert attribute values to {@link Class}es.
+     *
+     * @param element           The source {@link Element}.
+     * @param attributeName     Then name of the attribute the return the value of.
+     * @param type              The type to convert the attribute value to.
+     * @param requireAttribute  If true, the attribute must exist and its value must convertible to the type or an {@link ElementDefinitionException} will be thrown.
+     * @param converterRegistry The registry used to convert the attribute value - if null, the default registry is used.
+     * @param <T>               The type to convert the attribute value to.
+     *
+     * @return The converted value of the attribute, or null if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if requireAttribute is true and the attribute is not found in source {@link Element} or the attribute's value cannot be converted to the type.
+     */
+    public static <T> T getAttributeValue(final Element element, final String attributeName, Class<T> type, boolean requireAttribute, ConverterRegistry converterRegistry) {
+        return convertAttributeValue(element, attributeName, getAttributeValue(element, attributeName, requireAttribute), type, converterRegistry);
+    }
+
+    /**
+     * Return the boolean value of an {@link Attr} in an {@link Element}, or a default value if the attribute is not found.
+     *
+     * The attribute is looked-up once and the value is converted using the same rules as {@link Boolean#parseBoolean(String)}.
+     *
+     * @param element       The source {@link Element}.
+     * @param attributeName Then name of the attribute the return the value of.
+     * @param defaultValue  The value to return if the attribute is not found in the element.
+     *
+     * @return The boolean value of the attribute, or the default value if the attribute was not found in the element.
+     */
+    public static boolean getBoolean(final Element element, final String attributeName, boolean defaultValue) {
+        String stringValue = lookupAttributeValue("getBoolean", element, attributeName);
+
+        return stringValue != null ? Boolean.parseBoolean(stringValue) : defaultValue;
+    }
+
+    /**
+     * Return the int value of an {@link Attr} in an {@link Element}, or a default value if the attribute is not found.
+     *
+     * @param element       The source {@link Element}.
+     * @param attributeName Then name of the attribute the return the value of.
+     * @param defaultValue  The value to return if the attribute is not found in the element.
+     *
+     * @return The int value of the attribute, or the default value if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to an int.
+     */
+    public static int getInt(final Element element, final String attributeName, int defaultValue) {
+        String stringValue = lookupAttributeValue("getInt", element, attributeName);
+
+        return stringValue != null ? parseInt(element, attributeName, stringValue) : defaultValue;
+    }
+
+    /**
+     * Return the long value of an {@link Attr} in an {@link Element}, or a default value if the attribute is not found.
+     *
+     * @param element       The source {@link Element}.
+     * @param attributeName Then name of the attribute the return the value of.
+     * @param defaultValue  The value to return if the attribute is not found in the element.
+     *
+     * @return The long value of the attribute, or the default value if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to a long.
+     */
+    public static long getLong(final Element element, final String attributeName, long defaultValue) {
+        String stringValue = lookupAttributeValue("getLong", element, attributeName);
+
+        return stringValue != null ? parseLong(element, attributeName, stringValue) : defaultValue;
+    }
+
+    /**
+     * Return the double value of an {@link Attr} in an {@link Element}, or a default value if the attribute is not found.
+     *
+     * @param element       The source {@link Element}.
+     * @param attributeName Then name of the attribute the return the value of.
+     * @param defaultValue  The value to return if the attribute is not found in the element.
+     *
+     * @return The double value of the attribute, or the default value if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to a double.
+     */
+    public static double getDouble(final Element element, final String attributeName, double defaultValue) {
+        String stringValue = lookupAttributeValue("getDouble", element, attributeName);
+
+        return stringValue != null ? parseDouble(element, attributeName, stringValue) : defaultValue;
+    }
+
+    /**
+     * Return the int value of an {@link Attr} in an {@link Element}.
+     *
+     * @param element       The source {@link Element}.
+     * @param attributeName Then name of the attribute the return the value of.
+     *
+     * @return The int value of the attribute, or an empty {@link OptionalInt} if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to an int.
+     */
+    public static OptionalInt getOptionalInt(final Element element, final String attributeName) {
+        String stringValue = lookupAttributeValue("getOptionalInt", element, attributeName);
+
+        return stringValue != null ? OptionalInt.of(parseInt(element, attributeName, stringValue)) : OptionalInt.empty();
+    }
+
+    /**
+     * Return the long value of an {@link Attr} in an {@link Element}.
+     *
+     * @param element       The source {@link Element}.
+     * @param attributeName Then name of the attribute the return the value of.
+     *
+     * @return The long value of the attribute, or an empty {@link OptionalLong} if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to a long.
+     */
+    public static OptionalLong getOptionalLong(final Element element, final String attributeName) {
+        String stringValue = lookupAttributeValue("getOptionalLong", element, attributeName);
+
+        return stringValue != null ? OptionalLong.of(parseLong(element, attributeName, stringValue)) : OptionalLong.empty();
+    }
+
+    /**
+     * Return the double value of an {@link Attr} in an {@link Element}.
+     *
+     * @param element       The source {@link Element}.
+     * @param attributeName Then name of the attribute the return the value of.
+     *
+     * @return The double value of the attribute, or an empty {@link OptionalDouble} if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to a double.
+     */
+    public static OptionalDouble getOptionalDouble(final Element element, final String attributeName) {
+        String stringValue = lookupAttributeValue("getOptionalDouble", element, attributeName);
+
+        return stringValue != null ? OptionalDouble.of(parseDouble(element, attributeName, stringValue)) : OptionalDouble.empty();
+    }
+
+    /**
+     * Return the value of an {@link Attr} in an {@link Element} using a single lookup.
+     *
+     * @param methodName    The name of the calling method, used in the exception message.
+     * @param element       The source {@link Element}.
+     * @param attributeName Then name of the attribute the return.
+     *
+     * @return the value of the attribute, or null if the attribute was not found in the element.
+     */
+    static String lookupAttributeValue(String methodName, final Element element, String attributeName) {
+        if (element == null) {
+            String message = String.format("%s(element[null], attributeName[%s]) - element cannot be null", methodName, attributeName);
+            throw new IllegalArgumentException(message);
+        }
+
+        if (attributeName == null || attributeName.isEmpty()) {
+            String message = String.format("%s(element[%s], attributeName[%s]) - attributeName cannot be null or empty", methodName, element.getTagName(), attributeName);
+            throw new IllegalArgumentException(message);
+        }
+
+        Attr attr = element.getAttributeNode(attributeName);
+
+        return attr != null ? attr.getValue() : null;
+    }
+
+    static <T> T convertAttributeValue(final Element element, String attributeName, String stringValue, Class<T> type) {
+        return convertAttributeValue(element, attributeName, stringValue, type, null);
+    }
+
+    static <T> T convertAttributeValue(final Element element, String attributeName, String stringValue, Class<T> type, ConverterRegistry converterRegistry) {
+        try {
+            return (converterRegistry != null ? converterRegistry : ConverterRegistry.getDefault()).convert(stringValue, type);
+        } catch (IllegalArgumentException conversionEx) {
+            Throwable cause = conversionEx.getCause() != null ? conversionEx.getCause() : conversionEx;
+            throw new ElementDefinitionException(String.format(CONVERSION_EXPLANATION_FORMAT, stringValue, attributeName, element.getTagName(), type), cause);
+        }
+    }
+
+    static void checkDescendantsFound(final Element element, ChildElementScan scan) {
+        if (scan.size() == 0) {
+            String explanation = String.format("No descendant elements found in parent element '%s' in document '%s'", element.getTagName(), element.getOwnerDocument().getDocumentURI());
+            throw new ElementDefinitionException(explanation);
+        }
+    }
+
+    static void checkDescendantsFound(final Element element, String tagName, ChildElementScan scan) {
+        if (scan.size() == 0) {
+            String documentUri = null;
+            Document document = element.getOwnerDocument();
+            if (document != null) {
+                documentUri = document.getDocumentURI();
             }
+            String explanation = String.format("Descendant element matching tag name '%s' not found in parent element '%s' in document '%s'", tagName, element.getTagName(), documentUri);
+
+            throw new ElementDefinitionException(explanation);
         }
+    }
 
-        return answer;
+    static int parseInt(final Element element, String attributeName, String stringValue) {
+        try {
+            return Integer.parseInt(stringValue);
+        } catch (NumberFormatException conversionEx) {
+            throw new ElementDefinitionException(String.format(CONVERSION_EXPLANATION_FORMAT, stringValue, attributeName, element.getTagName(), int.class), conversionEx);
+        }
+    }
+
+    static long parseLong(final Element element, String attributeName, String stringValue) {
+        try {
+            return Long.parseLong(stringValue);
+        } catch (NumberFormatException conversionEx) {
+            throw new ElementDefinitionException(String.format(CONVERSION_EXPLANATION_FORMAT, stringValue, attributeName, element.getTagName(), long.class), conversionEx);
+        }
+    }
+
+    static double parseDouble(final Element element, String attributeName, String stringValue) {
+        try {
+            return Double.parseDouble(stringValue);
+        } catch (NumberFormatException conversionEx) {
+            throw new ElementDefinitionException(String.format(CONVERSION_EXPLANATION_FORMAT, stringValue, attributeName, element.getTagName(), double.class), conversionEx);
+        }
     }
 }
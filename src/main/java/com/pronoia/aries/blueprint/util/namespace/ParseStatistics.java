@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.namespace;
+
+import com.pronoia.aries.blueprint.timing.LatencyStatistics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+
+/**
+ * The parse statistics of a namespace handler - the invocation count, failure count, cumulative/maximum time and a
+ * latency histogram for each element handler.
+ */
+public class ParseStatistics implements ParseStatisticsMBean {
+    final AbstractNamespaceHandler namespaceHandler;
+    final ConcurrentMap<String, LatencyStatistics> elementStatistics = new ConcurrentHashMap<>();
+
+    ParseStatistics(AbstractNamespaceHandler namespaceHandler) {
+        this.namespaceHandler = namespaceHandler;
+    }
+
+    @Override
+    public String getNamespace() {
+        return namespaceHandler.getSchema();
+    }
+
+    @Override
+    public long getSlowParseThresholdMillis() {
+        return namespaceHandler.getSlowParseThresholdMillis();
+    }
+
+    @Override
+    public void setSlowParseThresholdMillis(long slowParseThresholdMillis) {
+        namespaceHandler.setSlowParseThresholdMillis(slowParseThresholdMillis);
+    }
+
+    /**
+     * Return the statistics for an element handler, creating them if required.
+     *
+     * @param elementName the name of the element handled by the element handler
+     *
+     * @return the statistics for the element handler
+     */
+    public LatencyStatistics getElementStatistics(String elementName) {
+        LatencyStatistics answer = elementStatistics.get(elementName);
+        if (answer == null) {
+            answer = elementStatistics.computeIfAbsent(elementName, LatencyStatistics::new);
+        }
+
+        return answer;
+    }
+
+    @Override
+    public Map<String, Long> getParseCounts() {
+        return collect(LatencyStatistics::getCount);
+    }
+
+    @Override
+    public Map<String, Long> getFailureCounts() {
+        return collect(LatencyStatistics::getErrorCount);
+    }
+
+    @Override
+    public Map<String, Long> getTotalParseTimesMicros() {
+        return collect(statistics -> TimeUnit.NANOSECONDS.toMicros(statistics.getTotalNanos()));
+    }
+
+    @Override
+    public Map<String, Double> getMeanParseTimesMicros() {
+        return collect(statistics -> statistics.getMean(TimeUnit.MICROSECONDS));
+    }
+
+    @Override
+    public Map<String, Long> getMaxParseTimesMicros() {
+        return collect(statistics -> TimeUnit.NANOSECONDS.toMicros(statistics.getMaxNanos()));
+    }
+
+    @Override
+    public long getParseTimePercentileMicros(String elementName, double percentile) {
+        LatencyStatistics statistics = elementStatistics.get(elementName);
+
+        return statistics != null ? TimeUnit.NANOSECONDS.toMicros(statistics.getPercentileNanos(percentile)) : 0;
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyStatistics statistics : elementStatistics.values()) {
+            statistics.reset();
+        }
+    }
+
+    <V> Map<String, V> collect(Function<LatencyStatistics, V> getter) {
+        Map<String, V> answer = new TreeMap<>();
+
+        for (Map.Entry<String, LatencyStatistics> entry : elementStatistics.entrySet()) {
+            answer.put(entry.getKey(), getter.apply(entry.getValue()));
+        }
+
+        return answer;
+    }
+}
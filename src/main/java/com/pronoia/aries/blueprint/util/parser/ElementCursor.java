@@ -0,0 +1,294 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.parser;
+
+import com.pronoia.aries.blueprint.util.convert.ConverterRegistry;
+import com.pronoia.aries.blueprint.util.placeholder.PlaceholderResolver;
+
+import javax.xml.namespace.QName;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+
+/**
+ * A forward-only cursor over the descendant {@link Element}s of a parent {@link Element}, in document order.
+ *
+ * The cursor walks the descendants using {@link Node#getFirstChild()} and {@link Node#getNextSibling()}, optionally
+ * skipping descendants that do not match a tag name or a namespace-qualified name.  The {@link ElementParser} returned by {@link #getParser()} is
+ * re-pointed at each descendant rather than re-created, so iterating does not allocate per descendant.
+ *
+ * NOTE:  Because the parser is re-used, it must not be retained after the cursor is advanced - use
+ * {@link #getElement()} to retain the descendant {@link Element}.
+ *
+ * Typical usage:
+ * <pre>
+ *     ElementCursor cursor = elementParser.getElementCursor("entry");
+ *     while (cursor.next()) {
+ *         String key = cursor.getParser().getAttribute("key");
+ *     }
+ * </pre>
+ */
+public final class ElementCursor {
+    Element parentElement;
+    String tagName;
+    QName name;
+
+    Element current;
+    boolean exhausted;
+
+    final boolean indexChildren;
+    PlaceholderResolver placeholderResolver;
+    ConverterRegistry converterRegistry;
+    ElementParser parser;
+
+    /**
+     * Construct a cursor over all the descendant {@link Element}s of the parent {@link Element}.
+     *
+     * @param parentElement The parent {@link Element}.
+     */
+    public ElementCursor(Element parentElement) {
+        this(parentElement, null, false);
+    }
+
+    /**
+     * Construct a cursor over the descendant {@link Element}s of the parent {@link Element} matching the specified tag name.
+     *
+     * @param parentElement The parent {@link Element}.
+     * @param tagName       The {@link Element} tag-name to match on - if null, all descendant elements are returned.
+     */
+    public ElementCursor(Element parentElement, String tagName) {
+        this(parentElement, tagName, false);
+    }
+
+    ElementCursor(Element parentElement, String tagName, boolean indexChildren) {
+        this.indexChildren = indexChildren;
+        reset(parentElement, tagName);
+    }
+
+    /**
+     * Construct a cursor over the descendant {@link Element}s of the parent {@link Element} matching the specified
+     * namespace-qualified name.
+     *
+     * @param parentElement The parent {@link Element}.
+     * @param name          The namespace-qualified name to match on.
+     * @param indexChildren If true, the parsers returned by the cursor will index their descendant elements.
+     *
+     * @return the cursor.
+     */
+    static ElementCursor forName(Element parentElement, QName name, boolean indexChildren) {
+        return new ElementCursor(parentElement, null, indexChildren).resetNS(parentElement, name);
+    }
+
+    /**
+     * Return the first descendant {@link Element} of a parent {@link Node} matching the specified tag name.
+     *
+     * @param parentNode The parent {@link Node}.
+     * @param tagName    The {@link Element} tag-name to match on - if null, any element matches.
+     *
+     * @return the first matching element, or null if there is no matching element.
+     */
+    static Element firstElement(Node parentNode, String tagName) {
+        return nextElement(parentNode.getFirstChild(), tagName);
+    }
+
+    /**
+     * Return the first {@link Element} matching the specified tag name, starting with the supplied {@link Node} and
+     * continuing with its following siblings.
+     *
+     * @param node    The starting {@link Node}, which may be null.
+     * @param tagName The {@link Element} tag-name to match on - if null, any element matches.
+     *
+     * @return the first matching element, or null if there is no matching element.
+     */
+    static Element nextElement(Node node, String tagName) {
+        for (Node candidate = node; candidate != null; candidate = candidate.getNextSibling()) {
+            if (Node.ELEMENT_NODE == candidate.getNodeType()) {
+                if (tagName == null || tagName.equals(((Element) candidate).getTagName())) {
+                    return (Element) candidate;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Return the first descendant {@link Element} of a parent {@link Node} matching the specified namespace-qualified name.
+     *
+     * @param parentNode The parent {@link Node}.
+     * @param name       The namespace-qualified name to match on.
+     *
+     * @return the first matching element, or null if there is no matching element.
+     */
+    static Element firstElementNS(Node parentNode, QName name) {
+        return nextElementNS(parentNode.getFirstChild(), name);
+    }
+
+    /**
+     * Return the first {@link Element} matching the specified namespace-qualified name, starting with the supplied
+     * {@link Node} and continuing with its following siblings.
+     *
+     * @param node The starting {@link Node}, which may be null.
+     * @param name The namespace-qualified name to match on.
+     *
+     * @return the first matching element, or null if there is no matching element.
+     */
+    static Element nextElementNS(Node node, QName name) {
+        for (Node candidate = node; candidate != null; candidate = candidate.getNextSibling()) {
+            if (Node.ELEMENT_NODE == candidate.getNodeType() && ElementNames.matches(candidate, name)) {
+                return (Element) candidate;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Re-position the cursor before the first descendant of a parent {@link Element}, so the cursor can be re-used.
+     *
+     * @param parentElement The parent {@link Element}.
+     *
+     * @return this cursor.
+     */
+    public ElementCursor reset(Element parentElement) {
+        return reset(parentElement, null);
+    }
+
+    /**
+     * Re-position the cursor before the first descendant of a parent {@link Element} matching the specified tag name,
+     * so the cursor can be re-used.
+     *
+     * @param parentElement The parent {@link Element}.
+     * @param tagName       The {@link Element} tag-name to match on - if null, all descendant elements are returned.
+     *
+     * @return this cursor.
+     */
+    public ElementCursor reset(Element parentElement, String tagName) {
+        if (parentElement == null) {
+            throw new IllegalArgumentException(String.format("ElementCursor(parentElement[null], tagName[%s]) - the parent element cannot be null", tagName));
+        }
+
+        this.parentElement = parentElement;
+        this.tagName = tagName;
+        this.name = null;
+        this.current = null;
+        this.exhausted = false;
+
+        return this;
+    }
+
+    /**
+     * Re-position the cursor before the first descendant of a parent {@link Element} matching the specified
+     * namespace-qualified name, so the cursor can be re-used.
+     *
+     * @param parentElement The parent {@link Element}.
+     * @param name          The namespace-qualified name to match on.
+     *
+     * @return this cursor.
+     */
+    public ElementCursor resetNS(Element parentElement, QName name) {
+        if (name == null) {
+            throw new IllegalArgumentException("ElementCursor.resetNS(parentElement, name[null]) - the name cannot be null");
+        }
+
+        reset(parentElement, null);
+        this.name = name;
+
+        return this;
+    }
+
+    /**
+     * Advance the cursor to the next matching descendant {@link Element}.
+     *
+     * @return true if the cursor is positioned on a descendant element; false if there are no more matching descendants.
+     */
+    public boolean next() {
+        if (exhausted) {
+            return false;
+        }
+
+        if (name != null) {
+            current = (current == null) ? firstElementNS(parentElement, name) : nextElementNS(current.getNextSibling(), name);
+        } else {
+            current = (current == null) ? firstElement(parentElement, tagName) : nextElement(current.getNextSibling(), tagName);
+        }
+        if (current == null) {
+            exhausted = true;
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Return the descendant {@link Element} the cursor is positioned on.
+     *
+     * @return the current descendant element.
+     *
+     * @throws IllegalStateException Raised if the cursor is not positioned on a descendant element.
+     */
+    public Element getElement() {
+        if (current == null) {
+            throw new IllegalStateException(String.format("ElementCursor(parentElement[%s], tagName[%s]) - the cursor is not positioned on a descendant element",
+                parentElement.getTagName(), name != null ? name : tagName));
+        }
+
+        return current;
+    }
+
+    /**
+     * Return an {@link ElementParser} for the descendant {@link Element} the cursor is positioned on.
+     *
+     * NOTE:  The same parser instance is returned for every descendant - it must not be retained after the cursor is advanced.
+     *
+     * @return the parser for the current descendant element.
+     *
+     * @throws IllegalStateException Raised if the cursor is not positioned on a descendant element.
+     */
+    public ElementParser getParser() {
+        Element currentElement = getElement();
+
+        if (parser == null) {
+            parser = new ElementParser(currentElement, indexChildren);
+            parser.placeholderResolver = placeholderResolver;
+            parser.converterRegistry = converterRegistry;
+        } else if (parser.element != currentElement) {
+            parser.init(currentElement);
+        }
+
+        return parser;
+    }
+
+    /**
+     * Return the tag name the cursor matches on.
+     *
+     * @return the tag name, or null if the cursor matches on a namespace-qualified name or returns all descendant elements.
+     */
+    public String getTagName() {
+        return tagName;
+    }
+
+    /**
+     * Return the namespace-qualified name the cursor matches on.
+     *
+     * @return the namespace-qualified name, or null if the cursor matches on a tag name or returns all descendant elements.
+     */
+    public QName getName() {
+        return name;
+    }
+}
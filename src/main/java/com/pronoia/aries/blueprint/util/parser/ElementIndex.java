@@ -0,0 +1,200 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.parser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.namespace.QName;
+
+import org.w3c.dom.Element;
+
+
+/**
+ * An index of the descendant {@link Element}s of a parent {@link Element}.
+ *
+ * The index holds the descendant elements in document order, along with the positions of the descendant elements for each
+ * tag name, so occurrence lookups are constant-time and per-tag lookups are proportional to the number of matches.
+ *
+ * The positions are also held for each namespace-qualified name, so lookups by name resolve prefixed and unprefixed
+ * documents equally fast.  The names are only computed on the first lookup by name, and are canonicalized within the
+ * index rather than interned by {@link ElementNames}, so indexing a document does not retain its names.
+ *
+ * NOTE:  The index is a snapshot of the parent {@link Element} at the time it was built - it will not reflect subsequent
+ * changes to the DOM.
+ */
+final class ElementIndex {
+    static final int[] NO_POSITIONS = new int[0];
+
+    final Element[] children;
+    final Map<String, int[]> positions;
+    Map<QName, int[]> namePositions;
+
+    ElementIndex(Element parentElement) {
+        List<Element> childList = new ArrayList<>();
+        Map<String, int[]> tagCounts = new LinkedHashMap<>();
+
+        for (Element childElement = ElementCursor.firstElement(parentElement, null); childElement != null; childElement = ElementCursor.nextElement(childElement.getNextSibling(), null)) {
+            childList.add(childElement);
+            increment(tagCounts, childElement.getTagName());
+        }
+
+        children = childList.toArray(new Element[childList.size()]);
+
+        positions = allocate(tagCounts, new LinkedHashMap<>(tagCounts.size() * 2));
+
+        for (int childIndex = 0; childIndex < children.length; ++childIndex) {
+            String childTagName = children[childIndex].getTagName();
+            positions.get(childTagName)[tagCounts.get(childTagName)[0]++] = childIndex;
+        }
+    }
+
+    /**
+     * Build the positions of the descendant {@link Element}s for each namespace-qualified name.
+     *
+     * @return the positions keyed by name.
+     */
+    Map<QName, int[]> buildNamePositions() {
+        Map<QName, int[]> nameCounts = new HashMap<>();
+
+        QName[] childNames = new QName[children.length];
+        for (int childIndex = 0; childIndex < children.length; ++childIndex) {
+            childNames[childIndex] = ElementNames.of(children[childIndex]);
+            increment(nameCounts, childNames[childIndex]);
+        }
+
+        Map<QName, int[]> answer = allocate(nameCounts, new HashMap<>(nameCounts.size() * 2));
+
+        for (int childIndex = 0; childIndex < children.length; ++childIndex) {
+            answer.get(childNames[childIndex])[nameCounts.get(childNames[childIndex])[0]++] = childIndex;
+        }
+
+        return answer;
+    }
+
+    static <K> void increment(Map<K, int[]> counts, K key) {
+        int[] count = counts.get(key);
+        if (count == null) {
+            counts.put(key, new int[] {1});
+        } else {
+            ++count[0];
+        }
+    }
+
+    static <K> Map<K, int[]> allocate(Map<K, int[]> counts, Map<K, int[]> answer) {
+        for (Map.Entry<K, int[]> count : counts.entrySet()) {
+            answer.put(count.getKey(), new int[count.getValue()[0]]);
+            // Reuse the counter as the fill-pointer for the second pass
+            count.getValue()[0] = 0;
+        }
+
+        return answer;
+    }
+
+    /**
+     * Return the number of descendant {@link Element}s.
+     *
+     * @return the number of descendant elements.
+     */
+    int size() {
+        return children.length;
+    }
+
+    /**
+     * Return the descendant {@link Element} at the specified position.
+     *
+     * @param position The zero-based position of the descendant element.
+     *
+     * @return The descendant element.
+     */
+    Element get(int position) {
+        return children[position];
+    }
+
+    /**
+     * Return the specified occurrence of the descendant {@link Element}s with the specified tag name.
+     *
+     * @param tagName    The {@link Element} tag-name to match on.
+     * @param occurrence The occurrence (zero-based) of the element to return.
+     *
+     * @return The descendant element, or null if the occurrence does not exist.
+     */
+    Element get(String tagName, int occurrence) {
+        int[] tagPositions = positions(tagName);
+
+        return occurrence < tagPositions.length ? children[tagPositions[occurrence]] : null;
+    }
+
+    /**
+     * Return the positions of the descendant {@link Element}s with the specified tag name, in document order.
+     *
+     * @param tagName The {@link Element} tag-name to match on.
+     *
+     * @return The positions of the matching elements, which may be empty.  The returned array must not be modified.
+     */
+    int[] positions(String tagName) {
+        int[] answer = positions.get(tagName);
+
+        return answer != null ? answer : NO_POSITIONS;
+    }
+
+    /**
+     * Return the specified occurrence of the descendant {@link Element}s with the specified namespace-qualified name.
+     *
+     * @param name       The namespace-qualified name to match on.
+     * @param occurrence The occurrence (zero-based) of the element to return.
+     *
+     * @return The descendant element, or null if the occurrence does not exist.
+     */
+    Element get(QName name, int occurrence) {
+        int[] namedPositions = positions(name);
+
+        return occurrence < namedPositions.length ? children[namedPositions[occurrence]] : null;
+    }
+
+    /**
+     * Return the positions of the descendant {@link Element}s with the specified namespace-qualified name, in document order.
+     *
+     * The prefix of the supplied name is ignored.
+     *
+     * @param name The namespace-qualified name to match on.
+     *
+     * @return The positions of the matching elements, which may be empty.  The returned array must not be modified.
+     */
+    int[] positions(QName name) {
+        if (namePositions == null) {
+            namePositions = buildNamePositions();
+        }
+
+        int[] answer = namePositions.get(name);
+
+        return answer != null ? answer : NO_POSITIONS;
+    }
+
+    /**
+     * Return the distinct tag names of the descendant {@link Element}s, in order of first occurrence.
+     *
+     * @return the tag names.
+     */
+    Set<String> tagNames() {
+        return positions.keySet();
+    }
+}
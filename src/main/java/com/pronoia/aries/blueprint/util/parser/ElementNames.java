@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.parser;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+
+import org.w3c.dom.Node;
+
+
+/**
+ * Utilities for the namespace-qualified names of {@link org.w3c.dom.Element}s and {@link org.w3c.dom.Attr}s.
+ *
+ * Names are matched on the namespace URI and local name, so the prefix used in the document does not matter - i.e.
+ * {@code util:whitelist-pattern} and {@code whitelist-pattern} in the default namespace match the same name.
+ *
+ * The names returned by {@link #intern(String, String)} are canonical - equal names are the same instance and do
+ * not have a prefix.  Handlers should intern the names they look up once, typically into static fields.  Lookups
+ * compare names with {@link QName#equals(Object)}, so an interned name is not required for a lookup.
+ *
+ * NOTE:  Interned names are never released, so only the names of a schema vocabulary should be interned - the names
+ * of document content are never interned by this class.
+ */
+public final class ElementNames {
+    static final ConcurrentMap<QName, QName> INTERNED_NAMES = new ConcurrentHashMap<>();
+
+    private ElementNames() {
+    }
+
+    /**
+     * Return the canonical instance of a namespace-qualified name.
+     *
+     * @param namespaceURI The namespace URI - null or empty for no namespace.
+     * @param localName    The local name.
+     *
+     * @return the canonical name.
+     */
+    public static QName intern(String namespaceURI, String localName) {
+        if (localName == null || localName.isEmpty()) {
+            String message = String.format("intern(namespaceURI[%s], localName[%s]) - localName cannot be null or empty", namespaceURI, localName);
+            throw new IllegalArgumentException(message);
+        }
+
+        QName name = new QName(namespaceURI != null ? namespaceURI : XMLConstants.NULL_NS_URI, localName);
+        QName answer = INTERNED_NAMES.putIfAbsent(name, name);
+
+        return answer != null ? answer : name;
+    }
+
+    /**
+     * Return the canonical instance of a namespace-qualified name.  The prefix of the supplied name is ignored.
+     *
+     * @param name The name.
+     *
+     * @return the canonical name, which is the supplied name if it is already canonical.
+     */
+    public static QName intern(QName name) {
+        if (name == null) {
+            throw new IllegalArgumentException("intern(name[null]) - name cannot be null");
+        }
+
+        QName answer = INTERNED_NAMES.get(name);
+        if (answer == null) {
+            answer = intern(name.getNamespaceURI(), name.getLocalPart());
+        }
+
+        return answer;
+    }
+
+    /**
+     * Return the namespace-qualified name of a {@link Node}.
+     *
+     * For documents that were not parsed namespace-aware, the node name is used as the local name with no namespace.
+     * The name does not have a prefix, so it is equal to the interned name, but it is not interned.
+     *
+     * @param node The {@link Node}.
+     *
+     * @return the name of the node.
+     */
+    public static QName of(Node node) {
+        if (node == null) {
+            throw new IllegalArgumentException("of(node[null]) - node cannot be null");
+        }
+
+        String localName = node.getLocalName();
+        String namespaceURI = node.getNamespaceURI();
+
+        return new QName(namespaceURI != null ? namespaceURI : XMLConstants.NULL_NS_URI, localName != null ? localName : node.getNodeName());
+    }
+
+    /**
+     * Determine if a {@link Node} has the specified namespace-qualified name.
+     *
+     * @param node The {@link Node}.
+     * @param name The name to match on.
+     *
+     * @return true if the namespace URI and local name of the node match the name.
+     */
+    public static boolean matches(Node node, QName name) {
+        String localName = node.getLocalName();
+        if (localName == null) {
+            localName = node.getNodeName();
+        }
+
+        if (!name.getLocalPart().equals(localName)) {
+            return false;
+        }
+
+        String namespaceURI = node.getNamespaceURI();
+
+        return name.getNamespaceURI().equals(namespaceURI != null ? namespaceURI : XMLConstants.NULL_NS_URI);
+    }
+}
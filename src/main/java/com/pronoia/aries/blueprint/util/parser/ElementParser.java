@@ -16,19 +16,28 @@
  */
 package com.pronoia.aries.blueprint.util.parser;
 
+import com.pronoia.aries.blueprint.util.convert.ConverterRegistry;
 import com.pronoia.aries.blueprint.util.namespace.ElementDefinitionException;
+import com.pronoia.aries.blueprint.util.placeholder.PlaceholderResolver;
+import com.pronoia.aries.blueprint.util.placeholder.PlaceholderTemplate;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+import javax.xml.namespace.QName;
 
 import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 
 /**
@@ -39,6 +48,12 @@ public class ElementParser {
 
     Element element;
 
+    boolean indexChildren;
+    ElementIndex childIndex;
+
+    PlaceholderResolver placeholderResolver;
+    ConverterRegistry converterRegistry;
+
     /**
      * Construct an element parser with the supplied {@link Element}.
      *
@@ -48,6 +63,23 @@ public class ElementParser {
         this.init(element);
     }
 
+    /**
+     * Construct an element parser with the supplied {@link Element}, optionally indexing the descendant elements.
+     *
+     * When indexChildren is true, the descendant {@link Element}s are indexed by tag name the first time they are
+     * requested, and subsequent lookups use the index rather than scanning the descendants again.  Parsers returned
+     * for descendant elements inherit this setting.
+     *
+     * NOTE:  The index is not updated if the DOM is modified after it is built.
+     *
+     * @param element       The source {@link Element}.
+     * @param indexChildren If true, index the descendant elements.
+     */
+    public ElementParser(Element element, boolean indexChildren) {
+        this.indexChildren = indexChildren;
+        this.init(element);
+    }
+
     public ElementParser(Element parentElement, String tagName) {
         init(parentElement, tagName, 0);
     }
@@ -76,6 +108,58 @@ public class ElementParser {
         return answer;
     }
 
+    /**
+     * Determine if the descendant {@link Element}s are indexed.
+     *
+     * @return true if the descendant elements are indexed; false otherwise.
+     */
+    public boolean isIndexChildren() {
+        return indexChildren;
+    }
+
+    /**
+     * Return the resolver for the placeholders in attribute values.
+     *
+     * @return the placeholder resolver, or null if attribute values are taken literally.
+     */
+    public PlaceholderResolver getPlaceholderResolver() {
+        return placeholderResolver;
+    }
+
+    /**
+     * Resolve {@code ${key}} and {@code ${key:default}} placeholders in attribute values with the supplied resolver.
+     * Parsers created for descendant elements inherit the resolver.
+     *
+     * NOTE:  Only attribute values are resolved - the {@link Attr} instances returned by {@link #getAttributes()} and
+     * {@link #getAttributeMap()} and the text content of elements are literal.
+     *
+     * @param placeholderResolver the placeholder resolver - if null, attribute values are taken literally.
+     */
+    public void setPlaceholderResolver(PlaceholderResolver placeholderResolver) {
+        this.placeholderResolver = placeholderResolver;
+    }
+
+    /**
+     * Return the registry used to convert attribute values.
+     *
+     * @return the configured converter registry, or the default registry if none is configured.
+     */
+    public ConverterRegistry getConverterRegistry() {
+        return converterRegistry != null ? converterRegistry : ConverterRegistry.getDefault();
+    }
+
+    /**
+     * Convert attribute values with the supplied registry.  Parsers created for descendant elements inherit the registry.
+     *
+     * The default registry loads classes with the class loader of this library, so namespace handlers in other bundles
+     * should supply a registry that uses their own class loader.
+     *
+     * @param converterRegistry the converter registry - if null, the default registry is used.
+     */
+    public void setConverterRegistry(ConverterRegistry converterRegistry) {
+        this.converterRegistry = converterRegistry;
+    }
+
     /**
      * Return the tag name of the source {@link Element}.
      *
@@ -107,14 +191,20 @@ public class ElementParser {
      * @return The text content of the source {@link Element}, which may be null.
      */
     public String getValue() {
-        NodeList children = element.getChildNodes();
+        return getTextValue(element);
+    }
 
-        if (children != null && children.getLength() > 0) {
-            for (int childNodeIndex = 0; childNodeIndex < children.getLength(); ++childNodeIndex) {
-                Node childNode = children.item(childNodeIndex);
-                if (Node.TEXT_NODE == childNode.getNodeType()) {
-                    return childNode.getNodeValue();
-                }
+    /**
+     * Return the text content of an {@link Element} - the value of its first text node.
+     *
+     * @param element The source {@link Element}.
+     *
+     * @return The text content of the {@link Element}, which may be null.
+     */
+    public static String getTextValue(Element element) {
+        for (Node childNode = element.getFirstChild(); childNode != null; childNode = childNode.getNextSibling()) {
+            if (Node.TEXT_NODE == childNode.getNodeType()) {
+                return childNode.getNodeValue();
             }
         }
 
@@ -144,6 +234,17 @@ public class ElementParser {
         return answer;
     }
 
+    /**
+     * Return the text content of the source {@link Element}, without throwing an exception if it is empty.
+     *
+     * @return the text content of the element, or empty if the element does not have content.
+     */
+    public Optional<String> tryGetValue() {
+        String answer = getValue();
+
+        return answer != null && !answer.isEmpty() ? Optional.of(answer) : Optional.empty();
+    }
+
     /**
      * Return the first descendant {@link Element} in the source {@link Element}.
      *
@@ -189,23 +290,17 @@ public class ElementParser {
             throw new IllegalArgumentException(message);
         }
 
-        NodeList children = element.getChildNodes();
-        int occurrenceCounter = -1;
-        if (children != null && children.getLength() > 0) {
-            for (int childIndex = 0; childIndex < children.getLength(); ++childIndex) {
-                Node child = children.item(childIndex);
-                if (Node.ELEMENT_NODE == child.getNodeType()) {
-                    Element childElement = (Element) child;
-                    if (childElement.getTagName().equals(tagName)) {
-                        if (++occurrenceCounter == occurrence) {
-                            return new ElementParser((Element) child);
-                        }
-                    }
-                }
-            }
+        if (indexChildren) {
+            Element childElement = getChildIndex().get(tagName, occurrence);
+            return childElement != null ? createChildParser(childElement) : null;
         }
 
-        return null;
+        Element childElement = ElementCursor.firstElement(element, tagName);
+        for (int occurrenceCounter = 0; childElement != null && occurrenceCounter < occurrence; ++occurrenceCounter) {
+            childElement = ElementCursor.nextElement(childElement.getNextSibling(), tagName);
+        }
+
+        return childElement != null ? createChildParser(childElement) : null;
     }
 
     /**
@@ -237,22 +332,49 @@ public class ElementParser {
         return answer;
     }
 
+    /**
+     * Return the first descendant {@link Element} in the source {@link Element}, without throwing an exception if it is not found.
+     *
+     * @param tagName The {@link Element} tag-name to match on.
+     *
+     * @return The descendant element, or empty if it is not found.
+     */
+    public Optional<ElementParser> tryGetElement(String tagName) {
+        return Optional.ofNullable(getElement(tagName, 0));
+    }
+
+    /**
+     * Return the specified occurrence of the descendant {@link Element} in the source {@link Element}, without throwing
+     * an exception if it is not found.
+     *
+     * @param tagName    The {@link Element} tag-name to match on.
+     * @param occurrence The occurrence (zero-based) of the element to return.
+     *
+     * @return The specified occurrence of the descendant element, or empty if it is not found.
+     */
+    public Optional<ElementParser> tryGetElement(String tagName, int occurrence) {
+        return Optional.ofNullable(getElement(tagName, occurrence));
+    }
+
     /**
      * Returns a {@link List} of all descendant {@link Element} instances in document order.
      *
      * @return A list of descendant elements, which may be empty.
      */
     public List<ElementParser> getElements() {
+        if (indexChildren) {
+            ElementIndex index = getChildIndex();
+            List<ElementParser> answer = new ArrayList<>(index.size());
+            for (int position = 0; position < index.size(); ++position) {
+                answer.add(createChildParser(index.get(position)));
+            }
+            return answer;
+        }
+
         List<ElementParser> answer = new LinkedList<>();
 
-        NodeList children = element.getChildNodes();
-        if (children != null && children.getLength() > 0) {
-            for (int childIndex = 0; childIndex < children.getLength(); ++childIndex) {
-                Node child = children.item(childIndex);
-                if (Node.ELEMENT_NODE == child.getNodeType()) {
-                    answer.add(new ElementParser((Element) child));
-                }
-            }
+        for (Element child = ElementCursor.firstElement(element, null); child != null; child = ElementCursor.nextElement(child.getNextSibling(), null)) {
+            answer.add(createChildParser(child));
         }
 
         return answer;
@@ -266,18 +388,21 @@ public class ElementParser {
      * @return A list of descendant elements matching the specified tag name, which may be empty.
      */
     public List<ElementParser> getElements(String tagName) {
+        if (indexChildren) {
+            ElementIndex index = getChildIndex();
+            int[] positions = index.positions(tagName);
+            List<ElementParser> answer = new ArrayList<>(positions.length);
+            for (int position : positions) {
+                answer.add(createChildParser(index.get(position)));
+            }
+            return answer;
+        }
+
         List<ElementParser> answer = new LinkedList<>();
 
-        NodeList children = element.getChildNodes();
-        if (children != null && children.getLength() > 0) {
-            for (int childIndex = 0; childIndex < children.getLength(); ++childIndex) {
-                Node child = children.item(childIndex);
-                if (Node.ELEMENT_NODE == child.getNodeType()) {
-                    Element childElement = (Element) child;
-                    if (childElement.getTagName().equals(tagName)) {
-                        answer.add(new ElementParser((Element) child));
-                    }
-                }
+        if (tagName != null) {
+            for (Element child = ElementCursor.firstElement(element, tagName); child != null; child = ElementCursor.nextElement(child.getNextSibling(), tagName)) {
+                answer.add(createChildParser(child));
             }
         }
 
@@ -312,25 +437,274 @@ public class ElementParser {
      * @return a map of descendant elements, which may be empty.
      */
     public Map<String, List<ElementParser>> getElementMap() {
+        if (indexChildren) {
+            ElementIndex index = getChildIndex();
+            Map<String, List<ElementParser>> answer = new LinkedHashMap<>(index.positions.size() * 2);
+            for (Map.Entry<String, int[]> tagPositions : index.positions.entrySet()) {
+                List<ElementParser> tmpElementList = new ArrayList<>(tagPositions.getValue().length);
+                for (int position : tagPositions.getValue()) {
+                    tmpElementList.add(createChildParser(index.get(position)));
+                }
+                answer.put(tagPositions.getKey(), tmpElementList);
+            }
+            return answer;
+        }
+
         Map<String, List<ElementParser>> answer = new LinkedHashMap<>();
 
-        NodeList children = element.getChildNodes();
-
-        if (children != null && children.getLength() > 0) {
-            for (int childIndex = 0; childIndex < children.getLength(); ++childIndex) {
-                Node child = children.item(childIndex);
-                if (Node.ELEMENT_NODE == child.getNodeType()) {
-                    Element childElement = (Element) child;
-                    String childTagName = childElement.getTagName();
-                    if (answer.containsKey(childTagName)) {
-                        answer.get(childTagName).add(new ElementParser(childElement));
-                    } else {
-                        List<ElementParser> tmpElementList = new LinkedList<>();
-                        tmpElementList.add(new ElementParser(childElement));
-                        answer.put(childTagName, tmpElementList);
-                    }
-                }
+        for (Element childElement = ElementCursor.firstElement(element, null); childElement != null; childElement = ElementCursor.nextElement(childElement.getNextSibling(), null)) {
+            String childTagName = childElement.getTagName();
+            List<ElementParser> tmpElementList = answer.get(childTagName);
+            if (tmpElementList == null) {
+                tmpElementList = new LinkedList<>();
+                answer.put(childTagName, tmpElementList);
+            }
+            tmpElementList.add(createChildParser(childElement));
+        }
+
+        return answer;
+    }
+
+    /**
+     * Returns a cursor over all the descendant {@link Element}s in document order.
+     *
+     * The cursor re-uses a single {@link ElementParser} for every descendant, so it should be preferred over {@link #getElements()}
+     * when the descendants are only iterated once.
+     *
+     * @return A cursor positioned before the first descendant element.
+     */
+    public ElementCursor getElementCursor() {
+        return initCursor(new ElementCursor(element, null, indexChildren));
+    }
+
+    /**
+     * Returns a cursor over the descendant {@link Element}s, matching the specified tag name, in document order.
+     *
+     * The cursor re-uses a single {@link ElementParser} for every descendant, so it should be preferred over {@link #getElements(String)}
+     * when the descendants are only iterated once.
+     *
+     * @param tagName The {@link Element} tag-name to match on.
+     *
+     * @return A cursor positioned before the first matching descendant element.
+     */
+    public ElementCursor getElementCursor(String tagName) {
+        if (tagName == null || tagName.isEmpty()) {
+            String message = String.format("getElementCursor(tagName[%s]) - tagName cannot be null or empty {element = '%s' document = '%s'}", tagName, getTagName(), getOwnerDocumentURI());
+            throw new IllegalArgumentException(message);
+        }
+
+        return initCursor(new ElementCursor(element, tagName, indexChildren));
+    }
+
+    /**
+     * Return the namespace-qualified name of the source {@link Element}.
+     *
+     * @return the name of the element, which is equal to the name interned by {@link ElementNames}.
+     */
+    public QName getName() {
+        return ElementNames.of(element);
+    }
+
+    /**
+     * Return an immutable snapshot of the source {@link Element} subtree, which can be shared across threads.
+     *
+     * Attribute placeholders are resolved with the configured {@link PlaceholderResolver} when the snapshot is taken.
+     *
+     * @return the snapshot of the element subtree.
+     */
+    public ElementSnapshot snapshot() {
+        return ElementSnapshot.of(this);
+    }
+
+    /**
+     * Return the first descendant {@link Element} matching the specified namespace-qualified name.
+     *
+     * @param name The namespace-qualified name to match on - the prefix used in the document does not matter.
+     *
+     * @return The descendant element, or null if no matching descendant is found.
+     */
+    public ElementParser getElementNS(QName name) {
+        return getElementNS(name, 0);
+    }
+
+    /**
+     * Return the specified occurrence of the descendant {@link Element} matching the specified namespace-qualified name.
+     *
+     * @param name       The namespace-qualified name to match on - the prefix used in the document does not matter.
+     * @param occurrence The occurrence (zero-based) of the element to return.
+     *
+     * @return The specified occurrence of the descendant element, or null if it is not found.
+     */
+    public ElementParser getElementNS(QName name, int occurrence) {
+        if (name == null) {
+            String message = String.format("getElementNS(name[null], occurrence[%d]) - name cannot be null {element = '%s' document = '%s'}", occurrence, getTagName(), getOwnerDocumentURI());
+            throw new IllegalArgumentException(message);
+        }
+
+        if (occurrence < 0) {
+            String message = String.format("getElementNS(name[%s], occurrence[%d]) - occurrence cannot be less than zero {element = '%s' document = '%s'}",
+                name, occurrence, getTagName(), getOwnerDocumentURI());
+            throw new IllegalArgumentException(message);
+        }
+
+        if (indexChildren) {
+            Element childElement = getChildIndex().get(name, occurrence);
+            return childElement != null ? createChildParser(childElement) : null;
+        }
+
+        Element childElement = ElementCursor.firstElementNS(element, name);
+        for (int occurrenceCounter = 0; childElement != null && occurrenceCounter < occurrence; ++occurrenceCounter) {
+            childElement = ElementCursor.nextElementNS(childElement.getNextSibling(), name);
+        }
+
+        return childElement != null ? createChildParser(childElement) : null;
+    }
+
+    /**
+     * Returns a {@link List} of descendant {@link Element} instances, matching the specified namespace-qualified name, in document order.
+     *
+     * @param name The namespace-qualified name to match on - the prefix used in the document does not matter.
+     *
+     * @return A list of descendant elements matching the specified name, which may be empty.
+     */
+    public List<ElementParser> getElementsNS(QName name) {
+        if (name == null) {
+            String message = String.format("getElementsNS(name[null]) - name cannot be null {element = '%s' document = '%s'}", getTagName(), getOwnerDocumentURI());
+            throw new IllegalArgumentException(message);
+        }
+
+        if (indexChildren) {
+            ElementIndex index = getChildIndex();
+            int[] positions = index.positions(name);
+            List<ElementParser> answer = new ArrayList<>(positions.length);
+            for (int position : positions) {
+                answer.add(createChildParser(index.get(position)));
             }
+            return answer;
+        }
+
+        List<ElementParser> answer = new LinkedList<>();
+
+        for (Element child = ElementCursor.firstElementNS(element, name); child != null; child = ElementCursor.nextElementNS(child.getNextSibling(), name)) {
+            answer.add(createChildParser(child));
+        }
+
+        return answer;
+    }
+
+    /**
+     * Returns a cursor over the descendant {@link Element}s, matching the specified namespace-qualified name, in document order.
+     *
+     * @param name The namespace-qualified name to match on - the prefix used in the document does not matter.
+     *
+     * @return A cursor positioned before the first matching descendant element.
+     */
+    public ElementCursor getElementCursorNS(QName name) {
+        if (name == null) {
+            String message = String.format("getElementCursorNS(name[null]) - name cannot be null {element = '%s' document = '%s'}", getTagName(), getOwnerDocumentURI());
+            throw new IllegalArgumentException(message);
+        }
+
+        return initCursor(ElementCursor.forName(element, name, indexChildren));
+    }
+
+    /**
+     * Return the value of an {@link Attr} in the {@link Element} with the specified namespace-qualified name.
+     *
+     * Unprefixed attributes are not in a namespace, so they are matched with a name that has no namespace URI.
+     *
+     * @param name The namespace-qualified name of the attribute.
+     *
+     * @return the value of the attribute, or null if the attribute was not found in the element.
+     */
+    public String getAttributeNS(QName name) {
+        if (name == null) {
+            String message = String.format("getAttributeNS(name[null]) - name cannot be null {element = '%s' document = '%s'}", getTagName(), getOwnerDocumentURI());
+            throw new IllegalArgumentException(message);
+        }
+
+        String namespaceURI = name.getNamespaceURI();
+        Attr attr = element.getAttributeNodeNS(namespaceURI.isEmpty() ? null : namespaceURI, name.getLocalPart());
+
+        return attr != null ? resolvePlaceholders(attr.getName(), attr.getValue()) : null;
+    }
+
+    /**
+     * Return the descendant {@link Element} selected by a compiled path.
+     *
+     * @param path The compiled path - for attribute paths, the element that owns the attribute is returned.
+     *
+     * @return The selected element, or null if it is not found.
+     */
+    public ElementParser selectElement(ElementPath path) {
+        if (path == null) {
+            String message = String.format("selectElement(path[null]) - path cannot be null {element = '%s' document = '%s'}", getTagName(), getOwnerDocumentURI());
+            throw new IllegalArgumentException(message);
+        }
+
+        Element selectedElement = path.selectElement(element, indexChildren ? getChildIndex() : null);
+
+        return selectedElement != null ? createChildParser(selectedElement) : null;
+    }
+
+    /**
+     * Return the descendant {@link Element}s matched by the last step of a compiled path, in document order.
+     *
+     * @param path The compiled path, which must end with an element step.
+     *
+     * @return A list of the selected elements, which may be empty.
+     */
+    public List<ElementParser> selectElements(ElementPath path) {
+        if (path == null) {
+            String message = String.format("selectElements(path[null]) - path cannot be null {element = '%s' document = '%s'}", getTagName(), getOwnerDocumentURI());
+            throw new IllegalArgumentException(message);
+        }
+
+        List<Element> selectedElements = path.selectElements(element, indexChildren ? getChildIndex() : null);
+        List<ElementParser> answer = new ArrayList<>(selectedElements.size());
+        for (Element selectedElement : selectedElements) {
+            answer.add(createChildParser(selectedElement));
+        }
+
+        return answer;
+    }
+
+    /**
+     * Return the value selected by a compiled path - the attribute value for attribute paths, otherwise the text content
+     * of the selected {@link Element}.  No intermediate parsers are created.
+     *
+     * @param path The compiled path.
+     *
+     * @return The selected value, or null if it is not found.
+     */
+    public String selectValue(ElementPath path) {
+        if (path == null) {
+            String message = String.format("selectValue(path[null]) - path cannot be null {element = '%s' document = '%s'}", getTagName(), getOwnerDocumentURI());
+            throw new IllegalArgumentException(message);
+        }
+
+        String answer = path.selectValue(element, indexChildren ? getChildIndex() : null);
+
+        return path.isAttributePath() ? resolvePlaceholders(path.attributeName, answer) : answer;
+    }
+
+    /**
+     * Return the value selected by a compiled path.
+     *
+     * @param path         The compiled path.
+     * @param requireValue If true, the path must select a value or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return The selected value, or null if it is not found.
+     *
+     * @throws ElementDefinitionException Raised if requireValue is true and the path does not select a value.
+     */
+    public String selectValue(ElementPath path, boolean requireValue) {
+        String answer = selectValue(path);
+
+        if (requireValue && answer == null) {
+            String explanation = String.format("Path '%s' not found {element = '%s' document = '%s'}", path, getTagName(), getOwnerDocumentURI());
+
+            throw new ElementDefinitionException(explanation);
         }
 
         return answer;
@@ -346,10 +720,10 @@ public class ElementParser {
     public List<String> getElementValues(String tagName) {
         List<String> answer = new LinkedList<>();
 
-        List<ElementParser> elements = getElements(tagName);
-        if (elements != null && !elements.isEmpty()) {
-            for (ElementParser element : elements) {
-                String value = element.getValue();
+        if (tagName != null) {
+            ElementCursor cursor = new ElementCursor(element, tagName);
+            while (cursor.next()) {
+                String value = cursor.getParser().getValue();
                 if (value != null && !value.isEmpty()) {
                     answer.add(value);
                 }
@@ -431,7 +805,7 @@ public class ElementParser {
         if (attributes != null && attributes.getLength() > 0) {
             for (int attributeIndex = 0; attributeIndex < attributes.getLength(); ++attributeIndex) {
                 Attr attr = (Attr) attributes.item(attributeIndex);
-                answer.put(attr.getName(), attr.getValue());
+                answer.put(attr.getName(), resolvePlaceholders(attr.getName(), attr.getValue()));
             }
         }
 
@@ -457,7 +831,7 @@ public class ElementParser {
                 String message = String.format("getAttribute(attributeName[%s]) - Element.getAttributeNode(attributeName) failed after Element.hasAttribute(attributeName) returned true {element = '%s' document = '%s'}", attributeName, getTagName(), getOwnerDocumentURI());
                 throw new IllegalStateException(message);
             }
-            return attr.getValue();
+            return resolvePlaceholders(attributeName, attr.getValue());
         }
 
         return null;
@@ -485,6 +859,32 @@ public class ElementParser {
         return answer;
     }
 
+    /**
+     * Return the value of an {@link Attr} in the {@link Element}, without throwing an exception if it is not found.
+     *
+     * @param attributeName Then name of the attribute the return.
+     *
+     * @return the value of the attribute, or empty if the attribute was not found in the element.
+     */
+    public Optional<String> tryGetAttribute(String attributeName) {
+        return Optional.ofNullable(lookupAttribute("tryGetAttribute", attributeName));
+    }
+
+    /**
+     * Return the value of an {@link Attr} in the {@link Element}, converted with the configured {@link ConverterRegistry},
+     * without throwing an exception if it is not found or cannot be converted.
+     *
+     * @param attributeName Then name of the attribute the return.
+     * @param type          The type to convert the attribute value to.
+     * @param <T>           The type to convert the attribute value to.
+     *
+     * @return the converted value of the attribute, or empty if the attribute was not found in the element or its value
+     *         cannot be converted to the type.
+     */
+    public <T> Optional<T> tryGetAttribute(String attributeName, Class<T> type) {
+        return getConverterRegistry().tryConvert(lookupAttribute("tryGetAttribute", attributeName), type);
+    }
+
     /**
      * Return the {@link Boolean} value of an {@link Attr} in the source {@link Element}.
      *
@@ -494,9 +894,7 @@ public class ElementParser {
      * @return The {@link Boolean} value of the attribute, or null if the attribute was not found in the element.
      */
     public Boolean getBooleanAttribute(final String attributeName, boolean requireAttribute) {
-        String stringValue = getAttribute(attributeName, requireAttribute);
-
-        return stringValue != null ? Boolean.valueOf(stringValue) : null;
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Boolean.class);
     }
 
     /**
@@ -520,19 +918,7 @@ public class ElementParser {
      * @return The {@link Byte} value of the attribute, or null if the attribute was not found in the element.
      */
     public Byte getByteAttribute(final String attributeName, boolean requireAttribute) {
-        String stringValue = getAttribute(attributeName, requireAttribute);
-
-        Byte answer = null;
-
-        if (stringValue != null) {
-            try {
-                answer = Byte.valueOf(stringValue);
-            } catch (Exception conversionEx) {
-                throw new ElementDefinitionException(String.format(ATTRIBUTE_CONVERSION_FAILURE_EXPLANATION_FORMAT, attributeName, stringValue, Byte.class, getTagName(), getOwnerDocumentURI()), conversionEx);
-            }
-        }
-
-        return answer;
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Byte.class);
     }
 
     /**
@@ -544,19 +930,7 @@ public class ElementParser {
      * @return The {@link Short} value of the attribute, or null if the attribute was not found in the element.
      */
     public Short getShortAttribute(final String attributeName, boolean requireAttribute) {
-        String stringValue = getAttribute(attributeName, requireAttribute);
-
-        Short answer = null;
-
-        if (stringValue != null) {
-            try {
-                answer = Short.valueOf(stringValue);
-            } catch (Exception conversionEx) {
-                throw new ElementDefinitionException(String.format(ATTRIBUTE_CONVERSION_FAILURE_EXPLANATION_FORMAT, attributeName, stringValue, Short.class, getTagName(), getOwnerDocumentURI()), conversionEx);
-            }
-        }
-
-        return answer;
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Short.class);
     }
 
     /**
@@ -568,19 +942,7 @@ public class ElementParser {
      * @return The {@link Integer} value of the attribute, or null if the attribute was not found in the element.
      */
     public Integer getIntegerAttribute(final String attributeName, boolean requireAttribute) {
-        String stringValue = getAttribute(attributeName, requireAttribute);
-
-        Integer answer = null;
-
-        if (stringValue != null) {
-            try {
-                answer = Integer.valueOf(stringValue);
-            } catch (Exception conversionEx) {
-                throw new ElementDefinitionException(String.format(ATTRIBUTE_CONVERSION_FAILURE_EXPLANATION_FORMAT, attributeName, stringValue, Integer.class, getTagName(), getOwnerDocumentURI()), conversionEx);
-            }
-        }
-
-        return answer;
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Integer.class);
     }
 
     /**
@@ -592,19 +954,7 @@ public class ElementParser {
      * @return The {@link Long} value of the attribute, or null if the attribute was not found in the element.
      */
     public Long getLongAttribute(final String attributeName, boolean requireAttribute) {
-        String stringValue = getAttribute(attributeName, requireAttribute);
-
-        Long answer = null;
-
-        if (stringValue != null) {
-            try {
-                answer = Long.valueOf(stringValue);
-            } catch (Exception conversionEx) {
-                throw new ElementDefinitionException(String.format(ATTRIBUTE_CONVERSION_FAILURE_EXPLANATION_FORMAT, attributeName, stringValue, Long.class, getTagName(), getOwnerDocumentURI()), conversionEx);
-            }
-        }
-
-        return answer;
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Long.class);
     }
 
     /**
@@ -616,19 +966,7 @@ public class ElementParser {
      * @return The {@link Float} value of the attribute, or null if the attribute was not found in the element.
      */
     public Float getFloatAttribute(final String attributeName, boolean requireAttribute) {
-        String stringValue = getAttribute(attributeName, requireAttribute);
-
-        Float answer = null;
-
-        if (stringValue != null) {
-            try {
-                answer = Float.valueOf(stringValue);
-            } catch (Exception conversionEx) {
-                throw new ElementDefinitionException(String.format(ATTRIBUTE_CONVERSION_FAILURE_EXPLANATION_FORMAT, attributeName, stringValue, Float.class, getTagName(), getOwnerDocumentURI()), conversionEx);
-            }
-        }
-
-        return answer;
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Float.class);
     }
 
     /**
@@ -640,19 +978,245 @@ public class ElementParser {
      * @return The {@link Double} value of the attribute, or null if the attribute was not found in the element.
      */
     public Double getDoubleAttribute(final String attributeName, boolean requireAttribute) {
-        String stringValue = getAttribute(attributeName, requireAttribute);
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Double.class);
+    }
 
-        Double answer = null;
+    /**
+     * Return the value of an {@link Attr} in the source {@link Element}, converted with the configured {@link ConverterRegistry}.
+     *
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param type             The type to convert the attribute value to - i.e. {@link java.time.Duration} or {@link java.util.regex.Pattern}.
+     * @param requireAttribute If true, the attribute must exist and its value must convertible to the type or an {@link ElementDefinitionException} will be thrown.
+     * @param <T>              The type to convert the attribute value to.
+     *
+     * @return The converted value of the attribute, or null if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to the type.
+     */
+    public <T> T getAttribute(final String attributeName, Class<T> type, boolean requireAttribute) {
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), type);
+    }
 
-        if (stringValue != null) {
-            try {
-                answer = Double.valueOf(stringValue);
-            } catch (Exception conversionEx) {
-                throw new ElementDefinitionException(String.format(ATTRIBUTE_CONVERSION_FAILURE_EXPLANATION_FORMAT, attributeName, stringValue, Double.class, getTagName(), getOwnerDocumentURI()), conversionEx);
-            }
+    /**
+     * Return the boolean value of an {@link Attr} in the source {@link Element}, or a default value if the attribute is not found.
+     *
+     * The attribute is looked-up once and the value is converted using the same rules as {@link Boolean#parseBoolean(String)}.
+     *
+     * @param attributeName Then name of the attribute the return the value of.
+     * @param defaultValue  The value to return if the attribute is not found in the element.
+     *
+     * @return The boolean value of the attribute, or the default value if the attribute was not found in the element.
+     */
+    public boolean getBoolean(final String attributeName, boolean defaultValue) {
+        String stringValue = lookupAttribute("getBoolean", attributeName);
+
+        return stringValue != null ? Boolean.parseBoolean(stringValue) : defaultValue;
+    }
+
+    /**
+     * Return the int value of an {@link Attr} in the source {@link Element}, or a default value if the attribute is not found.
+     *
+     * @param attributeName Then name of the attribute the return the value of.
+     * @param defaultValue  The value to return if the attribute is not found in the element.
+     *
+     * @return The int value of the attribute, or the default value if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to an int.
+     */
+    public int getInt(final String attributeName, int defaultValue) {
+        String stringValue = lookupAttribute("getInt", attributeName);
+
+        return stringValue != null ? parseInt(attributeName, stringValue) : defaultValue;
+    }
+
+    /**
+     * Return the long value of an {@link Attr} in the source {@link Element}, or a default value if the attribute is not found.
+     *
+     * @param attributeName Then name of the attribute the return the value of.
+     * @param defaultValue  The value to return if the attribute is not found in the element.
+     *
+     * @return The long value of the attribute, or the default value if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to a long.
+     */
+    public long getLong(final String attributeName, long defaultValue) {
+        String stringValue = lookupAttribute("getLong", attributeName);
+
+        return stringValue != null ? parseLong(attributeName, stringValue) : defaultValue;
+    }
+
+    /**
+     * Return the double value of an {@link Attr} in the source {@link Element}, or a default value if the attribute is not found.
+     *
+     * @param attributeName Then name of the attribute the return the value of.
+     * @param defaultValue  The value to return if the attribute is not found in the element.
+     *
+     * @return The double value of the attribute, or the default value if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to a double.
+     */
+    public double getDouble(final String attributeName, double defaultValue) {
+        String stringValue = lookupAttribute("getDouble", attributeName);
+
+        return stringValue != null ? parseDouble(attributeName, stringValue) : defaultValue;
+    }
+
+    /**
+     * Return the int value of an {@link Attr} in the source {@link Element}.
+     *
+     * @param attributeName Then name of the attribute the return the value of.
+     *
+     * @return The int value of the attribute, or an empty {@link OptionalInt} if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to an int.
+     */
+    public OptionalInt getOptionalInt(final String attributeName) {
+        String stringValue = lookupAttribute("getOptionalInt", attributeName);
+
+        return stringValue != null ? OptionalInt.of(parseInt(attributeName, stringValue)) : OptionalInt.empty();
+    }
+
+    /**
+     * Return the long value of an {@link Attr} in the source {@link Element}.
+     *
+     * @param attributeName Then name of the attribute the return the value of.
+     *
+     * @return The long value of the attribute, or an empty {@link OptionalLong} if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to a long.
+     */
+    public OptionalLong getOptionalLong(final String attributeName) {
+        String stringValue = lookupAttribute("getOptionalLong", attributeName);
+
+        return stringValue != null ? OptionalLong.of(parseLong(attributeName, stringValue)) : OptionalLong.empty();
+    }
+
+    /**
+     * Return the double value of an {@link Attr} in the source {@link Element}.
+     *
+     * @param attributeName Then name of the attribute the return the value of.
+     *
+     * @return The double value of the attribute, or an empty {@link OptionalDouble} if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to a double.
+     */
+    public OptionalDouble getOptionalDouble(final String attributeName) {
+        String stringValue = lookupAttribute("getOptionalDouble", attributeName);
+
+        return stringValue != null ? OptionalDouble.of(parseDouble(attributeName, stringValue)) : OptionalDouble.empty();
+    }
+
+    /**
+     * Return the value of an {@link Attr} in the {@link Element} using a single lookup.
+     *
+     * @param methodName    The name of the calling method, used in the exception message.
+     * @param attributeName Then name of the attribute the return.
+     *
+     * @return the value of the attribute, or null if the attribute was not found in the element.
+     */
+    String lookupAttribute(String methodName, String attributeName) {
+        if (attributeName == null || attributeName.isEmpty()) {
+            String message = String.format("%s(attributeName[%s]) - attributeName cannot be null or empty {element = '%s' document = '%s'}", methodName, attributeName, getTagName(), getOwnerDocumentURI());
+            throw new IllegalArgumentException(message);
         }
 
-        return answer;
+        Attr attr = element.getAttributeNode(attributeName);
+
+        return attr != null ? resolvePlaceholders(attributeName, attr.getValue()) : null;
+    }
+
+    int parseInt(String attributeName, String stringValue) {
+        try {
+            return Integer.parseInt(stringValue);
+        } catch (NumberFormatException conversionEx) {
+            throw new ElementDefinitionException(String.format(ATTRIBUTE_CONVERSION_FAILURE_EXPLANATION_FORMAT, attributeName, stringValue, int.class, getTagName(), getOwnerDocumentURI()), conversionEx);
+        }
+    }
+
+    long parseLong(String attributeName, String stringValue) {
+        try {
+            return Long.parseLong(stringValue);
+        } catch (NumberFormatException conversionEx) {
+            throw new ElementDefinitionException(String.format(ATTRIBUTE_CONVERSION_FAILURE_EXPLANATION_FORMAT, attributeName, stringValue, long.class, getTagName(), getOwnerDocumentURI()), conversionEx);
+        }
+    }
+
+    double parseDouble(String attributeName, String stringValue) {
+        try {
+            return Double.parseDouble(stringValue);
+        } catch (NumberFormatException conversionEx) {
+            throw new ElementDefinitionException(String.format(ATTRIBUTE_CONVERSION_FAILURE_EXPLANATION_FORMAT, attributeName, stringValue, double.class, getTagName(), getOwnerDocumentURI()), conversionEx);
+        }
+    }
+
+    /**
+     * Return the index of the descendant {@link Element}s, building it if necessary.
+     *
+     * @return the index of the descendant elements.
+     */
+    ElementIndex getChildIndex() {
+        if (childIndex == null) {
+            childIndex = new ElementIndex(element);
+        }
+
+        return childIndex;
+    }
+
+    /**
+     * Create a parser for a descendant {@link Element}, which inherits the configuration of this parser.
+     *
+     * @param childElement The descendant {@link Element}.
+     *
+     * @return the parser for the descendant element.
+     */
+    ElementParser createChildParser(Element childElement) {
+        ElementParser childParser = new ElementParser(childElement, indexChildren);
+        childParser.placeholderResolver = placeholderResolver;
+        childParser.converterRegistry = converterRegistry;
+
+        return childParser;
+    }
+
+    /**
+     * Configure a cursor over the descendant {@link Element}s so its parsers inherit the configuration of this parser.
+     *
+     * @param cursor The cursor.
+     *
+     * @return the cursor.
+     */
+    ElementCursor initCursor(ElementCursor cursor) {
+        cursor.placeholderResolver = placeholderResolver;
+        cursor.converterRegistry = converterRegistry;
+
+        return cursor;
+    }
+
+    <T> T convertAttribute(String attributeName, String stringValue, Class<T> type) {
+        try {
+            return getConverterRegistry().convert(stringValue, type);
+        } catch (IllegalArgumentException conversionEx) {
+            Throwable cause = conversionEx.getCause() != null ? conversionEx.getCause() : conversionEx;
+            throw new ElementDefinitionException(String.format(ATTRIBUTE_CONVERSION_FAILURE_EXPLANATION_FORMAT, attributeName, stringValue, type, getTagName(), getOwnerDocumentURI()), cause);
+        }
+    }
+
+    /**
+     * Resolve the placeholders in an attribute value, if a {@link PlaceholderResolver} is configured.
+     *
+     * Placeholders without a default value that cannot be resolved are left in the value, so they can be resolved by
+     * a container-time property placeholder.
+     *
+     * @param attributeName  The name of the attribute.
+     * @param attributeValue The literal attribute value, which may be null.
+     *
+     * @return the resolved attribute value.
+     */
+    String resolvePlaceholders(String attributeName, String attributeValue) {
+        if (placeholderResolver == null || !PlaceholderTemplate.hasPlaceholders(attributeValue)) {
+            return attributeValue;
+        }
+
+        return PlaceholderTemplate.compile(attributeValue).resolve(placeholderResolver, true);
     }
 
     void init(Element element) {
@@ -661,6 +1225,7 @@ public class ElementParser {
         }
 
         this.element = element;
+        this.childIndex = null;
     }
 
     void init(Element parentElement, String tagName, int occurrence) {
@@ -682,17 +1247,12 @@ public class ElementParser {
             throw new IllegalArgumentException(message);
         }
 
-        NodeList childNodes = parentElement.getChildNodes();
-        int occurrenceCounter = -1;
-        if (childNodes != null && childNodes.getLength() > 0) {
-            for (int childIndex = 0; childIndex < childNodes.getLength(); ++childIndex) {
-                Node childNode = childNodes.item(childIndex);
-                if (Node.ELEMENT_NODE == childNode.getNodeType()) {
-                    Element childElement = (Element) childNode;
-                    if (tagName.equals(childElement.getTagName()) && occurrence == ++occurrenceCounter) {
-                        init(childElement);
-                        return;
-                    }
+        if (parentElement.hasChildNodes()) {
+            int occurrenceCounter = -1;
+            for (Element childElement = ElementCursor.firstElement(parentElement, tagName); childElement != null; childElement = ElementCursor.nextElement(childElement.getNextSibling(), tagName)) {
+                if (occurrence == ++occurrenceCounter) {
+                    init(childElement);
+                    return;
                 }
             }
             String message = String.format("ElementParser(parentElement[%s], tagName[%s], occurrence[%d]) - insufficient number of descendant elements [%d] found in parent element {document = '%s'}",
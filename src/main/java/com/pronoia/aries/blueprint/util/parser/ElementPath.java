@@ -0,0 +1,282 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+
+
+/**
+ * A compiled path to a descendant {@link Element} or {@link Attr}, relative to a context {@link Element}.
+ *
+ * The path syntax is a small subset of XPath:
+ * <ul>
+ *     <li>steps are separated by '/' and match the tag name of a descendant element, or any element for '*'</li>
+ *     <li>a step may select an occurrence with a one-based predicate - i.e. {@code entry[2]}; without a predicate the
+ *     first occurrence is used when navigating</li>
+ *     <li>the last step may be an attribute - i.e. {@code @key}</li>
+ * </ul>
+ * For example, {@code service/properties/entry[2]/@key} selects the 'key' attribute of the second 'entry' element.
+ *
+ * Evaluating a path walks the DOM directly, so no intermediate {@link ElementParser}s are created.  Paths are
+ * immutable, so they should be compiled once and held in static fields.
+ */
+public final class ElementPath {
+    static final String WILDCARD = "*";
+    static final int FIRST_OCCURRENCE = -1;
+
+    final String expression;
+    final String[] tagNames;
+    final int[] occurrences;
+    final String attributeName;
+
+    ElementPath(String expression, String[] tagNames, int[] occurrences, String attributeName) {
+        this.expression = expression;
+        this.tagNames = tagNames;
+        this.occurrences = occurrences;
+        this.attributeName = attributeName;
+    }
+
+    /**
+     * Compile a path expression.
+     *
+     * @param expression The path expression.
+     *
+     * @return the compiled path.
+     *
+     * @throws IllegalArgumentException Raised if the expression is null, empty or invalid.
+     */
+    public static ElementPath compile(String expression) {
+        if (expression == null || expression.isEmpty()) {
+            String message = String.format("compile(expression[%s]) - expression cannot be null or empty", expression);
+            throw new IllegalArgumentException(message);
+        }
+
+        String[] steps = expression.split("/", -1);
+        String attributeName = null;
+        int elementStepCount = steps.length;
+
+        if (steps[steps.length - 1].startsWith("@")) {
+            attributeName = steps[steps.length - 1].substring(1);
+            if (attributeName.isEmpty()) {
+                throw invalidExpression(expression, "the attribute name cannot be empty");
+            }
+            --elementStepCount;
+        }
+
+        String[] tagNames = new String[elementStepCount];
+        int[] occurrences = new int[elementStepCount];
+
+        for (int stepIndex = 0; stepIndex < elementStepCount; ++stepIndex) {
+            String step = steps[stepIndex];
+            int predicateStart = step.indexOf('[');
+
+            if (predicateStart < 0) {
+                tagNames[stepIndex] = step;
+                occurrences[stepIndex] = FIRST_OCCURRENCE;
+            } else {
+                if (!step.endsWith("]")) {
+                    throw invalidExpression(expression, String.format("step '%s' has an unterminated predicate", step));
+                }
+                tagNames[stepIndex] = step.substring(0, predicateStart);
+                try {
+                    occurrences[stepIndex] = Integer.parseInt(step.substring(predicateStart + 1, step.length() - 1)) - 1;
+                } catch (NumberFormatException predicateEx) {
+                    throw invalidExpression(expression, String.format("step '%s' predicate must be a positive integer", step));
+                }
+                if (occurrences[stepIndex] < 0) {
+                    throw invalidExpression(expression, String.format("step '%s' predicate must be a positive integer", step));
+                }
+            }
+
+            if (tagNames[stepIndex].isEmpty()) {
+                throw invalidExpression(expression, "steps cannot be empty");
+            }
+            if (tagNames[stepIndex].indexOf('@') >= 0 || tagNames[stepIndex].indexOf(']') >= 0) {
+                throw invalidExpression(expression, String.format("step '%s' is not valid", step));
+            }
+            if (WILDCARD.equals(tagNames[stepIndex])) {
+                tagNames[stepIndex] = null;
+            }
+        }
+
+        return new ElementPath(expression, tagNames, occurrences, attributeName);
+    }
+
+    static IllegalArgumentException invalidExpression(String expression, String reason) {
+        return new IllegalArgumentException(String.format("compile(expression[%s]) - %s", expression, reason));
+    }
+
+    /**
+     * Determine if the path selects an attribute.
+     *
+     * @return true if the last step of the path is an attribute.
+     */
+    public boolean isAttributePath() {
+        return attributeName != null;
+    }
+
+    /**
+     * Return the {@link Element} selected by the path - for attribute paths, this is the element that owns the attribute.
+     *
+     * @param contextElement The {@link Element} the path is relative to.
+     *
+     * @return the selected element, or null if it is not found.
+     */
+    public Element selectElement(Element contextElement) {
+        return selectElement(contextElement, null);
+    }
+
+    /**
+     * Return all the {@link Element}s matched by the last element step of the path, in document order.  If the last
+     * element step has a predicate, only that occurrence is returned.
+     *
+     * @param contextElement The {@link Element} the path is relative to.
+     *
+     * @return the selected elements, which may be empty.
+     *
+     * @throws IllegalStateException Raised if the path selects an attribute, or has no element steps.
+     */
+    public List<Element> selectElements(Element contextElement) {
+        return selectElements(contextElement, null);
+    }
+
+    /**
+     * Return the value selected by the path - the attribute value for attribute paths, otherwise the text content of
+     * the selected {@link Element}.
+     *
+     * @param contextElement The {@link Element} the path is relative to.
+     *
+     * @return the selected value, or null if it is not found.
+     */
+    public String selectValue(Element contextElement) {
+        return selectValue(contextElement, null);
+    }
+
+    Element selectElement(Element contextElement, ElementIndex contextIndex) {
+        return navigate(contextElement, contextIndex, tagNames.length);
+    }
+
+    List<Element> selectElements(Element contextElement, ElementIndex contextIndex) {
+        if (attributeName != null || tagNames.length == 0) {
+            String message = String.format("selectElements(contextElement[%s]) - path '%s' does not end with an element step", contextElement.getTagName(), expression);
+            throw new IllegalStateException(message);
+        }
+
+        int lastStep = tagNames.length - 1;
+        List<Element> answer = new ArrayList<>();
+
+        if (occurrences[lastStep] != FIRST_OCCURRENCE) {
+            Element selectedElement = navigate(contextElement, contextIndex, tagNames.length);
+            if (selectedElement != null) {
+                answer.add(selectedElement);
+            }
+            return answer;
+        }
+
+        Element parentElement = navigate(contextElement, contextIndex, lastStep);
+        if (parentElement != null) {
+            String tagName = tagNames[lastStep];
+            for (Element childElement = ElementCursor.firstElement(parentElement, tagName); childElement != null; childElement = ElementCursor.nextElement(childElement.getNextSibling(), tagName)) {
+                answer.add(childElement);
+            }
+        }
+
+        return answer;
+    }
+
+    String selectValue(Element contextElement, ElementIndex contextIndex) {
+        Element selectedElement = navigate(contextElement, contextIndex, tagNames.length);
+
+        if (selectedElement == null) {
+            return null;
+        }
+
+        if (attributeName != null) {
+            Attr attr = selectedElement.getAttributeNode(attributeName);
+            return attr != null ? attr.getValue() : null;
+        }
+
+        return ElementParser.getTextValue(selectedElement);
+    }
+
+    /**
+     * Walk the element steps of the path.
+     *
+     * @param contextElement The {@link Element} the path is relative to.
+     * @param contextIndex   The index of the context element's descendants, used for the first step if it is not null.
+     * @param stepCount      The number of element steps to walk.
+     *
+     * @return the element reached, or null if a step did not match.
+     */
+    Element navigate(Element contextElement, ElementIndex contextIndex, int stepCount) {
+        if (contextElement == null) {
+            String message = String.format("ElementPath[%s] - the context element cannot be null", expression);
+            throw new IllegalArgumentException(message);
+        }
+
+        Element currentElement = contextElement;
+
+        for (int stepIndex = 0; stepIndex < stepCount && currentElement != null; ++stepIndex) {
+            String tagName = tagNames[stepIndex];
+            int occurrence = occurrences[stepIndex] == FIRST_OCCURRENCE ? 0 : occurrences[stepIndex];
+
+            if (stepIndex == 0 && contextIndex != null) {
+                if (tagName != null) {
+                    currentElement = contextIndex.get(tagName, occurrence);
+                } else {
+                    currentElement = occurrence < contextIndex.size() ? contextIndex.get(occurrence) : null;
+                }
+                continue;
+            }
+
+            currentElement = ElementCursor.firstElement(currentElement, tagName);
+            for (int occurrenceCounter = 0; currentElement != null && occurrenceCounter < occurrence; ++occurrenceCounter) {
+                currentElement = ElementCursor.nextElement(currentElement.getNextSibling(), tagName);
+            }
+        }
+
+        return currentElement;
+    }
+
+    /**
+     * Return the expression the path was compiled from.
+     *
+     * @return the path expression.
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof ElementPath && expression.equals(((ElementPath) obj).expression);
+    }
+
+    @Override
+    public int hashCode() {
+        return expression.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
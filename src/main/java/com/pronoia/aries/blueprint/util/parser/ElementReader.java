@@ -0,0 +1,659 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.parser;
+
+import com.pronoia.aries.blueprint.util.convert.ConverterRegistry;
+import com.pronoia.aries.blueprint.util.namespace.ElementDefinitionException;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+
+/**
+ * A streaming counterpart of {@link ElementParser}, backed by an {@link XMLStreamReader}.
+ *
+ * An element reader is created when the stream is positioned on the START_ELEMENT event of an element.  The attributes
+ * of the element are captured when the reader is created, so they remain available while the descendants are read.
+ * Descendants and text content are read forward-only from the stream - a descendant reader returned by
+ * {@link #nextElement()} is invalidated when its parent reader is advanced again.
+ *
+ * NOTE:  Unlike {@link ElementParser}, the document is never materialized, so an element reader can only be traversed once.
+ */
+public class ElementReader {
+    final StreamState streamState;
+    final int level;
+
+    final String tagName;
+    final String localName;
+    final String namespaceURI;
+
+    final String[] attributeNames;
+    final String[] attributeValues;
+
+    StringBuilder valueBuilder;
+    boolean valueComplete;
+    boolean finished;
+
+    ElementReader pendingChild;
+
+    /**
+     * Construct an element reader for the element the {@link XMLStreamReader} is positioned on.
+     *
+     * @param streamReader The source {@link XMLStreamReader}, which must be positioned on a START_ELEMENT event.
+     */
+    public ElementReader(XMLStreamReader streamReader) {
+        this(streamReader, null);
+    }
+
+    /**
+     * Construct an element reader for the element the {@link XMLStreamReader} is positioned on.
+     *
+     * @param streamReader The source {@link XMLStreamReader}, which must be positioned on a START_ELEMENT event.
+     * @param documentURI  The URI of the source document, used in diagnostic messages - if null, the system ID of the stream is used.
+     */
+    public ElementReader(XMLStreamReader streamReader, String documentURI) {
+        if (streamReader == null) {
+            throw new IllegalArgumentException("ElementReader(streamReader[null]) - the stream reader cannot be null");
+        }
+
+        if (XMLStreamConstants.START_ELEMENT != streamReader.getEventType()) {
+            String message = String.format("ElementReader(streamReader) - the stream reader must be positioned on a START_ELEMENT event - current event type is %d",
+                streamReader.getEventType());
+            throw new IllegalArgumentException(message);
+        }
+
+        this.streamState = new StreamState(streamReader, documentURI);
+        this.level = 1;
+
+        this.tagName = qualifiedName(streamReader.getPrefix(), streamReader.getLocalName());
+        this.localName = streamReader.getLocalName();
+        this.namespaceURI = streamReader.getNamespaceURI();
+
+        int attributeCount = streamReader.getAttributeCount();
+        this.attributeNames = new String[attributeCount];
+        this.attributeValues = new String[attributeCount];
+        captureAttributes(streamReader);
+    }
+
+    ElementReader(StreamState streamState, String tagName) {
+        XMLStreamReader streamReader = streamState.streamReader;
+
+        this.streamState = streamState;
+        this.level = streamState.depth;
+
+        this.tagName = tagName;
+        this.localName = streamReader.getLocalName();
+        this.namespaceURI = streamReader.getNamespaceURI();
+
+        int attributeCount = streamReader.getAttributeCount();
+        this.attributeNames = new String[attributeCount];
+        this.attributeValues = new String[attributeCount];
+        captureAttributes(streamReader);
+    }
+
+    /**
+     * Stream through a document, dispatching each element in the specified namespace to the {@link ElementReaderHandler}
+     * for its local name.
+     *
+     * @param streamReader The source {@link XMLStreamReader}.
+     * @param namespaceURI The namespace of the elements to dispatch.
+     * @param handlers     The handlers, which are matched to elements by {@link ElementReaderHandler#getElementName()}.
+     *
+     * @return The number of elements dispatched to handlers.
+     *
+     * @throws ElementDefinitionException Raised if the document cannot be read.
+     */
+    public static int readElements(XMLStreamReader streamReader, String namespaceURI, ElementReaderHandler... handlers) {
+        Map<String, ElementReaderHandler> handlerMap = new LinkedHashMap<>();
+
+        if (handlers != null) {
+            for (ElementReaderHandler handler : handlers) {
+                if (handler != null) {
+                    handlerMap.put(handler.getElementName(), handler);
+                }
+            }
+        }
+
+        return readElements(streamReader, namespaceURI, handlerMap);
+    }
+
+    /**
+     * Stream through a document, dispatching each element in the specified namespace to the {@link ElementReaderHandler}
+     * registered for its local name.
+     *
+     * Elements without a registered handler are descended into, so handled elements nested inside other elements are
+     * also dispatched.  Any part of a handled element the handler does not read is skipped.
+     *
+     * @param streamReader The source {@link XMLStreamReader}.
+     * @param namespaceURI The namespace of the elements to dispatch.
+     * @param handlers     The handlers, keyed by element local name.
+     *
+     * @return The number of elements dispatched to handlers.
+     *
+     * @throws ElementDefinitionException Raised if the document cannot be read.
+     */
+    public static int readElements(XMLStreamReader streamReader, String namespaceURI, Map<String, ? extends ElementReaderHandler> handlers) {
+        if (streamReader == null) {
+            throw new IllegalArgumentException(String.format("readElements(streamReader[null], namespaceURI[%s], handlers) - the stream reader cannot be null", namespaceURI));
+        }
+
+        if (handlers == null || handlers.isEmpty()) {
+            throw new IllegalArgumentException(String.format("readElements(streamReader, namespaceURI[%s], handlers) - the handlers cannot be null or empty", namespaceURI));
+        }
+
+        int dispatchCount = 0;
+
+        try {
+            int event = streamReader.getEventType();
+            while (true) {
+                if (XMLStreamConstants.START_ELEMENT == event && equalsNamespace(namespaceURI, streamReader.getNamespaceURI())) {
+                    ElementReaderHandler handler = handlers.get(streamReader.getLocalName());
+                    if (handler != null) {
+                        ElementReader elementReader = new ElementReader(streamReader);
+                        handler.readElement(elementReader);
+                        elementReader.skip();
+                        ++dispatchCount;
+                    }
+                }
+
+                if (!streamReader.hasNext()) {
+                    break;
+                }
+                event = streamReader.next();
+            }
+        } catch (XMLStreamException streamEx) {
+            String explanation = String.format("Failed to read elements in namespace '%s' {location = '%s'}", namespaceURI, describe(streamReader.getLocation()));
+            throw new ElementDefinitionException(explanation, streamEx);
+        }
+
+        return dispatchCount;
+    }
+
+    /**
+     * Return the tag name of the element.
+     *
+     * @return The tag name of the element, including the prefix if there is one.
+     */
+    public String getTagName() {
+        return tagName;
+    }
+
+    /**
+     * Return the local name of the element.
+     *
+     * @return The local name of the element.
+     */
+    public String getLocalName() {
+        return localName;
+    }
+
+    /**
+     * Return the namespace URI of the element.
+     *
+     * @return The namespace URI of the element, which may be null.
+     */
+    public String getNamespaceURI() {
+        return namespaceURI;
+    }
+
+    /**
+     * Return the URI of the source document.
+     *
+     * @return The URI of the source document, which may be null.
+     */
+    public String getOwnerDocumentURI() {
+        return streamState.getDocumentURI();
+    }
+
+    /**
+     * Return the text content of the element.
+     *
+     * NOTE:  If the element has descendant elements before its text content, they are skipped and can no longer be read.
+     *
+     * @return The text content of the element, which may be null.
+     */
+    public String getValue() {
+        while (!valueComplete && !finished) {
+            ElementReader childReader = advance(null);
+            if (childReader != null && valueComplete) {
+                // The text content ended at a descendant element - keep it for the next call to nextElement
+                pendingChild = childReader;
+            }
+        }
+
+        return valueBuilder != null ? valueBuilder.toString() : null;
+    }
+
+    /**
+     * Return the text content of the element.
+     *
+     * @param requireValue If true, the element must have content or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return the text content of the element, which may be null/empty.
+     *
+     * @throws ElementDefinitionException Raised if requireElement is true and the element does not have content.
+     */
+    public String getValue(boolean requireValue) {
+        String answer = getValue();
+
+        if (requireValue) {
+            if (answer == null || answer.isEmpty()) {
+                String explanation = String.format("Element '%s' text content is null or empty in document '%s'", getTagName(), getOwnerDocumentURI());
+
+                throw new ElementDefinitionException(explanation);
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Advance to the next descendant element.
+     *
+     * @return A reader for the next descendant element, or null if there are no more descendant elements.
+     */
+    public ElementReader nextElement() {
+        return nextElementInternal(null);
+    }
+
+    /**
+     * Advance to the next descendant element matching the specified tag name, skipping descendants that do not match.
+     *
+     * @param tagName The element tag-name to match on.
+     *
+     * @return A reader for the next matching descendant element, or null if there are no more matching descendant elements.
+     */
+    public ElementReader nextElement(String tagName) {
+        if (tagName == null || tagName.isEmpty()) {
+            String message = String.format("nextElement(tagName[%s]) - tagName cannot be null or empty {element = '%s' document = '%s'}", tagName, getTagName(), getOwnerDocumentURI());
+            throw new IllegalArgumentException(message);
+        }
+
+        return nextElementInternal(tagName);
+    }
+
+    /**
+     * Read the values of the remaining descendant elements matching the specified tag name, in document order.
+     *
+     * @param tagName The element tag-name to match on.
+     *
+     * @return A list of the values of matching descendant elements, which may be empty.
+     */
+    public List<String> getElementValues(String tagName) {
+        List<String> answer = new LinkedList<>();
+
+        for (ElementReader childReader = nextElement(tagName); childReader != null; childReader = nextElement(tagName)) {
+            String value = childReader.getValue();
+            if (value != null && !value.isEmpty()) {
+                answer.add(value);
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Skip the remainder of the element, including any unread descendants.
+     */
+    public void skip() {
+        pendingChild = null;
+        while (!finished) {
+            advance(null);
+        }
+    }
+
+    /**
+     * Returns a {@link Map} of all attributes of the element.  The {@link Map} key is the attribute name
+     * and the {@link Map} value the attribute value.
+     *
+     * @return a map of attribute values, which may be empty.
+     */
+    public Map<String, String> getAttributeValueMap() {
+        Map<String, String> answer = new LinkedHashMap<>();
+
+        for (int attributeIndex = 0; attributeIndex < attributeNames.length; ++attributeIndex) {
+            answer.put(attributeNames[attributeIndex], attributeValues[attributeIndex]);
+        }
+
+        return answer;
+    }
+
+    /**
+     * Return the value of an attribute of the element.
+     *
+     * @param attributeName Then name of the attribute the return.
+     *
+     * @return the value of the attribute, or null if the attribute was not found in the element.
+     */
+    public String getAttribute(String attributeName) {
+        if (attributeName == null || attributeName.isEmpty()) {
+            String message = String.format("getAttribute(attributeName[%s]) - attributeName cannot be null or empty {element = '%s' document = '%s'}", attributeName, getTagName(), getOwnerDocumentURI());
+            throw new IllegalArgumentException(message);
+        }
+
+        for (int attributeIndex = 0; attributeIndex < attributeNames.length; ++attributeIndex) {
+            if (attributeName.equals(attributeNames[attributeIndex])) {
+                return attributeValues[attributeIndex];
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Return the value of an attribute of the element.
+     *
+     * @param attributeName    Then name of the attribute the return.
+     * @param requireAttribute If true, the attribute must exist or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return the value of the attribute, or null if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if requireAttribute is true and the attribute is not found in the element.
+     */
+    public String getAttribute(String attributeName, boolean requireAttribute) {
+        String answer = getAttribute(attributeName);
+
+        if (requireAttribute && answer == null) {
+            String explanation = String.format("Attribute '%s' not found {element = '%s' document = '%s'}", attributeName, getTagName(), getOwnerDocumentURI());
+
+            throw new ElementDefinitionException(explanation);
+        }
+
+        return answer;
+    }
+
+    /**
+     * Return the {@link Boolean} value of an attribute of the element.
+     *
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param requireAttribute If true, the attribute must exist or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return The {@link Boolean} value of the attribute, or null if the attribute was not found in the element.
+     */
+    public Boolean getBooleanAttribute(final String attributeName, boolean requireAttribute) {
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Boolean.class);
+    }
+
+    /**
+     * Return the {@link String} value of an attribute of the element.
+     *
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param requireAttribute If true, the attribute must exist or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return The {@link String} value of the attribute, or null if the attribute was not found in the element.
+     */
+    public String getStringAttribute(final String attributeName, boolean requireAttribute) {
+        return getAttribute(attributeName, requireAttribute);
+    }
+
+    /**
+     * Return the {@link Byte} value of an attribute of the element.
+     *
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param requireAttribute If true, the attribute must exist and its value must convertible to a {@link Byte} value or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return The {@link Byte} value of the attribute, or null if the attribute was not found in the element.
+     */
+    public Byte getByteAttribute(final String attributeName, boolean requireAttribute) {
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Byte.class);
+    }
+
+    /**
+     * Return the {@link Short} value of an attribute of the element.
+     *
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param requireAttribute If true, the attribute must exist and its value must convertible to a {@link Short} value or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return The {@link Short} value of the attribute, or null if the attribute was not found in the element.
+     */
+    public Short getShortAttribute(final String attributeName, boolean requireAttribute) {
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Short.class);
+    }
+
+    /**
+     * Return the {@link Integer} value of an attribute of the element.
+     *
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param requireAttribute If true, the attribute must exist and its value must convertible to a {@link Integer} value or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return The {@link Integer} value of the attribute, or null if the attribute was not found in the element.
+     */
+    public Integer getIntegerAttribute(final String attributeName, boolean requireAttribute) {
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Integer.class);
+    }
+
+    /**
+     * Return the {@link Long} value of an attribute of the element.
+     *
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param requireAttribute If true, the attribute must exist and its value must convertible to a {@link Long} value or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return The {@link Long} value of the attribute, or null if the attribute was not found in the element.
+     */
+    public Long getLongAttribute(final String attributeName, boolean requireAttribute) {
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Long.class);
+    }
+
+    /**
+     * Return the {@link Float} value of an attribute of the element.
+     *
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param requireAttribute If true, the attribute must exist and its value must convertible to a {@link Float} value or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return The {@link Float} value of the attribute, or null if the attribute was not found in the element.
+     */
+    public Float getFloatAttribute(final String attributeName, boolean requireAttribute) {
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Float.class);
+    }
+
+    /**
+     * Return the {@link Double} value of an attribute of the element.
+     *
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param requireAttribute If true, the attribute must exist and its value must convertible to a {@link Double} value or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return The {@link Double} value of the attribute, or null if the attribute was not found in the element.
+     */
+    public Double getDoubleAttribute(final String attributeName, boolean requireAttribute) {
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Double.class);
+    }
+
+    /**
+     * Return the value of an attribute of the element, converted with the configured {@link ConverterRegistry}.
+     *
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param type             The type to convert the attribute value to - i.e. {@link java.time.Duration} or {@link java.util.regex.Pattern}.
+     * @param requireAttribute If true, the attribute must exist and its value must convertible to the type or an {@link ElementDefinitionException} will be thrown.
+     * @param <T>              The type to convert the attribute value to.
+     *
+     * @return The converted value of the attribute, or null if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to the type.
+     */
+    public <T> T getAttribute(final String attributeName, Class<T> type, boolean requireAttribute) {
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), type);
+    }
+
+    /**
+     * Return the registry used to convert attribute values.
+     *
+     * @return the configured converter registry, or the default registry if none is configured.
+     */
+    public ConverterRegistry getConverterRegistry() {
+        return streamState.converterRegistry != null ? streamState.converterRegistry : ConverterRegistry.getDefault();
+    }
+
+    /**
+     * Convert attribute values with the supplied registry.  The registry is shared with the readers for the descendant
+     * elements of the stream.
+     *
+     * @param converterRegistry the converter registry - if null, the default registry is used.
+     */
+    public void setConverterRegistry(ConverterRegistry converterRegistry) {
+        streamState.converterRegistry = converterRegistry;
+    }
+
+    <T> T convertAttribute(String attributeName, String stringValue, Class<T> type) {
+        try {
+            return getConverterRegistry().convert(stringValue, type);
+        } catch (IllegalArgumentException conversionEx) {
+            Throwable cause = conversionEx.getCause() != null ? conversionEx.getCause() : conversionEx;
+            throw new ElementDefinitionException(String.format(ElementParser.ATTRIBUTE_CONVERSION_FAILURE_EXPLANATION_FORMAT, attributeName, stringValue, type, getTagName(), getOwnerDocumentURI()), cause);
+        }
+    }
+
+    ElementReader nextElementInternal(String matchTagName) {
+        if (pendingChild != null) {
+            ElementReader childReader = pendingChild;
+            pendingChild = null;
+            if (matchTagName == null || matchTagName.equals(childReader.getTagName())) {
+                return childReader;
+            }
+        }
+
+        while (!finished) {
+            ElementReader childReader = advance(matchTagName);
+            if (childReader != null) {
+                return childReader;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Advance the stream by one event within this element.
+     *
+     * @param matchTagName The tag name of the descendant elements to return - if null, any descendant element is returned.
+     *
+     * @return A reader for a matching descendant element if the event started one, or null otherwise.
+     */
+    ElementReader advance(String matchTagName) {
+        XMLStreamReader streamReader = streamState.streamReader;
+
+        if (streamState.depth < level) {
+            finished = true;
+            return null;
+        }
+
+        int event;
+        try {
+            event = streamReader.next();
+        } catch (XMLStreamException streamEx) {
+            String explanation = String.format("Failed to read element '%s' {document = '%s' location = '%s'}", getTagName(), getOwnerDocumentURI(), describe(streamReader.getLocation()));
+            throw new ElementDefinitionException(explanation, streamEx);
+        }
+
+        switch (event) {
+        case XMLStreamConstants.START_ELEMENT:
+            ++streamState.depth;
+            if (valueBuilder != null) {
+                valueComplete = true;
+            }
+            if (streamState.depth == level + 1) {
+                String childTagName = qualifiedName(streamReader.getPrefix(), streamReader.getLocalName());
+                if (matchTagName == null || matchTagName.equals(childTagName)) {
+                    return new ElementReader(streamState, childTagName);
+                }
+            }
+            break;
+        case XMLStreamConstants.END_ELEMENT:
+            --streamState.depth;
+            if (valueBuilder != null) {
+                valueComplete = true;
+            }
+            if (streamState.depth < level) {
+                finished = true;
+            }
+            break;
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.CDATA:
+        case XMLStreamConstants.SPACE:
+            if (streamState.depth == level && !valueComplete) {
+                if (valueBuilder == null) {
+                    valueBuilder = new StringBuilder();
+                }
+                valueBuilder.append(streamReader.getTextCharacters(), streamReader.getTextStart(), streamReader.getTextLength());
+            }
+            break;
+        case XMLStreamConstants.END_DOCUMENT:
+            finished = true;
+            break;
+        default:
+            if (valueBuilder != null) {
+                valueComplete = true;
+            }
+            break;
+        }
+
+        return null;
+    }
+
+    void captureAttributes(XMLStreamReader streamReader) {
+        for (int attributeIndex = 0; attributeIndex < attributeNames.length; ++attributeIndex) {
+            attributeNames[attributeIndex] = qualifiedName(streamReader.getAttributePrefix(attributeIndex), streamReader.getAttributeLocalName(attributeIndex));
+            attributeValues[attributeIndex] = streamReader.getAttributeValue(attributeIndex);
+        }
+    }
+
+    static String qualifiedName(String prefix, String localName) {
+        return (prefix == null || prefix.isEmpty()) ? localName : prefix + ":" + localName;
+    }
+
+    static boolean equalsNamespace(String expected, String actual) {
+        return expected == null ? actual == null || actual.isEmpty() : expected.equals(actual);
+    }
+
+    static String describe(Location location) {
+        return location == null ? null : String.format("%s:%d:%d", location.getSystemId(), location.getLineNumber(), location.getColumnNumber());
+    }
+
+    /**
+     * The state of the underlying stream shared by an element reader and its descendant readers.
+     */
+    static final class StreamState {
+        final XMLStreamReader streamReader;
+        final String documentURI;
+        ConverterRegistry converterRegistry;
+
+        /**
+         * The number of elements open at the current position of the stream, relative to the root element reader.
+         */
+        int depth = 1;
+
+        StreamState(XMLStreamReader streamReader, String documentURI) {
+            this.streamReader = streamReader;
+            this.documentURI = documentURI;
+        }
+
+        String getDocumentURI() {
+            if (documentURI != null) {
+                return documentURI;
+            }
+
+            Location location = streamReader.getLocation();
+            return location != null ? location.getSystemId() : null;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.parser;
+
+
+/**
+ * A callback for consuming elements from a stream with an {@link ElementReader}, the streaming counterpart of
+ * {@link com.pronoia.aries.blueprint.ElementHandler}.
+ *
+ * @see ElementReader#readElements(javax.xml.stream.XMLStreamReader, String, java.util.Map)
+ */
+public interface ElementReaderHandler {
+
+    /**
+     * Return the local name of the element handled by this handler.
+     *
+     * @return the local name of the handled element.
+     */
+    String getElementName();
+
+    /**
+     * Consume a handled element.  Any part of the element that is not read is skipped after this method returns.
+     *
+     * @param elementReader the reader positioned on the handled element.
+     */
+    void readElement(ElementReader elementReader);
+
+}
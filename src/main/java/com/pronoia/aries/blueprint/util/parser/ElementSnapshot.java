@@ -0,0 +1,884 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.parser;
+
+import com.pronoia.aries.blueprint.util.convert.ConverterRegistry;
+import com.pronoia.aries.blueprint.util.namespace.ElementDefinitionException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+import javax.xml.namespace.QName;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+
+
+/**
+ * An immutable copy of an {@link Element} subtree, with the same read API as {@link ElementParser}.
+ *
+ * The subtree is flattened into parallel arrays when the snapshot is taken - the elements are stored breadth-first so
+ * the descendants of each element occupy a contiguous range, and the attributes of each element occupy a contiguous
+ * range of the attribute arrays.  Names and values are de-duplicated within the snapshot, including the
+ * namespace-qualified names, which are canonical within the snapshot but are not interned by {@link ElementNames}.
+ *
+ * Unlike the DOM, a snapshot is safe for concurrent reads and does not retain the source document, so it can be handed
+ * to other threads and held after the document is released.  The {@link ElementSnapshot} instances returned for
+ * descendant elements are lightweight views over the same arrays.
+ *
+ * NOTE:  Attribute values are captured after placeholder resolution when the snapshot is taken from an
+ * {@link ElementParser} with a placeholder resolver, and are converted with the parser's {@link ConverterRegistry}.
+ */
+public final class ElementSnapshot {
+    static final int[] NO_POSITIONS = new int[0];
+
+    final Data data;
+    final int node;
+
+    ElementSnapshot(Data data, int node) {
+        this.data = data;
+        this.node = node;
+    }
+
+    /**
+     * Take a snapshot of an {@link Element} subtree.
+     *
+     * @param element The root {@link Element} of the subtree.
+     *
+     * @return the snapshot.
+     */
+    public static ElementSnapshot of(Element element) {
+        if (element == null) {
+            throw new IllegalArgumentException("ElementSnapshot.of(element[null]) - the element cannot be null");
+        }
+
+        return new ElementSnapshot(new Data(new ElementParser(element)), 0);
+    }
+
+    /**
+     * Take a snapshot of the {@link Element} subtree of an {@link ElementParser}, resolving attribute placeholders with
+     * the parser's placeholder resolver.  Attribute values are converted with the parser's converter registry.
+     *
+     * @param elementParser The parser for the root {@link Element} of the subtree.
+     *
+     * @return the snapshot.
+     */
+    public static ElementSnapshot of(ElementParser elementParser) {
+        if (elementParser == null) {
+            throw new IllegalArgumentException("ElementSnapshot.of(elementParser[null]) - the elementParser cannot be null");
+        }
+
+        return new ElementSnapshot(new Data(elementParser), 0);
+    }
+
+    /**
+     * Return the tag name of the {@link Element}.
+     *
+     * @return the tag name.
+     */
+    public String getTagName() {
+        return data.tagNames[node];
+    }
+
+    /**
+     * Return the namespace-qualified name of the {@link Element}.
+     *
+     * @return the name of the element, which is the same instance for all equal names in the snapshot.
+     */
+    public QName getName() {
+        return data.names[node];
+    }
+
+    /**
+     * Return the owner document URI of the {@link Element}.
+     *
+     * @return The owner document URI of the element, or null if the document URI was not available.
+     */
+    public String getOwnerDocumentURI() {
+        return data.documentURI;
+    }
+
+    /**
+     * Return the text content of the {@link Element}.
+     *
+     * @return The text content of the element, which may be null.
+     */
+    public String getValue() {
+        return data.values[node];
+    }
+
+    /**
+     * Return the text content of the {@link Element}.
+     *
+     * @param requireValue If true, the element must have content or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return the text content of the element, which may be null/empty.
+     *
+     * @throws ElementDefinitionException Raised if requireElement is true and the {@link Element} does not have content.
+     */
+    public String getValue(boolean requireValue) {
+        String answer = getValue();
+
+        if (requireValue && (answer == null || answer.isEmpty())) {
+            String explanation = String.format("Element '%s' text content is null or empty in document '%s'", getTagName(), getOwnerDocumentURI());
+
+            throw new ElementDefinitionException(explanation);
+        }
+
+        return answer;
+    }
+
+    /**
+     * Return the text content of the {@link Element}, without throwing an exception if it is empty.
+     *
+     * @return the text content of the element, or empty if the element does not have content.
+     */
+    public Optional<String> tryGetValue() {
+        String answer = getValue();
+
+        return answer != null && !answer.isEmpty() ? Optional.of(answer) : Optional.empty();
+    }
+
+    /**
+     * Return the number of descendant {@link Element}s.
+     *
+     * @return the number of descendant elements.
+     */
+    public int getElementCount() {
+        return data.childCounts[node];
+    }
+
+    /**
+     * Return the first descendant {@link Element} with the specified tag name.
+     *
+     * @param tagName The {@link Element} tag-name to match on.
+     *
+     * @return The descendant element, or null if it is not found.
+     */
+    public ElementSnapshot getElement(String tagName) {
+        return getElement(tagName, 0);
+    }
+
+    /**
+     * Return the first descendant {@link Element} with the specified tag name.
+     *
+     * @param tagName        The {@link Element} tag-name to match on.
+     * @param requireElement If true, the descendant {@link Element} must be found or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return The descendant element, or null if it is not found.
+     */
+    public ElementSnapshot getElement(String tagName, boolean requireElement) {
+        return getElement(tagName, 0, requireElement);
+    }
+
+    /**
+     * Return the specified occurrence of the descendant {@link Element} with the specified tag name.
+     *
+     * @param tagName    The {@link Element} tag-name to match on.
+     * @param occurrence The occurrence (zero-based) of the element to return.
+     *
+     * @return The specified occurrence of the descendant element, or null if it is not found.
+     */
+    public ElementSnapshot getElement(String tagName, int occurrence) {
+        if (tagName == null || tagName.isEmpty()) {
+            String message = String.format("getElement(tagName[%s], occurrence[%d]) - tagName cannot be null or empty {element = '%s' document = '%s'}",
+                tagName, occurrence, getTagName(), getOwnerDocumentURI());
+            throw new IllegalArgumentException(message);
+        }
+
+        if (occurrence < 0) {
+            String message = String.format("getElement(tagName[%s], occurrence[%d]) - occurrence cannot be less than zero {element = '%s' document = '%s'}",
+                tagName, occurrence, getTagName(), getOwnerDocumentURI());
+            throw new IllegalArgumentException(message);
+        }
+
+        int remaining = occurrence;
+        for (int child = data.firstChildren[node], end = child + data.childCounts[node]; child < end; ++child) {
+            if (tagName.equals(data.tagNames[child]) && remaining-- == 0) {
+                return new ElementSnapshot(data, child);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Return the specified occurrence of the descendant {@link Element} with the specified tag name.
+     *
+     * @param tagName        The {@link Element} tag-name to match on.
+     * @param occurrence     The occurrence (zero-based) of the element to return.
+     * @param requireElement If true, the specified occurrence of the descendant {@link Element} must be found or an
+     *                       {@link ElementDefinitionException} will be thrown.
+     *
+     * @return The specified occurrence of the descendant element, or null if it is not found.
+     */
+    public ElementSnapshot getElement(String tagName, int occurrence, boolean requireElement) {
+        ElementSnapshot answer = getElement(tagName, occurrence);
+
+        if (requireElement && answer == null) {
+            String explanation;
+            if (occurrence > 0) {
+                explanation = String.format("Descendant '%s' element occurrence [%d] not found {element = '%s' document = '%s' }", tagName, occurrence, getTagName(), getOwnerDocumentURI());
+            } else {
+                explanation = String.format("Descendant '%s' element not found {element = '%s' document = '%s' }", tagName, getTagName(), getOwnerDocumentURI());
+            }
+
+            throw new ElementDefinitionException(explanation);
+        }
+
+        return answer;
+    }
+
+    /**
+     * Return the specified occurrence of the descendant {@link Element} with the specified tag name, without throwing
+     * an exception if it is not found.
+     *
+     * @param tagName    The {@link Element} tag-name to match on.
+     * @param occurrence The occurrence (zero-based) of the element to return.
+     *
+     * @return The specified occurrence of the descendant element, or empty if it is not found.
+     */
+    public Optional<ElementSnapshot> tryGetElement(String tagName, int occurrence) {
+        return Optional.ofNullable(getElement(tagName, occurrence));
+    }
+
+    /**
+     * Return the specified occurrence of the descendant {@link Element} matching the specified namespace-qualified name.
+     *
+     * @param name       The namespace-qualified name to match on - the prefix used in the document does not matter.
+     * @param occurrence The occurrence (zero-based) of the element to return.
+     *
+     * @return The specified occurrence of the descendant element, or null if it is not found.
+     */
+    public ElementSnapshot getElementNS(QName name, int occurrence) {
+        if (name == null) {
+            String message = String.format("getElementNS(name[null], occurrence[%d]) - name cannot be null {element = '%s' document = '%s'}", occurrence, getTagName(), getOwnerDocumentURI());
+            throw new IllegalArgumentException(message);
+        }
+
+        if (occurrence < 0) {
+            String message = String.format("getElementNS(name[%s], occurrence[%d]) - occurrence cannot be less than zero {element = '%s' document = '%s'}",
+                name, occurrence, getTagName(), getOwnerDocumentURI());
+            throw new IllegalArgumentException(message);
+        }
+
+        QName canonicalName = data.namePool.get(name);
+        if (canonicalName == null) {
+            return null;
+        }
+
+        int remaining = occurrence;
+        for (int child = data.firstChildren[node], end = child + data.childCounts[node]; child < end; ++child) {
+            if (data.names[child] == canonicalName && remaining-- == 0) {
+                return new ElementSnapshot(data, child);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns a {@link List} of descendant {@link Element}s matching the specified namespace-qualified name, in document order.
+     *
+     * @param name The namespace-qualified name to match on - the prefix used in the document does not matter.
+     *
+     * @return A list of the matching descendant elements, which may be empty.
+     */
+    public List<ElementSnapshot> getElementsNS(QName name) {
+        if (name == null) {
+            String message = String.format("getElementsNS(name[null]) - name cannot be null {element = '%s' document = '%s'}", getTagName(), getOwnerDocumentURI());
+            throw new IllegalArgumentException(message);
+        }
+
+        List<ElementSnapshot> answer = new ArrayList<>();
+
+        QName canonicalName = data.namePool.get(name);
+        if (canonicalName == null) {
+            return answer;
+        }
+
+        for (int child = data.firstChildren[node], end = child + data.childCounts[node]; child < end; ++child) {
+            if (data.names[child] == canonicalName) {
+                answer.add(new ElementSnapshot(data, child));
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Returns a {@link List} of all descendant {@link Element}s in document order.
+     *
+     * @return A list of descendant elements, which may be empty.
+     */
+    public List<ElementSnapshot> getElements() {
+        List<ElementSnapshot> answer = new ArrayList<>(data.childCounts[node]);
+        for (int child = data.firstChildren[node], end = child + data.childCounts[node]; child < end; ++child) {
+            answer.add(new ElementSnapshot(data, child));
+        }
+
+        return answer;
+    }
+
+    /**
+     * Returns a {@link List} of descendant {@link Element}s matching the specified tag name, in document order.
+     *
+     * @param tagName The {@link Element} tag-name to match on.
+     *
+     * @return A list of descendant elements matching the specified tag name, which may be empty.
+     */
+    public List<ElementSnapshot> getElements(String tagName) {
+        List<ElementSnapshot> answer = new ArrayList<>();
+
+        if (tagName != null) {
+            for (int child = data.firstChildren[node], end = child + data.childCounts[node]; child < end; ++child) {
+                if (tagName.equals(data.tagNames[child])) {
+                    answer.add(new ElementSnapshot(data, child));
+                }
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Returns a {@link List} of descendant {@link Element}s matching the specified tag name, in document order.
+     *
+     * @param tagName        The {@link Element} tag-name to match on.
+     * @param requireElement If true, at least one descendant {@link Element} must be found or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return A list of descendant elements matching the specified tag name, which may be empty.
+     */
+    public List<ElementSnapshot> getElements(String tagName, boolean requireElement) {
+        List<ElementSnapshot> answer = getElements(tagName);
+
+        if (requireElement && answer.isEmpty()) {
+            String explanation = String.format("Descendant '%s' element not found {element = '%s' document = '%s' }", tagName, getTagName(), getOwnerDocumentURI());
+
+            throw new ElementDefinitionException(explanation);
+        }
+
+        return answer;
+    }
+
+    /**
+     * Returns a {@link Map} of all descendant {@link Element}s in document order.  The {@link Map} key is the tag name
+     * and the {@link Map} value is a {@link List} of the descendant elements.
+     *
+     * @return a map of descendant elements, which may be empty.
+     */
+    public Map<String, List<ElementSnapshot>> getElementMap() {
+        Map<String, List<ElementSnapshot>> answer = new LinkedHashMap<>();
+
+        for (int child = data.firstChildren[node], end = child + data.childCounts[node]; child < end; ++child) {
+            List<ElementSnapshot> tmpElementList = answer.get(data.tagNames[child]);
+            if (tmpElementList == null) {
+                tmpElementList = new ArrayList<>();
+                answer.put(data.tagNames[child], tmpElementList);
+            }
+            tmpElementList.add(new ElementSnapshot(data, child));
+        }
+
+        return answer;
+    }
+
+    /**
+     * Returns a {@link List} of the non-empty values of descendant {@link Element}s matching the specified tag name, in document order.
+     *
+     * @param tagName The {@link Element} tag-name to match on.
+     *
+     * @return A list of the values of descendant elements matching the specified tag name, which may be empty.
+     */
+    public List<String> getElementValues(String tagName) {
+        List<String> answer = new ArrayList<>();
+
+        if (tagName != null) {
+            for (int child = data.firstChildren[node], end = child + data.childCounts[node]; child < end; ++child) {
+                String value = data.values[child];
+                if (tagName.equals(data.tagNames[child]) && value != null && !value.isEmpty()) {
+                    answer.add(value);
+                }
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Returns a {@link List} of the non-empty values of descendant {@link Element}s matching the specified tag name, in document order.
+     *
+     * @param tagName        The {@link Element} tag-name to match on.
+     * @param requireElement If true, at least one value must be found or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return A list of the values of descendant elements matching the specified tag name, which may be empty.
+     */
+    public List<String> getElementValues(String tagName, boolean requireElement) {
+        List<String> answer = getElementValues(tagName);
+
+        if (requireElement && answer.isEmpty()) {
+            String explanation = String.format("Descendant '%s' element not found {element = '%s' document = '%s' }", tagName, getTagName(), getOwnerDocumentURI());
+
+            throw new ElementDefinitionException(explanation);
+        }
+
+        return answer;
+    }
+
+    /**
+     * Returns a {@link Map} of all attributes of the {@link Element}.  The {@link Map} key is the attribute name and the
+     * {@link Map} value is the attribute value.
+     *
+     * @return a map of attribute values, which may be empty.
+     */
+    public Map<String, String> getAttributeValueMap() {
+        Map<String, String> answer = new LinkedHashMap<>();
+
+        for (int attribute = data.firstAttributes[node], end = attribute + data.attributeCounts[node]; attribute < end; ++attribute) {
+            answer.put(data.attributeNames[attribute], data.attributeValues[attribute]);
+        }
+
+        return answer;
+    }
+
+    /**
+     * Return the value of an attribute of the {@link Element}.
+     *
+     * @param attributeName Then name of the attribute the return.
+     *
+     * @return the value of the attribute, or null if the attribute was not found in the element.
+     */
+    public String getAttribute(String attributeName) {
+        if (attributeName == null || attributeName.isEmpty()) {
+            String message = String.format("getAttribute(attributeName[%s]) - attributeName cannot be null or empty {element = '%s' document = '%s'}", attributeName, getTagName(), getOwnerDocumentURI());
+            throw new IllegalArgumentException(message);
+        }
+
+        for (int attribute = data.firstAttributes[node], end = attribute + data.attributeCounts[node]; attribute < end; ++attribute) {
+            if (attributeName.equals(data.attributeNames[attribute])) {
+                return data.attributeValues[attribute];
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Return the value of an attribute of the {@link Element}.
+     *
+     * @param attributeName    Then name of the attribute the return.
+     * @param requireAttribute If true, the attribute must exist or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return the value of the attribute, or null if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if requireAttribute is true and the attribute is not found.
+     */
+    public String getAttribute(String attributeName, boolean requireAttribute) {
+        String answer = getAttribute(attributeName);
+
+        if (requireAttribute && answer == null) {
+            String explanation = String.format("Attribute '%s' not found {element = '%s' document = '%s'}", attributeName, getTagName(), getOwnerDocumentURI());
+
+            throw new ElementDefinitionException(explanation);
+        }
+
+        return answer;
+    }
+
+    /**
+     * Return the value of an attribute, without throwing an exception if it is not found.
+     *
+     * @param attributeName Then name of the attribute the return.
+     *
+     * @return the value of the attribute, or empty if the attribute was not found in the element.
+     */
+    public Optional<String> tryGetAttribute(String attributeName) {
+        return Optional.ofNullable(getAttribute(attributeName));
+    }
+
+    /**
+     * Return the value of an attribute, converted with the {@link ConverterRegistry} of the source parser, without throwing an
+     * exception if it is not found or cannot be converted.
+     *
+     * @param attributeName Then name of the attribute the return.
+     * @param type          The type to convert the attribute value to.
+     * @param <T>           The type to convert the attribute value to.
+     *
+     * @return the converted value of the attribute, or empty if the attribute was not found in the element or its value
+     *         cannot be converted to the type.
+     */
+    public <T> Optional<T> tryGetAttribute(String attributeName, Class<T> type) {
+        return data.converterRegistry.tryConvert(getAttribute(attributeName), type);
+    }
+
+    /**
+     * Return the {@link Boolean} value of an attribute.
+     *
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param requireAttribute If true, the attribute must exist or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return The {@link Boolean} value of the attribute, or null if the attribute was not found in the element.
+     */
+    public Boolean getBooleanAttribute(final String attributeName, boolean requireAttribute) {
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Boolean.class);
+    }
+
+    /**
+     * Return the {@link String} value of an attribute.
+     *
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param requireAttribute If true, the attribute must exist or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return The {@link String} value of the attribute, or null if the attribute was not found in the element.
+     */
+    public String getStringAttribute(final String attributeName, boolean requireAttribute) {
+        return getAttribute(attributeName, requireAttribute);
+    }
+
+    /**
+     * Return the {@link Byte} value of an attribute.
+     *
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param requireAttribute If true, the attribute must exist and its value must convertible to a {@link Byte} value or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return The {@link Byte} value of the attribute, or null if the attribute was not found in the element.
+     */
+    public Byte getByteAttribute(final String attributeName, boolean requireAttribute) {
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Byte.class);
+    }
+
+    /**
+     * Return the {@link Short} value of an attribute.
+     *
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param requireAttribute If true, the attribute must exist and its value must convertible to a {@link Short} value or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return The {@link Short} value of the attribute, or null if the attribute was not found in the element.
+     */
+    public Short getShortAttribute(final String attributeName, boolean requireAttribute) {
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Short.class);
+    }
+
+    /**
+     * Return the {@link Integer} value of an attribute.
+     *
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param requireAttribute If true, the attribute must exist and its value must convertible to a {@link Integer} value or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return The {@link Integer} value of the attribute, or null if the attribute was not found in the element.
+     */
+    public Integer getIntegerAttribute(final String attributeName, boolean requireAttribute) {
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Integer.class);
+    }
+
+    /**
+     * Return the {@link Long} value of an attribute.
+     *
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param requireAttribute If true, the attribute must exist and its value must convertible to a {@link Long} value or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return The {@link Long} value of the attribute, or null if the attribute was not found in the element.
+     */
+    public Long getLongAttribute(final String attributeName, boolean requireAttribute) {
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Long.class);
+    }
+
+    /**
+     * Return the {@link Float} value of an attribute.
+     *
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param requireAttribute If true, the attribute must exist and its value must convertible to a {@link Float} value or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return The {@link Float} value of the attribute, or null if the attribute was not found in the element.
+     */
+    public Float getFloatAttribute(final String attributeName, boolean requireAttribute) {
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Float.class);
+    }
+
+    /**
+     * Return the {@link Double} value of an attribute.
+     *
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param requireAttribute If true, the attribute must exist and its value must convertible to a {@link Double} value or an {@link ElementDefinitionException} will be thrown.
+     *
+     * @return The {@link Double} value of the attribute, or null if the attribute was not found in the element.
+     */
+    public Double getDoubleAttribute(final String attributeName, boolean requireAttribute) {
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), Double.class);
+    }
+
+    /**
+     * Return the value of an attribute, converted with the {@link ConverterRegistry} of the source parser.
+     *
+     * @param attributeName    Then name of the attribute the return the value of.
+     * @param type             The type to convert the attribute value to.
+     * @param requireAttribute If true, the attribute must exist and its value must convertible to the type or an {@link ElementDefinitionException} will be thrown.
+     * @param <T>              The type to convert the attribute value to.
+     *
+     * @return The converted value of the attribute, or null if the attribute was not found in the element.
+     */
+    public <T> T getAttribute(final String attributeName, Class<T> type, boolean requireAttribute) {
+        return convertAttribute(attributeName, getAttribute(attributeName, requireAttribute), type);
+    }
+
+    /**
+     * Return the boolean value of an attribute, or a default value if the attribute is not found.
+     *
+     * @param attributeName Then name of the attribute the return the value of.
+     * @param defaultValue  The value to return if the attribute is not found in the element.
+     *
+     * @return The boolean value of the attribute, or the default value if the attribute was not found in the element.
+     */
+    public boolean getBoolean(final String attributeName, boolean defaultValue) {
+        String stringValue = getAttribute(attributeName);
+
+        return stringValue != null ? Boolean.parseBoolean(stringValue) : defaultValue;
+    }
+
+    /**
+     * Return the int value of an attribute, or a default value if the attribute is not found.
+     *
+     * @param attributeName Then name of the attribute the return the value of.
+     * @param defaultValue  The value to return if the attribute is not found in the element.
+     *
+     * @return The int value of the attribute, or the default value if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to an int.
+     */
+    public int getInt(final String attributeName, int defaultValue) {
+        OptionalInt answer = getOptionalInt(attributeName);
+
+        return answer.isPresent() ? answer.getAsInt() : defaultValue;
+    }
+
+    /**
+     * Return the long value of an attribute, or a default value if the attribute is not found.
+     *
+     * @param attributeName Then name of the attribute the return the value of.
+     * @param defaultValue  The value to return if the attribute is not found in the element.
+     *
+     * @return The long value of the attribute, or the default value if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to a long.
+     */
+    public long getLong(final String attributeName, long defaultValue) {
+        OptionalLong answer = getOptionalLong(attributeName);
+
+        return answer.isPresent() ? answer.getAsLong() : defaultValue;
+    }
+
+    /**
+     * Return the double value of an attribute, or a default value if the attribute is not found.
+     *
+     * @param attributeName Then name of the attribute the return the value of.
+     * @param defaultValue  The value to return if the attribute is not found in the element.
+     *
+     * @return The double value of the attribute, or the default value if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to a double.
+     */
+    public double getDouble(final String attributeName, double defaultValue) {
+        OptionalDouble answer = getOptionalDouble(attributeName);
+
+        return answer.isPresent() ? answer.getAsDouble() : defaultValue;
+    }
+
+    /**
+     * Return the int value of an attribute.
+     *
+     * @param attributeName Then name of the attribute the return the value of.
+     *
+     * @return The int value of the attribute, or an empty {@link OptionalInt} if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to an int.
+     */
+    public OptionalInt getOptionalInt(final String attributeName) {
+        String stringValue = getAttribute(attributeName);
+        if (stringValue == null) {
+            return OptionalInt.empty();
+        }
+
+        try {
+            return OptionalInt.of(Integer.parseInt(stringValue));
+        } catch (NumberFormatException conversionEx) {
+            throw conversionFailure(attributeName, stringValue, int.class, conversionEx);
+        }
+    }
+
+    /**
+     * Return the long value of an attribute.
+     *
+     * @param attributeName Then name of the attribute the return the value of.
+     *
+     * @return The long value of the attribute, or an empty {@link OptionalLong} if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to a long.
+     */
+    public OptionalLong getOptionalLong(final String attributeName) {
+        String stringValue = getAttribute(attributeName);
+        if (stringValue == null) {
+            return OptionalLong.empty();
+        }
+
+        try {
+            return OptionalLong.of(Long.parseLong(stringValue));
+        } catch (NumberFormatException conversionEx) {
+            throw conversionFailure(attributeName, stringValue, long.class, conversionEx);
+        }
+    }
+
+    /**
+     * Return the double value of an attribute.
+     *
+     * @param attributeName Then name of the attribute the return the value of.
+     *
+     * @return The double value of the attribute, or an empty {@link OptionalDouble} if the attribute was not found in the element.
+     *
+     * @throws ElementDefinitionException Raised if the attribute's value cannot be converted to a double.
+     */
+    public OptionalDouble getOptionalDouble(final String attributeName) {
+        String stringValue = getAttribute(attributeName);
+        if (stringValue == null) {
+            return OptionalDouble.empty();
+        }
+
+        try {
+            return OptionalDouble.of(Double.parseDouble(stringValue));
+        } catch (NumberFormatException conversionEx) {
+            throw conversionFailure(attributeName, stringValue, double.class, conversionEx);
+        }
+    }
+
+    <T> T convertAttribute(String attributeName, String stringValue, Class<T> type) {
+        try {
+            return data.converterRegistry.convert(stringValue, type);
+        } catch (IllegalArgumentException conversionEx) {
+            throw conversionFailure(attributeName, stringValue, type, conversionEx.getCause() != null ? conversionEx.getCause() : conversionEx);
+        }
+    }
+
+    ElementDefinitionException conversionFailure(String attributeName, String stringValue, Class<?> type, Throwable conversionEx) {
+        return new ElementDefinitionException(String.format(ElementParser.ATTRIBUTE_CONVERSION_FAILURE_EXPLANATION_FORMAT, attributeName, stringValue, type, getTagName(), getOwnerDocumentURI()), conversionEx);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ElementSnapshot{element = '%s' document = '%s'}", getTagName(), getOwnerDocumentURI());
+    }
+
+    /**
+     * The flattened arrays shared by the root snapshot and the views of its descendants.
+     */
+    static final class Data {
+        final String documentURI;
+        final ConverterRegistry converterRegistry;
+
+        final String[] tagNames;
+        final QName[] names;
+        final Map<QName, QName> namePool;
+        final String[] values;
+        final int[] firstChildren;
+        final int[] childCounts;
+
+        final int[] firstAttributes;
+        final int[] attributeCounts;
+        final String[] attributeNames;
+        final String[] attributeValues;
+
+        Data(ElementParser rootParser) {
+            Map<String, String> stringPool = new HashMap<>();
+            namePool = new HashMap<>();
+
+            List<Element> elements = new ArrayList<>();
+            elements.add(rootParser.element);
+
+            int[] firstChildList = new int[16];
+            int[] childCountList = new int[16];
+
+            // Breadth-first, so the descendants of each element are contiguous
+            for (int elementIndex = 0; elementIndex < elements.size(); ++elementIndex) {
+                if (elementIndex == firstChildList.length) {
+                    firstChildList = Arrays.copyOf(firstChildList, elementIndex * 2);
+                    childCountList = Arrays.copyOf(childCountList, elementIndex * 2);
+                }
+
+                firstChildList[elementIndex] = elements.size();
+                Element parentElement = elements.get(elementIndex);
+                for (Element childElement = ElementCursor.firstElement(parentElement, null); childElement != null; childElement = ElementCursor.nextElement(childElement.getNextSibling(), null)) {
+                    elements.add(childElement);
+                }
+                childCountList[elementIndex] = elements.size() - firstChildList[elementIndex];
+            }
+
+            int elementCount = elements.size();
+
+            documentURI = rootParser.getOwnerDocumentURI();
+            converterRegistry = rootParser.getConverterRegistry();
+            tagNames = new String[elementCount];
+            names = new QName[elementCount];
+            values = new String[elementCount];
+            firstChildren = Arrays.copyOf(firstChildList, elementCount);
+            childCounts = Arrays.copyOf(childCountList, elementCount);
+            firstAttributes = new int[elementCount];
+            attributeCounts = new int[elementCount];
+
+            List<String> attributeNameList = new ArrayList<>();
+            List<String> attributeValueList = new ArrayList<>();
+
+            for (int elementIndex = 0; elementIndex < elementCount; ++elementIndex) {
+                Element element = elements.get(elementIndex);
+
+                tagNames[elementIndex] = pooled(stringPool, element.getTagName());
+                names[elementIndex] = pooled(namePool, ElementNames.of(element));
+                values[elementIndex] = pooled(stringPool, ElementParser.getTextValue(element));
+
+                firstAttributes[elementIndex] = attributeNameList.size();
+                NamedNodeMap attributes = element.getAttributes();
+                if (attributes != null && attributes.getLength() > 0) {
+                    ElementParser elementParser = elementIndex == 0 ? rootParser : rootParser.createChildParser(element);
+                    for (int attributeIndex = 0; attributeIndex < attributes.getLength(); ++attributeIndex) {
+                        Attr attr = (Attr) attributes.item(attributeIndex);
+                        attributeNameList.add(pooled(stringPool, attr.getName()));
+                        attributeValueList.add(pooled(stringPool, elementParser.resolvePlaceholders(attr.getName(), attr.getValue())));
+                    }
+                }
+                attributeCounts[elementIndex] = attributeNameList.size() - firstAttributes[elementIndex];
+            }
+
+            attributeNames = attributeNameList.toArray(new String[attributeNameList.size()]);
+            attributeValues = attributeValueList.toArray(new String[attributeValueList.size()]);
+        }
+
+        static <T> T pooled(Map<T, T> pool, T value) {
+            if (value == null) {
+                return null;
+            }
+
+            T answer = pool.putIfAbsent(value, value);
+
+            return answer != null ? answer : value;
+        }
+    }
+}
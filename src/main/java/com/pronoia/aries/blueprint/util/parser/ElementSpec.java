@@ -0,0 +1,503 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.parser;
+
+import com.pronoia.aries.blueprint.util.convert.ConverterRegistry;
+import com.pronoia.aries.blueprint.util.namespace.ElementDefinitionException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+
+
+/**
+ * A precompiled description of the attributes and descendant elements of an {@link Element}, which binds the element
+ * to a target object.
+ *
+ * The specification is built once with a {@link Builder} - typically into a static field of an element handler - and
+ * can then be used to bind any number of elements.  Binding an element makes a single pass over its attributes and a
+ * single pass over its descendant elements, dispatching each one to the setter registered for its name.  The
+ * attribute conversions are resolved when the specification is built, so binding does not use reflection.
+ *
+ * Typical usage:
+ * <pre>
+ *     static final ElementSpec&lt;MyMetadata&gt; SPEC = ElementSpec.&lt;MyMetadata&gt;builder()
+ *         .intAttribute("timeout", false, MyMetadata::setTimeout)
+ *         .childValues("pattern", MyMetadata::setPatterns)
+ *         .build();
+ *
+ *     MyMetadata metadata = SPEC.bind(handledElementParser, new MyMetadata());
+ * </pre>
+ *
+ * Instances are immutable and can be shared between threads.
+ *
+ * @param <T> The type of the target object.
+ */
+public final class ElementSpec<T> {
+    final Map<String, AttributeBinding<T>> attributeBindings;
+    final String[] requiredAttributeNames;
+    final BiConsumer<T, Map<String, String>> otherAttributesSetter;
+
+    final Map<String, ChildBinding<T>> childBindings;
+    final List<ChildBinding<T>> collectedChildBindings;
+
+    ElementSpec(Builder<T> builder) {
+        this.attributeBindings = Collections.unmodifiableMap(new HashMap<>(builder.attributeBindings));
+        this.requiredAttributeNames = builder.requiredAttributeNames.toArray(new String[builder.requiredAttributeNames.size()]);
+        this.otherAttributesSetter = builder.otherAttributesSetter;
+
+        this.childBindings = Collections.unmodifiableMap(new HashMap<>(builder.childBindings));
+        this.collectedChildBindings = Collections.unmodifiableList(new ArrayList<>(builder.collectedChildBindings));
+    }
+
+    /**
+     * Return a new {@link Builder} for an element specification.
+     *
+     * @param <T> The type of the target object.
+     *
+     * @return the builder.
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Bind an {@link Element} to a target object.
+     *
+     * @param element The source {@link Element}.
+     * @param target  The object to bind the element to.
+     *
+     * @return the target object.
+     *
+     * @throws ElementDefinitionException Raised if a required attribute is not found or an attribute value cannot be converted.
+     */
+    public T bind(Element element, T target) {
+        return bind(new ElementParser(element), target);
+    }
+
+    /**
+     * Bind the {@link Element} of an {@link ElementParser} to a target object.
+     *
+     * @param elementParser The parser for the source {@link Element}.
+     * @param target        The object to bind the element to.
+     *
+     * @return the target object.
+     *
+     * @throws ElementDefinitionException Raised if a required attribute is not found or an attribute value cannot be converted.
+     */
+    public T bind(ElementParser elementParser, T target) {
+        if (elementParser == null) {
+            throw new IllegalArgumentException("bind(elementParser[null], target) - elementParser cannot be null");
+        }
+
+        if (target == null) {
+            String message = String.format("bind(elementParser, target[null]) - target cannot be null {element = '%s' document = '%s'}", elementParser.getTagName(), elementParser.getOwnerDocumentURI());
+            throw new IllegalArgumentException(message);
+        }
+
+        bindAttributes(elementParser, target);
+        bindChildElements(elementParser, target);
+
+        return target;
+    }
+
+    void bindAttributes(ElementParser elementParser, T target) {
+        int requiredCount = 0;
+        Map<String, String> otherAttributes = (otherAttributesSetter != null) ? new LinkedHashMap<>() : null;
+
+        NamedNodeMap attributes = elementParser.element.getAttributes();
+        if (attributes != null) {
+            for (int attributeIndex = 0; attributeIndex < attributes.getLength(); ++attributeIndex) {
+                Attr attr = (Attr) attributes.item(attributeIndex);
+                AttributeBinding<T> binding = attributeBindings.get(attr.getName());
+                if (binding != null) {
+                    if (binding.required) {
+                        ++requiredCount;
+                    }
+                    binding.setter.bind(target, attr.getName(), elementParser.resolvePlaceholders(attr.getName(), attr.getValue()), elementParser);
+                } else if (otherAttributes != null) {
+                    otherAttributes.put(attr.getName(), elementParser.resolvePlaceholders(attr.getName(), attr.getValue()));
+                }
+            }
+        }
+
+        if (requiredCount < requiredAttributeNames.length) {
+            for (String requiredAttributeName : requiredAttributeNames) {
+                if (elementParser.element.getAttributeNode(requiredAttributeName) == null) {
+                    String explanation = String.format("Attribute '%s' not found {element = '%s' document = '%s'}", requiredAttributeName, elementParser.getTagName(), elementParser.getOwnerDocumentURI());
+
+                    throw new ElementDefinitionException(explanation);
+                }
+            }
+        }
+
+        if (otherAttributesSetter != null) {
+            otherAttributesSetter.accept(target, otherAttributes);
+        }
+    }
+
+    void bindChildElements(ElementParser elementParser, T target) {
+        if (childBindings.isEmpty()) {
+            return;
+        }
+
+        ElementParser childParser = null;
+        List<String>[] collectedValues = null;
+
+        for (Element childElement = ElementCursor.firstElement(elementParser.element, null); childElement != null; childElement = ElementCursor.nextElement(childElement.getNextSibling(), null)) {
+            ChildBinding<T> binding = childBindings.get(childElement.getTagName());
+            if (binding == null) {
+                continue;
+            }
+
+            if (childParser == null) {
+                childParser = elementParser.createChildParser(childElement);
+            } else {
+                childParser.init(childElement);
+            }
+
+            if (binding.collectedSlot >= 0) {
+                if (collectedValues == null) {
+                    collectedValues = newCollectedValues();
+                }
+                if (collectedValues[binding.collectedSlot] == null) {
+                    collectedValues[binding.collectedSlot] = new ArrayList<>();
+                }
+                collectedValues[binding.collectedSlot].add(childParser.getValue());
+            } else {
+                binding.elementSetter.accept(target, childParser);
+            }
+        }
+
+        if (collectedValues != null) {
+            for (ChildBinding<T> binding : collectedChildBindings) {
+                if (collectedValues[binding.collectedSlot] != null) {
+                    binding.valuesSetter.accept(target, collectedValues[binding.collectedSlot]);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    List<String>[] newCollectedValues() {
+        return new List[collectedChildBindings.size()];
+    }
+
+    /**
+     * Bind the value of an attribute to a target object.
+     *
+     * @param <T> The type of the target object.
+     */
+    @FunctionalInterface
+    interface AttributeSetter<T> {
+        void bind(T target, String attributeName, String attributeValue, ElementParser elementParser);
+    }
+
+    static final class AttributeBinding<T> {
+        final boolean required;
+        final AttributeSetter<T> setter;
+
+        AttributeBinding(boolean required, AttributeSetter<T> setter) {
+            this.required = required;
+            this.setter = setter;
+        }
+    }
+
+    static final class ChildBinding<T> {
+        final BiConsumer<T, ElementParser> elementSetter;
+        final BiConsumer<T, List<String>> valuesSetter;
+        final int collectedSlot;
+
+        ChildBinding(BiConsumer<T, ElementParser> elementSetter, BiConsumer<T, List<String>> valuesSetter, int collectedSlot) {
+            this.elementSetter = elementSetter;
+            this.valuesSetter = valuesSetter;
+            this.collectedSlot = collectedSlot;
+        }
+    }
+
+    /**
+     * Builder for an {@link ElementSpec}.
+     *
+     * @param <T> The type of the target object.
+     */
+    public static final class Builder<T> {
+        final Map<String, AttributeBinding<T>> attributeBindings = new LinkedHashMap<>();
+        final List<String> requiredAttributeNames = new ArrayList<>();
+        BiConsumer<T, Map<String, String>> otherAttributesSetter;
+
+        final Map<String, ChildBinding<T>> childBindings = new LinkedHashMap<>();
+        final List<ChildBinding<T>> collectedChildBindings = new ArrayList<>();
+
+        Builder() {
+        }
+
+        /**
+         * Bind the {@link String} value of an attribute.
+         *
+         * @param attributeName The name of the attribute.
+         * @param required      If true, the attribute must exist or an {@link ElementDefinitionException} will be thrown when binding.
+         * @param setter        The setter to call with the attribute value.
+         *
+         * @return this builder.
+         */
+        public Builder<T> attribute(String attributeName, boolean required, BiConsumer<T, String> setter) {
+            checkSetter("attribute", attributeName, setter);
+
+            return addAttribute(attributeName, required, (target, name, value, parser) -> setter.accept(target, value));
+        }
+
+        /**
+         * Bind the value of an attribute, converted with the {@link ConverterRegistry} of the parser being bound - the
+         * type is checked against the registry when binding, since handlers can register converters in their own
+         * registry.
+         *
+         * @param attributeName The name of the attribute.
+         * @param required      If true, the attribute must exist or an {@link ElementDefinitionException} will be thrown when binding.
+         * @param type          The type the attribute value is converted to.
+         * @param setter        The setter to call with the converted attribute value.
+         * @param <V>           The type the attribute value is converted to.
+         *
+         * @return this builder.
+         */
+        public <V> Builder<T> attribute(String attributeName, boolean required, Class<V> type, BiConsumer<T, ? super V> setter) {
+            checkSetter("attribute", attributeName, setter);
+            if (type == null) {
+                throw new IllegalArgumentException(String.format("attribute(attributeName[%s], type[null]) - type cannot be null", attributeName));
+            }
+
+            return addAttribute(attributeName, required, (target, name, value, parser) -> setter.accept(target, parser.convertAttribute(name, value, type)));
+        }
+
+        /**
+         * Bind the value of an attribute, converted with the supplied converter.
+         *
+         * @param attributeName The name of the attribute.
+         * @param required      If true, the attribute must exist or an {@link ElementDefinitionException} will be thrown when binding.
+         * @param type          The type the attribute value is converted to - used for error messages.
+         * @param converter     The converter for the attribute value.
+         * @param setter        The setter to call with the converted attribute value.
+         * @param <V>           The type the attribute value is converted to.
+         *
+         * @return this builder.
+         */
+        public <V> Builder<T> attribute(String attributeName, boolean required, Class<V> type, Function<String, ? extends V> converter, BiConsumer<T, ? super V> setter) {
+            checkSetter("attribute", attributeName, setter);
+            if (converter == null) {
+                throw new IllegalArgumentException(String.format("attribute(attributeName[%s], converter[null]) - converter cannot be null", attributeName));
+            }
+
+            return addAttribute(attributeName, required, (target, name, value, parser) -> {
+                V convertedValue;
+                try {
+                    convertedValue = converter.apply(value);
+                } catch (Exception conversionEx) {
+                    throw new ElementDefinitionException(String.format(ElementParser.ATTRIBUTE_CONVERSION_FAILURE_EXPLANATION_FORMAT, name, value, type, parser.getTagName(), parser.getOwnerDocumentURI()), conversionEx);
+                }
+                setter.accept(target, convertedValue);
+            });
+        }
+
+        /**
+         * Bind the boolean value of an attribute, converted using the rules of {@link Boolean#parseBoolean(String)}.
+         *
+         * @param attributeName The name of the attribute.
+         * @param required      If true, the attribute must exist or an {@link ElementDefinitionException} will be thrown when binding.
+         * @param setter        The setter to call with the attribute value.
+         *
+         * @return this builder.
+         */
+        public Builder<T> booleanAttribute(String attributeName, boolean required, BiConsumer<T, Boolean> setter) {
+            checkSetter("booleanAttribute", attributeName, setter);
+
+            return addAttribute(attributeName, required, (target, name, value, parser) -> setter.accept(target, Boolean.parseBoolean(value)));
+        }
+
+        /**
+         * Bind the int value of an attribute.
+         *
+         * @param attributeName The name of the attribute.
+         * @param required      If true, the attribute must exist or an {@link ElementDefinitionException} will be thrown when binding.
+         * @param setter        The setter to call with the attribute value.
+         *
+         * @return this builder.
+         */
+        public Builder<T> intAttribute(String attributeName, boolean required, ObjIntConsumer<T> setter) {
+            checkSetter("intAttribute", attributeName, setter);
+
+            return addAttribute(attributeName, required, (target, name, value, parser) -> setter.accept(target, parser.parseInt(name, value)));
+        }
+
+        /**
+         * Bind the long value of an attribute.
+         *
+         * @param attributeName The name of the attribute.
+         * @param required      If true, the attribute must exist or an {@link ElementDefinitionException} will be thrown when binding.
+         * @param setter        The setter to call with the attribute value.
+         *
+         * @return this builder.
+         */
+        public Builder<T> longAttribute(String attributeName, boolean required, ObjLongConsumer<T> setter) {
+            checkSetter("longAttribute", attributeName, setter);
+
+            return addAttribute(attributeName, required, (target, name, value, parser) -> setter.accept(target, parser.parseLong(name, value)));
+        }
+
+        /**
+         * Bind the double value of an attribute.
+         *
+         * @param attributeName The name of the attribute.
+         * @param required      If true, the attribute must exist or an {@link ElementDefinitionException} will be thrown when binding.
+         * @param setter        The setter to call with the attribute value.
+         *
+         * @return this builder.
+         */
+        public Builder<T> doubleAttribute(String attributeName, boolean required, ObjDoubleConsumer<T> setter) {
+            checkSetter("doubleAttribute", attributeName, setter);
+
+            return addAttribute(attributeName, required, (target, name, value, parser) -> setter.accept(target, parser.parseDouble(name, value)));
+        }
+
+        /**
+         * Bind the attributes that are not bound by name.  The setter is always called - with an empty {@link Map} if
+         * there are no other attributes.
+         *
+         * @param setter The setter to call with the names and values of the other attributes, in document order.
+         *
+         * @return this builder.
+         */
+        public Builder<T> otherAttributes(BiConsumer<T, Map<String, String>> setter) {
+            if (setter == null) {
+                throw new IllegalArgumentException("otherAttributes(setter[null]) - setter cannot be null");
+            }
+
+            this.otherAttributesSetter = setter;
+
+            return this;
+        }
+
+        /**
+         * Bind each descendant element with the specified tag name.
+         *
+         * NOTE:  The same {@link ElementParser} instance is passed for every descendant - it must not be retained by the setter.
+         *
+         * @param tagName The {@link Element} tag-name to match on.
+         * @param setter  The setter to call with a parser for each matching descendant element, in document order.
+         *
+         * @return this builder.
+         */
+        public Builder<T> child(String tagName, BiConsumer<T, ElementParser> setter) {
+            checkChild("child", tagName, setter);
+
+            childBindings.put(tagName, new ChildBinding<>(setter, null, -1));
+
+            return this;
+        }
+
+        /**
+         * Bind the text content of each descendant element with the specified tag name.
+         *
+         * @param tagName The {@link Element} tag-name to match on.
+         * @param setter  The setter to call with the text content of each matching descendant element, in document order.
+         *
+         * @return this builder.
+         */
+        public Builder<T> childValue(String tagName, BiConsumer<T, String> setter) {
+            checkChild("childValue", tagName, setter);
+
+            childBindings.put(tagName, new ChildBinding<>((target, childParser) -> setter.accept(target, childParser.getValue()), null, -1));
+
+            return this;
+        }
+
+        /**
+         * Bind the text content of all the descendant elements with the specified tag name as a {@link List}.  The setter
+         * is not called if there are no matching descendant elements.
+         *
+         * @param tagName The {@link Element} tag-name to match on.
+         * @param setter  The setter to call with the text content of the matching descendant elements, in document order.
+         *
+         * @return this builder.
+         */
+        public Builder<T> childValues(String tagName, BiConsumer<T, List<String>> setter) {
+            checkChild("childValues", tagName, setter);
+
+            ChildBinding<T> binding = new ChildBinding<>(null, setter, collectedChildBindings.size());
+            collectedChildBindings.add(binding);
+            childBindings.put(tagName, binding);
+
+            return this;
+        }
+
+        /**
+         * Build the element specification.
+         *
+         * @return the element specification.
+         */
+        public ElementSpec<T> build() {
+            return new ElementSpec<>(this);
+        }
+
+        Builder<T> addAttribute(String attributeName, boolean required, AttributeSetter<T> setter) {
+            attributeBindings.put(attributeName, new AttributeBinding<>(required, setter));
+            if (required) {
+                requiredAttributeNames.add(attributeName);
+            }
+
+            return this;
+        }
+
+        void checkSetter(String methodName, String attributeName, Object setter) {
+            if (attributeName == null || attributeName.isEmpty()) {
+                throw new IllegalArgumentException(String.format("%s(attributeName[%s]) - attributeName cannot be null or empty", methodName, attributeName));
+            }
+
+            if (setter == null) {
+                throw new IllegalArgumentException(String.format("%s(attributeName[%s], setter[null]) - setter cannot be null", methodName, attributeName));
+            }
+
+            if (attributeBindings.containsKey(attributeName)) {
+                throw new IllegalArgumentException(String.format("%s(attributeName[%s]) - attribute is already bound", methodName, attributeName));
+            }
+        }
+
+        void checkChild(String methodName, String tagName, Object setter) {
+            if (tagName == null || tagName.isEmpty()) {
+                throw new IllegalArgumentException(String.format("%s(tagName[%s]) - tagName cannot be null or empty", methodName, tagName));
+            }
+
+            if (setter == null) {
+                throw new IllegalArgumentException(String.format("%s(tagName[%s], setter[null]) - setter cannot be null", methodName, tagName));
+            }
+
+            if (childBindings.containsKey(tagName)) {
+                throw new IllegalArgumentException(String.format("%s(tagName[%s]) - descendant element is already bound", methodName, tagName));
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.placeholder;
+
+import java.util.Dictionary;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.Map;
+
+
+/**
+ * A {@link PlaceholderResolver} that resolves placeholder keys from a snapshot of a {@link Dictionary} or {@link Map} -
+ * i.e. the properties of a ConfigurationAdmin Configuration.
+ *
+ * The entries are copied when the resolver is created, so later changes to the source are not visible.  Values are
+ * converted with {@link String#valueOf(Object)}.
+ */
+public class DictionaryPlaceholderResolver implements PlaceholderResolver {
+    final Map<String, String> values;
+
+    /**
+     * Construct a resolver from a snapshot of a {@link Dictionary}.
+     *
+     * @param properties The source properties, which may be null.
+     */
+    public DictionaryPlaceholderResolver(Dictionary<String, ?> properties) {
+        values = new HashMap<>();
+
+        if (properties != null) {
+            for (Enumeration<String> keys = properties.keys(); keys.hasMoreElements(); ) {
+                String key = keys.nextElement();
+                Object value = properties.get(key);
+                if (value != null) {
+                    values.put(key, String.valueOf(value));
+                }
+            }
+        }
+    }
+
+    /**
+     * Create a resolver from a snapshot of a {@link Map}.
+     *
+     * @param properties The source properties, which may be null.
+     *
+     * @return the resolver.
+     */
+    public static DictionaryPlaceholderResolver fromMap(Map<String, ?> properties) {
+        Hashtable<String, Object> dictionary = new Hashtable<>();
+
+        if (properties != null) {
+            for (Map.Entry<String, ?> property : properties.entrySet()) {
+                if (property.getKey() != null && property.getValue() != null) {
+                    dictionary.put(property.getKey(), property.getValue());
+                }
+            }
+        }
+
+        return new DictionaryPlaceholderResolver(dictionary);
+    }
+
+    @Override
+    public String resolve(String key) {
+        return values.get(key);
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.placeholder;
+
+
+/**
+ * Resolves the keys of the placeholders in a {@link PlaceholderTemplate}.
+ */
+@FunctionalInterface
+public interface PlaceholderResolver {
+    /**
+     * Return the value for a placeholder key.
+     *
+     * @param key The placeholder key.
+     *
+     * @return the value of the key, or null if the key cannot be resolved.
+     */
+    String resolve(String key);
+
+    /**
+     * Return a resolver that consults this resolver first and then the supplied resolver.
+     *
+     * @param fallbackResolver The resolver to consult when this resolver cannot resolve a key.
+     *
+     * @return the combined resolver.
+     */
+    default PlaceholderResolver orElse(PlaceholderResolver fallbackResolver) {
+        if (fallbackResolver == null) {
+            throw new IllegalArgumentException("orElse(fallbackResolver[null]) - fallbackResolver cannot be null");
+        }
+
+        return key -> {
+            String value = resolve(key);
+            return value != null ? value : fallbackResolver.resolve(key);
+        };
+    }
+}
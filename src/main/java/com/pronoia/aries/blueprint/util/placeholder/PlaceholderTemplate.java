@@ -0,0 +1,241 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.placeholder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+ * A string containing {@code ${key}} and {@code ${key:default}} placeholders, compiled into literal and placeholder segments.
+ *
+ * Templates are compiled once and cached by their raw string in a bounded concurrent cache, so repeated occurrences of
+ * the same string are not re-tokenized and cache hits do not take a lock.  The cache is cleared when it is full.  A '${' without a matching '}' is treated as literal text.
+ * Placeholders are not nested, and the default value is everything after the first ':' in the placeholder.
+ *
+ * Instances are immutable and can be shared between threads.
+ */
+public final class PlaceholderTemplate {
+    public static final String PLACEHOLDER_PREFIX = "${";
+    public static final String PLACEHOLDER_SUFFIX = "}";
+    public static final char DEFAULT_VALUE_SEPARATOR = ':';
+
+    static final int CACHE_SIZE = 512;
+
+    static final ConcurrentMap<String, PlaceholderTemplate> TEMPLATE_CACHE = new ConcurrentHashMap<>(CACHE_SIZE * 4 / 3 + 1);
+
+    final String template;
+    final String[] literals;
+    final String[] keys;
+    final String[] defaultValues;
+
+    PlaceholderTemplate(String template, String[] literals, String[] keys, String[] defaultValues) {
+        this.template = template;
+        this.literals = literals;
+        this.keys = keys;
+        this.defaultValues = defaultValues;
+    }
+
+    /**
+     * Determine if a string contains a placeholder prefix, which is a cheap check that avoids compiling plain strings.
+     *
+     * @param value The string to check.
+     *
+     * @return true if the string may contain placeholders.
+     */
+    public static boolean hasPlaceholders(String value) {
+        return value != null && value.contains(PLACEHOLDER_PREFIX);
+    }
+
+    /**
+     * Resolve the placeholders in a string.
+     *
+     * @param value    The string to resolve, which may be null.
+     * @param resolver The resolver for the placeholder keys.
+     *
+     * @return the resolved string - the supplied string is returned if it does not contain placeholders.
+     *
+     * @throws IllegalArgumentException Raised if a placeholder without a default value cannot be resolved.
+     */
+    public static String resolve(String value, PlaceholderResolver resolver) {
+        return resolve(value, resolver, false);
+    }
+
+    /**
+     * Resolve the placeholders in a string, optionally leaving unresolved placeholders in place.
+     *
+     * @param value          The string to resolve, which may be null.
+     * @param resolver       The resolver for the placeholder keys.
+     * @param keepUnresolved If true, a placeholder without a default value that cannot be resolved is left as literal
+     *                       text, so it can be resolved later (e.g. by a container-time property placeholder).
+     *
+     * @return the resolved string - the supplied string is returned if it does not contain placeholders.
+     *
+     * @throws IllegalArgumentException Raised if keepUnresolved is false and a placeholder without a default value cannot be resolved.
+     */
+    public static String resolve(String value, PlaceholderResolver resolver, boolean keepUnresolved) {
+        return hasPlaceholders(value) ? compile(value).resolve(resolver, keepUnresolved) : value;
+    }
+
+    /**
+     * Return the compiled template for a string, using the cached template if there is one.
+     *
+     * @param template The template string.
+     *
+     * @return the compiled template.
+     */
+    public static PlaceholderTemplate compile(String template) {
+        if (template == null) {
+            throw new IllegalArgumentException("compile(template[null]) - template cannot be null");
+        }
+
+        PlaceholderTemplate answer = TEMPLATE_CACHE.get(template);
+        if (answer == null) {
+            answer = parse(template);
+            if (TEMPLATE_CACHE.size() >= CACHE_SIZE) {
+                TEMPLATE_CACHE.clear();
+            }
+            PlaceholderTemplate cachedAnswer = TEMPLATE_CACHE.putIfAbsent(template, answer);
+            if (cachedAnswer != null) {
+                answer = cachedAnswer;
+            }
+        }
+
+        return answer;
+    }
+
+    static PlaceholderTemplate parse(String template) {
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<String> defaultValues = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+
+        while (position < template.length()) {
+            int prefixStart = template.indexOf(PLACEHOLDER_PREFIX, position);
+            int suffixStart = (prefixStart < 0) ? -1 : template.indexOf(PLACEHOLDER_SUFFIX, prefixStart + PLACEHOLDER_PREFIX.length());
+
+            if (prefixStart < 0 || suffixStart < 0) {
+                literal.append(template, position, template.length());
+                break;
+            }
+
+            String placeholder = template.substring(prefixStart + PLACEHOLDER_PREFIX.length(), suffixStart);
+            int separatorIndex = placeholder.indexOf(DEFAULT_VALUE_SEPARATOR);
+            String key = (separatorIndex < 0) ? placeholder : placeholder.substring(0, separatorIndex);
+
+            if (key.isEmpty()) {
+                // Not a placeholder - keep it as literal text
+                literal.append(template, position, suffixStart + PLACEHOLDER_SUFFIX.length());
+            } else {
+                literal.append(template, position, prefixStart);
+                literals.add(literal.toString());
+                literal.setLength(0);
+
+                keys.add(key);
+                defaultValues.add((separatorIndex < 0) ? null : placeholder.substring(separatorIndex + 1));
+            }
+
+            position = suffixStart + PLACEHOLDER_SUFFIX.length();
+        }
+
+        literals.add(literal.toString());
+
+        return new PlaceholderTemplate(template, literals.toArray(new String[literals.size()]), keys.toArray(new String[keys.size()]), defaultValues.toArray(new String[defaultValues.size()]));
+    }
+
+    /**
+     * Determine if the template is plain text.
+     *
+     * @return true if the template does not contain any placeholders.
+     */
+    public boolean isLiteral() {
+        return keys.length == 0;
+    }
+
+    /**
+     * Resolve the placeholders in the template.
+     *
+     * @param resolver The resolver for the placeholder keys.
+     *
+     * @return the resolved string.
+     *
+     * @throws IllegalArgumentException Raised if a placeholder without a default value cannot be resolved.
+     */
+    public String resolve(PlaceholderResolver resolver) {
+        return resolve(resolver, false);
+    }
+
+    /**
+     * Resolve the placeholders in the template, optionally leaving unresolved placeholders in place.
+     *
+     * @param resolver       The resolver for the placeholder keys.
+     * @param keepUnresolved If true, a placeholder without a default value that cannot be resolved is left as literal text.
+     *
+     * @return the resolved string.
+     *
+     * @throws IllegalArgumentException Raised if keepUnresolved is false and a placeholder without a default value cannot be resolved.
+     */
+    public String resolve(PlaceholderResolver resolver, boolean keepUnresolved) {
+        if (isLiteral()) {
+            return literals[0];
+        }
+
+        if (resolver == null) {
+            String message = String.format("resolve(resolver[null]) - resolver cannot be null {template = '%s'}", template);
+            throw new IllegalArgumentException(message);
+        }
+
+        StringBuilder answer = new StringBuilder(template.length());
+
+        for (int keyIndex = 0; keyIndex < keys.length; ++keyIndex) {
+            answer.append(literals[keyIndex]);
+
+            String value = resolver.resolve(keys[keyIndex]);
+            if (value == null) {
+                value = defaultValues[keyIndex];
+                if (value == null && keepUnresolved) {
+                    // A placeholder without a default is just the key, so the original text can be rebuilt
+                    value = PLACEHOLDER_PREFIX + keys[keyIndex] + PLACEHOLDER_SUFFIX;
+                } else if (value == null) {
+                    String message = String.format("resolve(resolver) - placeholder '%s' could not be resolved and does not have a default value {template = '%s'}", keys[keyIndex], template);
+                    throw new IllegalArgumentException(message);
+                }
+            }
+            answer.append(value);
+        }
+
+        return answer.append(literals[keys.length]).toString();
+    }
+
+    /**
+     * Return the template string.
+     *
+     * @return the template string the template was compiled from.
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
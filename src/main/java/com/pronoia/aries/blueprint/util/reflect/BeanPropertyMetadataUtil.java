@@ -19,7 +19,6 @@ package com.pronoia.aries.blueprint.util.reflect;
 import org.apache.aries.blueprint.mutable.MutableBeanProperty;
 import org.apache.aries.blueprint.mutable.MutableValueMetadata;
 import org.apache.aries.blueprint.reflect.BeanPropertyImpl;
-import org.apache.aries.blueprint.reflect.MetadataUtil;
 import org.osgi.service.blueprint.reflect.Metadata;
 import org.osgi.service.blueprint.reflect.ValueMetadata;
 import org.slf4j.Logger;
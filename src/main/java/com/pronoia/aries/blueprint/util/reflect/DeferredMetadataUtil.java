@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.reflect;
+
+import java.util.function.Supplier;
+
+import org.apache.aries.blueprint.PassThroughMetadata;
+import org.apache.aries.blueprint.mutable.MutableBeanMetadata;
+import org.osgi.service.blueprint.reflect.ComponentMetadata;
+
+
+/**
+ * Utility class providing helper-methods for creating Blueprint metadata for objects that are created on first use.
+ *
+ * The metadata is a lazily-activated singleton bean created by a static factory method, which calls a
+ * {@link DeferredObject} - so the work of creating the object is only done if the component is instantiated, and it is
+ * only done once.
+ */
+public class DeferredMetadataUtil {
+    static final String FACTORY_METHOD = "create";
+
+    DeferredMetadataUtil() {
+    }
+
+    /**
+     * Create the metadata for a deferred object.
+     *
+     * @param supplier the supplier of the object - called at most once, when the component is first instantiated
+     *
+     * @return a new reflect instance
+     */
+    public static MutableBeanMetadata create(Supplier<?> supplier) {
+        if (supplier == null) {
+            throw new IllegalArgumentException("create(supplier[null]) - supplier cannot be null");
+        }
+
+        MutableBeanMetadata metadata = SingletonBeanMetadataUtil.create(DeferredObject.class);
+
+        metadata.setRuntimeClass(DeferredObject.class);
+        metadata.setActivation(ComponentMetadata.ACTIVATION_LAZY);
+        metadata.setFactoryMethod(FACTORY_METHOD);
+        metadata.addArgument(PassThroughMetadataUtil.create(supplier instanceof DeferredObject ? supplier : new DeferredObject<>(supplier)), null, 0);
+
+        return metadata;
+    }
+
+    /**
+     * Create the metadata for a deferred object.
+     *
+     * @param supplier the supplier of the object - called at most once, when the component is first instantiated
+     * @param beanId   the ID for the bean
+     *
+     * @return a new reflect instance
+     */
+    public static MutableBeanMetadata create(Supplier<?> supplier, String beanId) {
+        MutableBeanMetadata metadata = create(supplier);
+
+        metadata.setId(beanId);
+
+        return metadata;
+    }
+
+    /**
+     * Return the deferred object for metadata created by this class.
+     *
+     * @param metadata the metadata
+     *
+     * @return the deferred object, or null if the metadata was not created by this class
+     */
+    public static DeferredObject<?> getDeferredObject(ComponentMetadata metadata) {
+        if (metadata instanceof MutableBeanMetadata && FACTORY_METHOD.equals(((MutableBeanMetadata) metadata).getFactoryMethod())
+            && DeferredObject.class.equals(((MutableBeanMetadata) metadata).getRuntimeClass())) {
+            Object argumentValue = ((MutableBeanMetadata) metadata).getArguments().get(0).getValue();
+            if (argumentValue instanceof PassThroughMetadata) {
+                return (DeferredObject<?>) ((PassThroughMetadata) argumentValue).getObject();
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.reflect;
+
+import java.util.function.Supplier;
+
+
+/**
+ * A memoizing {@link Supplier} for an object that is expensive to create - the object is created the first time it is
+ * requested, and the same object is returned afterwards.
+ *
+ * If the underlying supplier fails, the failure is propagated and the object is created again on the next request.
+ * Once the object has been created, the underlying supplier is released.
+ *
+ * @param <T> the type of the object
+ */
+public final class DeferredObject<T> implements Supplier<T> {
+    volatile Supplier<? extends T> supplier;
+    volatile boolean resolved;
+    T value;
+
+    public DeferredObject(Supplier<? extends T> supplier) {
+        if (supplier == null) {
+            throw new IllegalArgumentException("DeferredObject(supplier[null]) - supplier cannot be null");
+        }
+        this.supplier = supplier;
+    }
+
+    /**
+     * The static factory method used by the Blueprint metadata created by {@link DeferredMetadataUtil}.
+     *
+     * @param deferredObject the deferred object
+     *
+     * @return the object
+     */
+    public static Object create(DeferredObject<?> deferredObject) {
+        return deferredObject.get();
+    }
+
+    @Override
+    public T get() {
+        if (!resolved) {
+            synchronized (this) {
+                if (!resolved) {
+                    value = supplier.get();
+                    resolved = true;
+                    supplier = null;
+                }
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Determine if the object has been created.
+     *
+     * @return true if the object has been created
+     */
+    public boolean isResolved() {
+        return resolved;
+    }
+
+    @Override
+    public String toString() {
+        return resolved ? String.format("DeferredObject{%s}", value) : "DeferredObject{unresolved}";
+    }
+}
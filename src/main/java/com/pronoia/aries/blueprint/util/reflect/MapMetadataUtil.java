@@ -16,16 +16,17 @@
  */
 package com.pronoia.aries.blueprint.util.reflect;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.apache.aries.blueprint.mutable.MutableMapMetadata;
+import org.apache.aries.blueprint.mutable.MutablePassThroughMetadata;
 import org.apache.aries.blueprint.mutable.MutableValueMetadata;
-import org.apache.aries.blueprint.reflect.MetadataUtil;
 
 import org.osgi.service.blueprint.container.ComponentDefinitionException;
 import org.osgi.service.blueprint.reflect.MapMetadata;
 import org.osgi.service.blueprint.reflect.Metadata;
-import org.osgi.service.blueprint.reflect.NullMetadata;
 import org.osgi.service.blueprint.reflect.NonNullMetadata;
 
 import org.slf4j.Logger;
@@ -47,7 +48,7 @@ public class MapMetadataUtil {
      * @return a new metadata instance
      */
     public static MutableMapMetadata create() {
-        MutableMapMetadata metadata = MetadataUtil.createMetadata(MutableMapMetadata.class);
+        MutableMapMetadata metadata = MetadataFactory.createMapMetadata();
 
         return metadata;
     }
@@ -141,8 +142,10 @@ public class MapMetadataUtil {
             NonNullMetadata keyMetadata;
             if (key instanceof NonNullMetadata) {
                 keyMetadata = (NonNullMetadata) key;
+            } else if (ObjectGraphMetadataUtil.isContainer(key)) {
+                keyMetadata = (NonNullMetadata) ObjectGraphMetadataUtil.create(key);
             } else {
-                MutableValueMetadata tmpKeyMetadata = MetadataUtil.createMetadata(MutableValueMetadata.class);
+                MutableValueMetadata tmpKeyMetadata = MetadataFactory.createValueMetadata();
 
                 tmpKeyMetadata.setType(key.getClass().getName());
                 tmpKeyMetadata.setStringValue(key.toString());
@@ -153,8 +156,10 @@ public class MapMetadataUtil {
             if (value != null) {
                 if (value instanceof Metadata) {
                     mapMetadata.addEntry(keyMetadata, (Metadata) value);
+                } else if (ObjectGraphMetadataUtil.isContainer(value)) {
+                    mapMetadata.addEntry(keyMetadata, ObjectGraphMetadataUtil.create(value));
                 } else {
-                    MutableValueMetadata tmpValueMetadata = MetadataUtil.createMetadata(MutableValueMetadata.class);
+                    MutableValueMetadata tmpValueMetadata = MetadataFactory.createValueMetadata();
 
                     tmpValueMetadata.setType(value.getClass().getName());
                     tmpValueMetadata.setStringValue(value.toString());
@@ -162,7 +167,7 @@ public class MapMetadataUtil {
                     mapMetadata.addEntry(keyMetadata, tmpValueMetadata);
                 }
             } else {
-                mapMetadata.addEntry(keyMetadata, MetadataUtil.createMetadata(NullMetadata.class));
+                mapMetadata.addEntry(keyMetadata, MetadataPool.nullValue());
             }
         }
     }
@@ -185,4 +190,32 @@ public class MapMetadataUtil {
 
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Create an Aries-specific PassThroughMetadata instance that holds an immutable copy of the entries as a Map.
+     *
+     * Unlike {@link #create(Map)}, which creates metadata for each key and value that the container converts when it
+     * is instantiated, the container injects the Map as is - so large constant lookup tables only need a single
+     * metadata instance.  The keys and values must be instances of the types the injection point expects, and cannot
+     * be metadata - use {@link #create(Map)} for maps that contain references.
+     *
+     * @param values the entries the Map will contain - may be null
+     *
+     * @return a new metadata instance
+     */
+    public static <K, V> MutablePassThroughMetadata createPassThrough(Map<K, V> values) {
+        if (values == null || values.isEmpty()) {
+            return PassThroughMetadataUtil.create(Collections.emptyMap());
+        }
+
+        Map<K, V> copy = new LinkedHashMap<>(PassThroughMetadataUtil.hashCapacity(values.size()));
+        for (Map.Entry<K, V> entry : values.entrySet()) {
+            PassThroughMetadataUtil.verifyPassThroughValue("createPassThrough", entry.getKey());
+            PassThroughMetadataUtil.verifyPassThroughValue("createPassThrough", entry.getValue());
+            copy.put(entry.getKey(), entry.getValue());
+        }
+
+        return PassThroughMetadataUtil.create(Collections.unmodifiableMap(copy));
+    }
+
+}
@@ -0,0 +1,222 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.reflect;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.aries.blueprint.PassThroughMetadata;
+import org.apache.aries.blueprint.mutable.MutableBeanMetadata;
+import org.apache.aries.blueprint.mutable.MutableCollectionMetadata;
+import org.apache.aries.blueprint.mutable.MutableIdRefMetadata;
+import org.apache.aries.blueprint.mutable.MutableMapMetadata;
+import org.apache.aries.blueprint.mutable.MutablePassThroughMetadata;
+import org.apache.aries.blueprint.mutable.MutablePropsMetadata;
+import org.apache.aries.blueprint.mutable.MutableRefMetadata;
+import org.apache.aries.blueprint.mutable.MutableReferenceListMetadata;
+import org.apache.aries.blueprint.mutable.MutableReferenceMetadata;
+import org.apache.aries.blueprint.mutable.MutableServiceMetadata;
+import org.apache.aries.blueprint.mutable.MutableValueMetadata;
+import org.apache.aries.blueprint.reflect.BeanMetadataImpl;
+import org.apache.aries.blueprint.reflect.CollectionMetadataImpl;
+import org.apache.aries.blueprint.reflect.IdRefMetadataImpl;
+import org.apache.aries.blueprint.reflect.MapMetadataImpl;
+import org.apache.aries.blueprint.reflect.MetadataUtil;
+import org.apache.aries.blueprint.reflect.PassThroughMetadataImpl;
+import org.apache.aries.blueprint.reflect.PropsMetadataImpl;
+import org.apache.aries.blueprint.reflect.RefMetadataImpl;
+import org.apache.aries.blueprint.reflect.ReferenceListMetadataImpl;
+import org.apache.aries.blueprint.reflect.ReferenceMetadataImpl;
+import org.apache.aries.blueprint.reflect.ServiceMetadataImpl;
+import org.apache.aries.blueprint.reflect.ValueMetadataImpl;
+import org.osgi.service.blueprint.reflect.BeanMetadata;
+import org.osgi.service.blueprint.reflect.CollectionMetadata;
+import org.osgi.service.blueprint.reflect.IdRefMetadata;
+import org.osgi.service.blueprint.reflect.MapMetadata;
+import org.osgi.service.blueprint.reflect.Metadata;
+import org.osgi.service.blueprint.reflect.NullMetadata;
+import org.osgi.service.blueprint.reflect.PropsMetadata;
+import org.osgi.service.blueprint.reflect.RefMetadata;
+import org.osgi.service.blueprint.reflect.ReferenceListMetadata;
+import org.osgi.service.blueprint.reflect.ReferenceMetadata;
+import org.osgi.service.blueprint.reflect.ServiceMetadata;
+import org.osgi.service.blueprint.reflect.ValueMetadata;
+
+
+/**
+ * Factory for the Aries-specific mutable implementations of the standard Blueprint metadata interfaces.
+ *
+ * {@link MetadataUtil#createMetadata(Class)} tests the requested type against each metadata interface in turn, so
+ * creating a collection takes ten failed checks before the implementation is found.  The typed methods of this class
+ * construct the implementations directly, and {@link #create(Class)} finds them with a single lookup - falling back to
+ * {@link MetadataUtil#createMetadata(Class)} for types it does not know.
+ */
+public final class MetadataFactory {
+    static final Map<Class<?>, Supplier<? extends Metadata>> FACTORIES;
+
+    static {
+        Map<Class<?>, Supplier<? extends Metadata>> factories = new IdentityHashMap<>();
+
+        register(factories, MetadataFactory::createBeanMetadata, BeanMetadata.class, MutableBeanMetadata.class);
+        register(factories, MetadataFactory::createCollectionMetadata, CollectionMetadata.class, MutableCollectionMetadata.class);
+        register(factories, MetadataFactory::createIdRefMetadata, IdRefMetadata.class, MutableIdRefMetadata.class);
+        register(factories, MetadataFactory::createMapMetadata, MapMetadata.class, MutableMapMetadata.class);
+        register(factories, MetadataFactory::createPassThroughMetadata, PassThroughMetadata.class, MutablePassThroughMetadata.class);
+        register(factories, MetadataFactory::createPropsMetadata, PropsMetadata.class, MutablePropsMetadata.class);
+        register(factories, MetadataFactory::createRefMetadata, RefMetadata.class, MutableRefMetadata.class);
+        register(factories, MetadataFactory::createReferenceListMetadata, ReferenceListMetadata.class, MutableReferenceListMetadata.class);
+        register(factories, MetadataFactory::createReferenceMetadata, ReferenceMetadata.class, MutableReferenceMetadata.class);
+        register(factories, MetadataFactory::createServiceMetadata, ServiceMetadata.class, MutableServiceMetadata.class);
+        register(factories, MetadataFactory::createValueMetadata, ValueMetadata.class, MutableValueMetadata.class);
+        register(factories, () -> NullMetadata.NULL, NullMetadata.class);
+
+        FACTORIES = Collections.unmodifiableMap(factories);
+    }
+
+    private MetadataFactory() {
+    }
+
+    static void register(Map<Class<?>, Supplier<? extends Metadata>> factories, Supplier<? extends Metadata> factory, Class<?>... metadataTypes) {
+        for (Class<?> metadataType : metadataTypes) {
+            factories.put(metadataType, factory);
+        }
+    }
+
+    /**
+     * Create an Aries-specific instance of a metadata interface - equivalent to {@link MetadataUtil#createMetadata(Class)}.
+     *
+     * @param metadataType the standard or Aries-specific mutable metadata interface
+     * @param <T>          the metadata type
+     *
+     * @return a new metadata instance, or the shared instance for {@link NullMetadata}
+     *
+     * @throws IllegalArgumentException if the metadata type is not supported
+     */
+    public static <T extends Metadata> T create(Class<T> metadataType) {
+        if (metadataType == null) {
+            throw new IllegalArgumentException("create(metadataType[null]) - metadataType cannot be null");
+        }
+
+        Supplier<? extends Metadata> factory = FACTORIES.get(metadataType);
+        if (factory == null) {
+            return MetadataUtil.createMetadata(metadataType);
+        }
+
+        return metadataType.cast(factory.get());
+    }
+
+    /**
+     * Create an Aries-specific mutable instance of the standard BeanMetadata interface.
+     *
+     * @return a new metadata instance
+     */
+    public static MutableBeanMetadata createBeanMetadata() {
+        return new BeanMetadataImpl();
+    }
+
+    /**
+     * Create an Aries-specific mutable instance of the standard CollectionMetadata interface.
+     *
+     * @return a new metadata instance
+     */
+    public static MutableCollectionMetadata createCollectionMetadata() {
+        return new CollectionMetadataImpl();
+    }
+
+    /**
+     * Create an Aries-specific mutable instance of the standard IdRefMetadata interface.
+     *
+     * @return a new metadata instance
+     */
+    public static MutableIdRefMetadata createIdRefMetadata() {
+        return new IdRefMetadataImpl();
+    }
+
+    /**
+     * Create an Aries-specific mutable instance of the standard MapMetadata interface.
+     *
+     * @return a new metadata instance
+     */
+    public static MutableMapMetadata createMapMetadata() {
+        return new MapMetadataImpl();
+    }
+
+    /**
+     * Create an Aries-specific mutable instance of the Aries PassThroughMetadata interface.
+     *
+     * @return a new metadata instance
+     */
+    public static MutablePassThroughMetadata createPassThroughMetadata() {
+        return new PassThroughMetadataImpl();
+    }
+
+    /**
+     * Create an Aries-specific mutable instance of the standard PropsMetadata interface.
+     *
+     * @return a new metadata instance
+     */
+    public static MutablePropsMetadata createPropsMetadata() {
+        return new PropsMetadataImpl();
+    }
+
+    /**
+     * Create an Aries-specific mutable instance of the standard RefMetadata interface.
+     *
+     * @return a new metadata instance
+     */
+    public static MutableRefMetadata createRefMetadata() {
+        return new RefMetadataImpl();
+    }
+
+    /**
+     * Create an Aries-specific mutable instance of the standard ReferenceListMetadata interface.
+     *
+     * @return a new metadata instance
+     */
+    public static MutableReferenceListMetadata createReferenceListMetadata() {
+        return new ReferenceListMetadataImpl();
+    }
+
+    /**
+     * Create an Aries-specific mutable instance of the standard ReferenceMetadata interface.
+     *
+     * @return a new metadata instance
+     */
+    public static MutableReferenceMetadata createReferenceMetadata() {
+        return new ReferenceMetadataImpl();
+    }
+
+    /**
+     * Create an Aries-specific mutable instance of the standard ServiceMetadata interface.
+     *
+     * @return a new metadata instance
+     */
+    public static MutableServiceMetadata createServiceMetadata() {
+        return new ServiceMetadataImpl();
+    }
+
+    /**
+     * Create an Aries-specific mutable instance of the standard ValueMetadata interface.
+     *
+     * @return a new metadata instance
+     */
+    public static MutableValueMetadata createValueMetadata() {
+        return new ValueMetadataImpl();
+    }
+}
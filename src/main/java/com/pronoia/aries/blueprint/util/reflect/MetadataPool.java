@@ -0,0 +1,237 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.reflect;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+import org.osgi.service.blueprint.reflect.Metadata;
+import org.osgi.service.blueprint.reflect.NullMetadata;
+import org.osgi.service.blueprint.reflect.RefMetadata;
+import org.osgi.service.blueprint.reflect.ValueMetadata;
+
+
+/**
+ * A pool of shared, immutable {@link RefMetadata}, {@link ValueMetadata} and {@link NullMetadata} instances.
+ *
+ * Equal metadata - the same component id, or the same string value and type - is returned as the same instance, so
+ * constants that are repeated in many components (i.e. references to 'blueprintBundleContext') are only allocated
+ * once.  The pool only holds weak references, so an instance is released when no component metadata refers to it, and
+ * once the pool reaches its maximum size new instances are returned without being pooled.
+ *
+ * NOTE:  The pooled instances cannot be modified, so they must only be used where the metadata is not mutated after
+ * it is created.  Use {@link RefMetadataUtil#create(String)} and {@link ValueMetadataUtil#create(Class, String)} when
+ * a mutable instance is required.
+ */
+public final class MetadataPool {
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    static final Map<Metadata, WeakReference<Metadata>> POOL = new WeakHashMap<>();
+    static volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    private MetadataPool() {
+    }
+
+    /**
+     * Return the shared instance of a {@link RefMetadata}.
+     *
+     * @param componentId the id of the referenced component
+     *
+     * @return the shared instance
+     */
+    public static RefMetadata ref(String componentId) {
+        if (componentId == null || componentId.isEmpty()) {
+            String message = String.format("ref(componentId[%s]) - componentId cannot be null or empty", componentId);
+            throw new IllegalArgumentException(message);
+        }
+
+        return intern(new SharedRefMetadata(componentId));
+    }
+
+    /**
+     * Return the shared instance of a {@link ValueMetadata} without a type.
+     *
+     * @param stringValue the string value
+     *
+     * @return the shared instance
+     */
+    public static ValueMetadata value(String stringValue) {
+        return value(stringValue, (String) null);
+    }
+
+    /**
+     * Return the shared instance of a {@link ValueMetadata}.
+     *
+     * @param stringValue the string value
+     * @param type        the type the value is converted to
+     *
+     * @return the shared instance
+     */
+    public static ValueMetadata value(String stringValue, Class<?> type) {
+        return value(stringValue, type != null ? type.getName() : null);
+    }
+
+    /**
+     * Return the shared instance of a {@link ValueMetadata}.
+     *
+     * @param stringValue the string value
+     * @param type        the name of the type the value is converted to - may be null
+     *
+     * @return the shared instance
+     */
+    public static ValueMetadata value(String stringValue, String type) {
+        if (stringValue == null) {
+            String message = String.format("value(stringValue[null], type[%s]) - stringValue cannot be null", type);
+            throw new IllegalArgumentException(message);
+        }
+
+        return intern(new SharedValueMetadata(stringValue, type));
+    }
+
+    /**
+     * Return the shared {@link NullMetadata} instance.
+     *
+     * @return the shared instance
+     */
+    public static NullMetadata nullValue() {
+        return NullMetadata.NULL;
+    }
+
+    /**
+     * Return the maximum number of instances held by the pool.
+     *
+     * @return the maximum size of the pool
+     */
+    public static int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Set the maximum number of instances held by the pool.  Instances that are already pooled are not released.
+     *
+     * @param maximumSize the maximum size of the pool - zero disables pooling
+     */
+    public static void setMaximumSize(int maximumSize) {
+        if (maximumSize < 0) {
+            String message = String.format("setMaximumSize(maximumSize[%d]) - maximumSize cannot be negative", maximumSize);
+            throw new IllegalArgumentException(message);
+        }
+
+        MetadataPool.maximumSize = maximumSize;
+    }
+
+    /**
+     * Return the number of instances currently held by the pool.
+     *
+     * @return the size of the pool
+     */
+    public static int size() {
+        synchronized (POOL) {
+            return POOL.size();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends Metadata> T intern(T metadata) {
+        synchronized (POOL) {
+            WeakReference<Metadata> pooledReference = POOL.get(metadata);
+            if (pooledReference != null) {
+                Metadata pooled = pooledReference.get();
+                if (pooled != null) {
+                    return (T) pooled;
+                }
+            }
+
+            if (POOL.size() < maximumSize) {
+                POOL.put(metadata, new WeakReference<>(metadata));
+            }
+        }
+
+        return metadata;
+    }
+
+    static final class SharedRefMetadata implements RefMetadata {
+        final String componentId;
+
+        SharedRefMetadata(String componentId) {
+            this.componentId = componentId;
+        }
+
+        @Override
+        public String getComponentId() {
+            return componentId;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof SharedRefMetadata && componentId.equals(((SharedRefMetadata) obj).componentId);
+        }
+
+        @Override
+        public int hashCode() {
+            return componentId.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("RefMetadata[componentId=%s]", componentId);
+        }
+    }
+
+    static final class SharedValueMetadata implements ValueMetadata {
+        final String stringValue;
+        final String type;
+
+        SharedValueMetadata(String stringValue, String type) {
+            this.stringValue = stringValue;
+            this.type = type;
+        }
+
+        @Override
+        public String getStringValue() {
+            return stringValue;
+        }
+
+        @Override
+        public String getType() {
+            return type;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof SharedValueMetadata)) {
+                return false;
+            }
+
+            SharedValueMetadata other = (SharedValueMetadata) obj;
+
+            return stringValue.equals(other.stringValue) && Objects.equals(type, other.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * stringValue.hashCode() + Objects.hashCode(type);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ValueMetadata[stringValue=%s, type=%s]", stringValue, type);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.reflect;
+
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.apache.aries.blueprint.mutable.MutableCollectionMetadata;
+import org.apache.aries.blueprint.mutable.MutableMapMetadata;
+import org.osgi.service.blueprint.reflect.Metadata;
+import org.osgi.service.blueprint.reflect.NonNullMetadata;
+
+
+/**
+ * Utility class for converting nested Java object graphs to Blueprint metadata.
+ *
+ * Collections are converted to CollectionMetadata - Sets as Sets, arrays as arrays and all other collections as Lists -
+ * Maps to MapMetadata, null to NullMetadata and other values to ValueMetadata.  Metadata found in the graph is used
+ * as is, so references to other components can be mixed in with the values.
+ *
+ * The graph is walked with an explicit stack rather than by recursion, so deeply nested graphs cannot overflow the
+ * call stack.  Each collection, map and array is converted once - if the same instance is found more than once in the
+ * graph, every occurrence shares the same metadata instance.  Cyclic graphs cannot be represented by Blueprint
+ * metadata, so they are rejected.
+ */
+public class ObjectGraphMetadataUtil {
+    ObjectGraphMetadataUtil() {
+    }
+
+    /**
+     * Determine if a value is a collection, map or array that is converted to nested metadata.
+     *
+     * @param value the value
+     *
+     * @return true if the value is converted to CollectionMetadata or MapMetadata
+     */
+    public static boolean isContainer(Object value) {
+        return value instanceof Collection || value instanceof Map || (value != null && value.getClass().isArray());
+    }
+
+    /**
+     * Convert an object graph to metadata.
+     *
+     * @param value the root of the object graph - may be null
+     *
+     * @return the metadata for the object graph
+     *
+     * @throws IllegalArgumentException if the graph contains a cycle, or a Map with a null key
+     */
+    public static Metadata create(Object value) {
+        return new Conversion().convert(value);
+    }
+
+    static final class Conversion {
+        final Map<Object, Metadata> converted = new IdentityHashMap<>();
+        final Map<Object, Boolean> inProgress = new IdentityHashMap<>();
+        final Deque<Frame> stack = new ArrayDeque<>();
+
+        Metadata convert(Object root) {
+            Metadata rootMetadata = visit(root);
+
+            while (!stack.isEmpty()) {
+                Frame frame = stack.peek();
+                if (frame.hasNext()) {
+                    frame.convertNext(this);
+                } else {
+                    inProgress.remove(frame.source);
+                    stack.pop();
+                }
+            }
+
+            return rootMetadata;
+        }
+
+        /**
+         * Return the metadata for a value.  Collections, maps and arrays are returned empty, and their contents are
+         * converted when their frame reaches the top of the stack.
+         */
+        Metadata visit(Object value) {
+            if (value == null) {
+                return MetadataPool.nullValue();
+            }
+
+            if (value instanceof Metadata) {
+                return (Metadata) value;
+            }
+
+            if (!isContainer(value)) {
+                return ValueMetadataUtil.create(value);
+            }
+
+            Metadata answer = converted.get(value);
+            if (answer != null) {
+                if (inProgress.containsKey(value)) {
+                    String message = String.format("create(value) - the object graph contains a cycle through %s@%x", value.getClass().getName(), System.identityHashCode(value));
+                    throw new IllegalArgumentException(message);
+                }
+                return answer;
+            }
+
+            Frame frame;
+            if (value instanceof Map) {
+                MutableMapMetadata mapMetadata = MapMetadataUtil.create();
+                frame = new MapFrame(value, ((Map<?, ?>) value).entrySet().iterator(), mapMetadata);
+                answer = mapMetadata;
+            } else {
+                MutableCollectionMetadata collectionMetadata = MetadataFactory.createCollectionMetadata();
+                Iterator<?> values;
+                if (value instanceof Collection) {
+                    collectionMetadata.setCollectionClass(value instanceof Set ? Set.class : List.class);
+                    values = ((Collection<?>) value).iterator();
+                } else {
+                    Class<?> componentType = value.getClass().getComponentType();
+                    collectionMetadata.setCollectionClass(Object[].class);
+                    if (!componentType.isPrimitive() && componentType != Object.class) {
+                        collectionMetadata.setValueType(componentType.getName());
+                    }
+                    values = new ArrayIterator(value);
+                }
+                frame = new CollectionFrame(value, values, collectionMetadata);
+                answer = collectionMetadata;
+            }
+
+            converted.put(value, answer);
+            inProgress.put(value, Boolean.TRUE);
+            stack.push(frame);
+
+            return answer;
+        }
+    }
+
+    abstract static class Frame {
+        final Object source;
+        final Iterator<?> entries;
+
+        Frame(Object source, Iterator<?> entries) {
+            this.source = source;
+            this.entries = entries;
+        }
+
+        boolean hasNext() {
+            return entries.hasNext();
+        }
+
+        abstract void convertNext(Conversion conversion);
+    }
+
+    static final class CollectionFrame extends Frame {
+        final MutableCollectionMetadata metadata;
+
+        CollectionFrame(Object source, Iterator<?> entries, MutableCollectionMetadata metadata) {
+            super(source, entries);
+            this.metadata = metadata;
+        }
+
+        @Override
+        void convertNext(Conversion conversion) {
+            metadata.addValue(conversion.visit(entries.next()));
+        }
+    }
+
+    static final class MapFrame extends Frame {
+        final MutableMapMetadata metadata;
+        Map.Entry<?, ?> pendingEntry;
+        NonNullMetadata pendingKey;
+
+        MapFrame(Object source, Iterator<?> entries, MutableMapMetadata metadata) {
+            super(source, entries);
+            this.metadata = metadata;
+        }
+
+        /**
+         * The key of an entry is converted on one step and its value on the next, so a key that is a collection or map
+         * is complete before the value is visited - otherwise a value that shared the key would look like a cycle.
+         */
+        @Override
+        boolean hasNext() {
+            return pendingEntry != null || entries.hasNext();
+        }
+
+        @Override
+        void convertNext(Conversion conversion) {
+            if (pendingEntry == null) {
+                pendingEntry = (Map.Entry<?, ?>) entries.next();
+
+                Metadata keyMetadata = pendingEntry.getKey() != null ? conversion.visit(pendingEntry.getKey()) : null;
+                if (!(keyMetadata instanceof NonNullMetadata)) {
+                    String message = String.format("create(value) - Map keys cannot be null: %s=%s", pendingEntry.getKey(), pendingEntry.getValue());
+                    throw new IllegalArgumentException(message);
+                }
+                pendingKey = (NonNullMetadata) keyMetadata;
+            } else {
+                metadata.addEntry(pendingKey, conversion.visit(pendingEntry.getValue()));
+                pendingEntry = null;
+                pendingKey = null;
+            }
+        }
+    }
+
+    static final class ArrayIterator implements Iterator<Object> {
+        final Object array;
+        final int length;
+        int index;
+
+        ArrayIterator(Object array) {
+            this.array = array;
+            this.length = Array.getLength(array);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < length;
+        }
+
+        @Override
+        public Object next() {
+            if (index >= length) {
+                throw new NoSuchElementException();
+            }
+            return Array.get(array, index++);
+        }
+    }
+}
@@ -17,7 +17,7 @@
 package com.pronoia.aries.blueprint.util.reflect;
 
 import org.apache.aries.blueprint.mutable.MutablePassThroughMetadata;
-import org.apache.aries.blueprint.reflect.MetadataUtil;
+import org.osgi.service.blueprint.reflect.Metadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,7 +37,7 @@ public class PassThroughMetadataUtil {
      * @return a new reflect instance
      */
     public static MutablePassThroughMetadata create() {
-        MutablePassThroughMetadata metadata = MetadataUtil.createMetadata(MutablePassThroughMetadata.class);
+        MutablePassThroughMetadata metadata = MetadataFactory.createPassThroughMetadata();
         return metadata;
     }
 
@@ -54,4 +54,32 @@ public class PassThroughMetadataUtil {
         return metadata;
     }
 
-}
\ No newline at end of file
+    /**
+     * Return the initial capacity of a hash-based collection that holds the specified number of entries without
+     * being resized.
+     *
+     * @param size the number of entries
+     *
+     * @return the initial capacity
+     */
+    static int hashCapacity(int size) {
+        return Math.max(16, (int) (size / 0.75f) + 1);
+    }
+
+    /**
+     * Verify that a value can be held in a pass-through collection - metadata (i.e. references to other components)
+     * must be resolved by the container, so it is not supported.
+     *
+     * @param methodName the name of the calling method, used in the exception message
+     * @param value      the value to verify
+     *
+     * @throws IllegalArgumentException if the value is metadata
+     */
+    static void verifyPassThroughValue(String methodName, Object value) {
+        if (value instanceof Metadata) {
+            String message = String.format("%s(values) - value '%s' is metadata - use create to build collections that contain metadata", methodName, value);
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+}
@@ -17,7 +17,6 @@
 package com.pronoia.aries.blueprint.util.reflect;
 
 import org.apache.aries.blueprint.mutable.MutableBeanMetadata;
-import org.apache.aries.blueprint.reflect.MetadataUtil;
 import org.osgi.service.blueprint.reflect.ComponentMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,7 +37,7 @@ public class PrototypeBeanMetadataUtil {
      * @return a new reflect instance
      */
     public static MutableBeanMetadata create() {
-        MutableBeanMetadata metadata = MetadataUtil.createMetadata(MutableBeanMetadata.class);
+        MutableBeanMetadata metadata = MetadataFactory.createBeanMetadata();
 
         metadata.setScope("prototype");
         metadata.setActivation(ComponentMetadata.ACTIVATION_LAZY);
@@ -17,7 +17,6 @@
 package com.pronoia.aries.blueprint.util.reflect;
 
 import org.apache.aries.blueprint.mutable.MutableRefMetadata;
-import org.apache.aries.blueprint.reflect.MetadataUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,7 +36,7 @@ public class RefMetadataUtil {
      * @return a new reflect instance
      */
     public static MutableRefMetadata create() {
-        MutableRefMetadata metadata = MetadataUtil.createMetadata(MutableRefMetadata.class);
+        MutableRefMetadata metadata = MetadataFactory.createRefMetadata();
 
         return metadata;
     }
@@ -17,7 +17,6 @@
 package com.pronoia.aries.blueprint.util.reflect;
 
 import org.apache.aries.blueprint.mutable.MutableReferenceMetadata;
-import org.apache.aries.blueprint.reflect.MetadataUtil;
 import org.osgi.service.blueprint.reflect.ServiceReferenceMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,7 +37,7 @@ public class ReferenceMetadataUtil {
      * @return a new reflect instance
      */
     public static MutableReferenceMetadata create() {
-        MutableReferenceMetadata metadata = MetadataUtil.createMetadata(MutableReferenceMetadata.class);
+        MutableReferenceMetadata metadata = MetadataFactory.createReferenceMetadata();
 
         metadata.setAvailability(ServiceReferenceMetadata.AVAILABILITY_MANDATORY);
 
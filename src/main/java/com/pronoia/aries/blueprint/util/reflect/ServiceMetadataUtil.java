@@ -19,7 +19,6 @@ package com.pronoia.aries.blueprint.util.reflect;
 import java.util.Map;
 
 import org.apache.aries.blueprint.mutable.MutableServiceMetadata;
-import org.apache.aries.blueprint.reflect.MetadataUtil;
 import org.osgi.service.blueprint.reflect.ComponentMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,7 +39,7 @@ public class ServiceMetadataUtil {
      * @return a new reflect instance
      */
     public static MutableServiceMetadata create() {
-        MutableServiceMetadata metadata = MetadataUtil.createMetadata(MutableServiceMetadata.class);
+        MutableServiceMetadata metadata = MetadataFactory.createServiceMetadata();
 
         metadata.setActivation(ComponentMetadata.ACTIVATION_LAZY);
 
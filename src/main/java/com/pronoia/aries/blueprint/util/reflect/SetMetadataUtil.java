@@ -17,11 +17,13 @@
 package com.pronoia.aries.blueprint.util.reflect;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import org.apache.aries.blueprint.mutable.MutableCollectionMetadata;
+import org.apache.aries.blueprint.mutable.MutablePassThroughMetadata;
 import org.apache.aries.blueprint.mutable.MutableValueMetadata;
-import org.apache.aries.blueprint.reflect.MetadataUtil;
 import org.osgi.service.blueprint.container.ComponentDefinitionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,7 +44,7 @@ public class SetMetadataUtil {
      * @return a new reflect instance
      */
     public static MutableCollectionMetadata create() {
-        MutableCollectionMetadata metadata = MetadataUtil.createMetadata(MutableCollectionMetadata.class);
+        MutableCollectionMetadata metadata = MetadataFactory.createCollectionMetadata();
         metadata.setCollectionClass(Set.class);
 
         return metadata;
@@ -78,7 +80,7 @@ public class SetMetadataUtil {
                 setMetadata.setValueType(values[0].getClass().getName());
 
                 for (T value : values) {
-                    MutableValueMetadata valueMetadata = MetadataUtil.createMetadata(MutableValueMetadata.class);
+                    MutableValueMetadata valueMetadata = MetadataFactory.createValueMetadata();
                     valueMetadata.setType(value.getClass().getName());
                     valueMetadata.setStringValue(value.toString());
 
@@ -109,7 +111,7 @@ public class SetMetadataUtil {
                 if (valueType == null) {
                     valueType = value.getClass();
                 }
-                MutableValueMetadata valueMetadata = MetadataUtil.createMetadata(MutableValueMetadata.class);
+                MutableValueMetadata valueMetadata = MetadataFactory.createValueMetadata();
                 valueMetadata.setType(value.getClass().getName());
                 valueMetadata.setStringValue(value.toString());
 
@@ -132,12 +134,41 @@ public class SetMetadataUtil {
             throw new ComponentDefinitionException("Cannot add values to a null MutableCollectionMetadata");
         }
 
-        if (value != null) {
-            MutableValueMetadata valueMetadata = MetadataUtil.createMetadata(MutableValueMetadata.class);
+        if (ObjectGraphMetadataUtil.isContainer(value)) {
+            setMetadata.addValue(ObjectGraphMetadataUtil.create(value));
+        } else if (value != null) {
+            MutableValueMetadata valueMetadata = MetadataFactory.createValueMetadata();
             valueMetadata.setType(value.getClass().getName());
             valueMetadata.setStringValue(value.toString());
 
             setMetadata.addValue(valueMetadata);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Create an Aries-specific PassThroughMetadata instance that holds an immutable copy of the values as a Set.
+     *
+     * Unlike {@link #create(Collection)}, which creates metadata for each value that the container converts when it
+     * is instantiated, the container injects the Set as is - so large constant collections only need a single
+     * metadata instance.  The values must be instances of the type the injection point expects, and cannot be
+     * metadata - use {@link #create(Collection)} for collections that contain references.
+     *
+     * @param values the values the Set will contain - may be null
+     *
+     * @return a new reflect instance
+     */
+    public static <T> MutablePassThroughMetadata createPassThrough(Collection<T> values) {
+        if (values == null || values.isEmpty()) {
+            return PassThroughMetadataUtil.create(Collections.emptySet());
+        }
+
+        Set<T> copy = new LinkedHashSet<>(PassThroughMetadataUtil.hashCapacity(values.size()));
+        for (T value : values) {
+            PassThroughMetadataUtil.verifyPassThroughValue("createPassThrough", value);
+            copy.add(value);
+        }
+
+        return PassThroughMetadataUtil.create(Collections.unmodifiableSet(copy));
+    }
+
+}
@@ -16,8 +16,17 @@
  */
 package com.pronoia.aries.blueprint.util.reflect;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
 import org.apache.aries.blueprint.mutable.MutableValueMetadata;
-import org.apache.aries.blueprint.reflect.MetadataUtil;
+import org.osgi.service.blueprint.reflect.Metadata;
 import org.osgi.service.blueprint.reflect.ValueMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +38,14 @@ import org.slf4j.LoggerFactory;
 public class ValueMetadataUtil {
     static final Logger LOG = LoggerFactory.getLogger(ValueMetadataUtil.class);
 
+    static final String INTEGER_TYPE = Integer.class.getName();
+    static final String LONG_TYPE = Long.class.getName();
+    static final String BOOLEAN_TYPE = Boolean.class.getName();
+
+    static final Set<Class<?>> PRECONVERTED_TYPES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+        BigInteger.class, BigDecimal.class, Pattern.class, Duration.class)));
+
     ValueMetadataUtil() {
     }
 
@@ -40,7 +57,7 @@ public class ValueMetadataUtil {
      * @return a new reflect instance
      */
     public static <T> ValueMetadata create(T value) {
-        MutableValueMetadata metadata = MetadataUtil.createMetadata(MutableValueMetadata.class);
+        MutableValueMetadata metadata = MetadataFactory.createValueMetadata();
 
         metadata.setType(value.getClass().getName());
         metadata.setStringValue(value.toString());
@@ -57,7 +74,7 @@ public class ValueMetadataUtil {
      * @return a new reflect instance
      */
     public static ValueMetadata create(Class type, String value) {
-        MutableValueMetadata metadata = MetadataUtil.createMetadata(MutableValueMetadata.class);
+        MutableValueMetadata metadata = MetadataFactory.createValueMetadata();
 
         metadata.setStringValue(value);
         metadata.setType(type.getName());
@@ -65,4 +82,81 @@ public class ValueMetadataUtil {
         return metadata;
     }
 
-}
\ No newline at end of file
+    /**
+     * Create an Aries-specific mutable instance of the standard ValueMetadata interface for an int value.
+     *
+     * @param value the value of the reflect
+     *
+     * @return a new reflect instance
+     */
+    public static ValueMetadata create(int value) {
+        return createTyped(INTEGER_TYPE, Integer.toString(value));
+    }
+
+    /**
+     * Create an Aries-specific mutable instance of the standard ValueMetadata interface for a long value.
+     *
+     * @param value the value of the reflect
+     *
+     * @return a new reflect instance
+     */
+    public static ValueMetadata create(long value) {
+        return createTyped(LONG_TYPE, Long.toString(value));
+    }
+
+    /**
+     * Create an Aries-specific mutable instance of the standard ValueMetadata interface for a boolean value.
+     *
+     * @param value the value of the reflect
+     *
+     * @return a new reflect instance
+     */
+    public static ValueMetadata create(boolean value) {
+        return createTyped(BOOLEAN_TYPE, Boolean.toString(value));
+    }
+
+    static ValueMetadata createTyped(String typeName, String value) {
+        MutableValueMetadata metadata = MetadataFactory.createValueMetadata();
+
+        metadata.setStringValue(value);
+        metadata.setType(typeName);
+
+        return metadata;
+    }
+
+    /**
+     * Create metadata that injects an already-converted value.
+     *
+     * Values of immutable types - boxed primitives, String, BigInteger, BigDecimal, enums, Pattern and Duration - are
+     * passed through to the container as is, so they are not converted to a String and back again when the container
+     * is instantiated.  The value must be assignable to the type of the injection point, since the container does not
+     * convert it.  Values of other types are created with {@link #create(Object)}.
+     *
+     * @param value the value of the reflect - may be null
+     *
+     * @return the reflect instance
+     */
+    public static Metadata createPreconverted(Object value) {
+        if (value == null) {
+            return MetadataPool.nullValue();
+        }
+
+        if (isPreconverted(value)) {
+            return PassThroughMetadataUtil.create(value);
+        }
+
+        return create(value);
+    }
+
+    /**
+     * Determine if a value can be passed to the container without conversion.
+     *
+     * @param value the value
+     *
+     * @return true if the value is an instance of an immutable type that is passed through
+     */
+    public static boolean isPreconverted(Object value) {
+        return value != null && (value instanceof Enum || PRECONVERTED_TYPES.contains(value.getClass()));
+    }
+
+}
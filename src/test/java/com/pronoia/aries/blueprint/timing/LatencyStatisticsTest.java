@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.timing;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Tests for the LatencyStatistics class.
+ */
+public class LatencyStatisticsTest {
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testRecord() throws Exception {
+        LatencyStatistics instance = new LatencyStatistics("test");
+
+        for (int i = 1; i <= 100; ++i) {
+            instance.record(TimeUnit.MICROSECONDS.toNanos(i), i % 10 == 0);
+        }
+        instance.record(-5, false);
+
+        assertEquals(101, instance.getCount());
+        assertEquals(10, instance.getErrorCount());
+        assertEquals(100000, instance.getMaxNanos());
+        assertEquals(5050000.0 / 101 / 1000, instance.getMean(TimeUnit.MICROSECONDS), 0.0001);
+
+        assertEquals(1, instance.getPercentileNanos(0.5));
+        assertEquals(65535, instance.getPercentileNanos(50));
+        assertEquals(100000, instance.getPercentileNanos(100));
+
+        instance.reset();
+        assertEquals(0, instance.getCount());
+        assertEquals(0, instance.getPercentileNanos(99));
+        assertEquals(0.0, instance.getMean(TimeUnit.MICROSECONDS), 0.0);
+
+        try {
+            instance.getPercentileNanos(101);
+            fail("Should fail for an invalid percentile");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("getPercentileNanos(percentile[101.0]) - percentile must be between 0 and 100", expectedEx.getMessage());
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testBucketIndex() throws Exception {
+        assertEquals(0, LatencyStatistics.bucketIndex(0));
+        assertEquals(0, LatencyStatistics.bucketIndex(1));
+        assertEquals(1, LatencyStatistics.bucketIndex(2));
+        assertEquals(1, LatencyStatistics.bucketIndex(3));
+        assertEquals(10, LatencyStatistics.bucketIndex(1024));
+        assertEquals(62, LatencyStatistics.bucketIndex(Long.MAX_VALUE));
+    }
+}
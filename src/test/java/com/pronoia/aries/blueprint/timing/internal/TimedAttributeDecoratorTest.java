@@ -0,0 +1,208 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.timing.internal;
+
+import com.pronoia.aries.blueprint.internal.UtilNamespaceHandler;
+import com.pronoia.aries.blueprint.timing.BeanTimingProcessor;
+import com.pronoia.aries.blueprint.timing.BeanTimingStatistics;
+import com.pronoia.aries.blueprint.timing.TimingInterceptor;
+import com.pronoia.aries.blueprint.util.reflect.SingletonBeanMetadataUtil;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.ObjectName;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.dom.DOMSource;
+
+import org.apache.aries.blueprint.ExtendedBeanMetadata;
+import org.apache.aries.blueprint.Interceptor;
+import org.apache.aries.blueprint.ParserContext;
+import org.apache.aries.blueprint.mutable.MutableBeanMetadata;
+import org.apache.aries.blueprint.parser.ComponentDefinitionRegistryImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.service.blueprint.container.ComponentDefinitionException;
+import org.osgi.service.blueprint.reflect.ComponentMetadata;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+
+/**
+ * Tests for the TimedAttributeDecorator class.
+ */
+public class TimedAttributeDecoratorTest {
+    static final String UTIL_NAMESPACE = "urn:pronoia.com/schema/blueprint/util";
+
+    UtilNamespaceHandler namespaceHandler;
+    ComponentDefinitionRegistryImpl registry;
+    ParserContext parserContext;
+    Element beanElement;
+
+    @Before
+    public void setUp() throws Exception {
+        namespaceHandler = new UtilNamespaceHandler();
+        registry = new ComponentDefinitionRegistryImpl();
+
+        parserContext = mock(ParserContext.class);
+        when(parserContext.getComponentDefinitionRegistry()).thenReturn(registry);
+
+        DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
+        dbFactory.setNamespaceAware(true);
+        Document document = dbFactory.newDocumentBuilder().newDocument();
+
+        beanElement = document.createElementNS("http://www.osgi.org/xmlns/blueprint/v1.0.0", "bean");
+        document.appendChild(beanElement);
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testDecorate() throws Exception {
+        MutableBeanMetadata firstBean = SingletonBeanMetadataUtil.create(String.class, "first-bean");
+        MutableBeanMetadata secondBean = SingletonBeanMetadataUtil.create(String.class, "second-bean");
+
+        assertSame(firstBean, namespaceHandler.decorate(timedAttribute("true"), firstBean, parserContext));
+        assertSame(secondBean, namespaceHandler.decorate(timedAttribute("true"), secondBean, parserContext));
+
+        ComponentMetadata processorMetadata = registry.getComponentDefinition(TimedAttributeDecorator.PROCESSOR_ID);
+        assertNotNull("The timing processor should be registered", processorMetadata);
+        assertTrue(((ExtendedBeanMetadata) processorMetadata).isProcessor());
+        assertSame(BeanTimingProcessor.class, ((ExtendedBeanMetadata) processorMetadata).getRuntimeClass());
+
+        Map<String, BeanTimingStatistics> beanStatistics = TimedAttributeDecorator.getBeanStatistics(registry);
+        assertEquals(2, beanStatistics.size());
+
+        List<Interceptor> interceptors = registry.getInterceptors(firstBean);
+        assertEquals(1, interceptors.size());
+        assertSame(beanStatistics.get("first-bean"), ((TimingInterceptor) interceptors.get(0)).getStatistics());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testDecorateNotTimed() throws Exception {
+        MutableBeanMetadata bean = SingletonBeanMetadataUtil.create(String.class, "bean");
+
+        assertSame(bean, namespaceHandler.decorate(timedAttribute("false"), bean, parserContext));
+        assertSame(bean, namespaceHandler.decorate(beanElement, bean, parserContext));
+
+        assertEquals(0, registry.getComponentDefinitionNames().size());
+        assertEquals(0, registry.getInterceptors(bean).size());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testDecorateWithoutId() throws Exception {
+        try {
+            namespaceHandler.decorate(timedAttribute("true"), SingletonBeanMetadataUtil.create(String.class), parserContext);
+            fail("Should fail for a bean without an id");
+        } catch (ComponentDefinitionException expectedEx) {
+            assertThat(expectedEx.getMessage(), startsWith("Invalid use of util:timed attribute - only supported on a bean with an id"));
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testTimingProcessorAndInterceptor() throws Exception {
+        namespaceHandler.decorate(timedAttribute("true"), SingletonBeanMetadataUtil.create(String.class, "timed-bean"), parserContext);
+
+        Map<String, BeanTimingStatistics> beanStatistics = TimedAttributeDecorator.getBeanStatistics(registry);
+        BeanTimingStatistics statistics = beanStatistics.get("timed-bean");
+        BeanTimingProcessor processor = new BeanTimingProcessor(null, beanStatistics);
+
+        Object bean = new Object();
+        assertSame(bean, processor.beforeInit(bean, "timed-bean", null, null));
+        assertSame(bean, processor.afterInit(bean, "timed-bean", null, null));
+        processor.beforeInit(new Object(), "untimed-bean", null, null);
+        processor.beforeDestroy(bean, "timed-bean");
+        processor.afterDestroy(bean, "timed-bean");
+
+        assertEquals(1, statistics.getInstanceCount());
+        assertEquals(1, statistics.getInitCount());
+        assertEquals(1, statistics.getDestroyCount());
+        assertTrue(processor.getBeanStatistics().size() == 1);
+
+        TimingInterceptor interceptor = new TimingInterceptor(statistics);
+        Object token = interceptor.preCall(null, String.class.getMethod("length"));
+        interceptor.postCallWithReturn(null, String.class.getMethod("length"), 0, token);
+        token = interceptor.preCall(null, String.class.getMethod("charAt", int.class));
+        interceptor.postCallWithException(null, String.class.getMethod("charAt", int.class), new IndexOutOfBoundsException(), token);
+
+        assertEquals(Long.valueOf(1), statistics.getCallCounts().get("length()"));
+        assertEquals(Long.valueOf(1), statistics.getErrorCounts().get("charAt(int)"));
+        assertEquals(Long.valueOf(0), statistics.getErrorCounts().get("length()"));
+
+        ObjectName objectName = new ObjectName("com.pronoia.aries.util:type=BeanTimingStatistics,bundle=unknown,id=timed-bean");
+        processor.start();
+        try {
+            assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+            assertEquals(Long.valueOf(1), ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, "InitCount"));
+        } finally {
+            processor.stop();
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testSchema() throws Exception {
+        Element element = beanElement.getOwnerDocument().createElementNS(UTIL_NAMESPACE, "util:required-persistent-id");
+        element.setAttribute("required-pid", "my-pid");
+
+        namespaceHandler.getCompiledSchema().newValidator().validate(new DOMSource(element));
+    }
+
+    Attr timedAttribute(String value) {
+        Attr attribute = beanElement.getOwnerDocument().createAttributeNS(UTIL_NAMESPACE, "util:timed");
+        attribute.setValue(value);
+        beanElement.setAttributeNodeNS(attribute);
+
+        return attribute;
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.convert;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Tests for the ConverterRegistry class.
+ */
+public class ConverterRegistryTest {
+    ConverterRegistry instance = ConverterRegistry.getDefault();
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testDefaultConverters() throws Exception {
+        assertNull(instance.convert(null, Integer.class));
+        assertEquals(Integer.valueOf(42), instance.convert("42", Integer.class));
+        assertEquals(Integer.valueOf(42), instance.convert("42", int.class));
+        assertEquals(Boolean.TRUE, instance.convert("true", boolean.class));
+        assertEquals(Double.valueOf(1.5), instance.convert("1.5", Double.class));
+
+        assertEquals(TimeUnit.MILLISECONDS, instance.convert("MILLISECONDS", TimeUnit.class));
+        assertEquals(TimeUnit.MILLISECONDS, instance.convert("milliseconds", TimeUnit.class));
+        assertEquals(Duration.ofSeconds(5), instance.convert("5s", Duration.class));
+        assertEquals(Duration.ofMillis(250), instance.convert("250", Duration.class));
+        assertEquals(Duration.ofMinutes(2), instance.convert("PT2M", Duration.class));
+        assertEquals(64L << 20, instance.convert("64MiB", DataSize.class).toBytes());
+        assertEquals(10000L, instance.convert("10 kb", DataSize.class).toBytes());
+        assertEquals(URI.create("urn:test"), instance.convert("urn:test", URI.class));
+        assertEquals(String.class, instance.convert("java.lang.String", Class.class));
+        assertTrue(instance.convert("a+b", Pattern.class).matcher("aab").matches());
+
+        assertTrue(instance.canConvert(TimeUnit.class));
+        assertFalse(instance.canConvert(StringBuilder.class));
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testMemoization() throws Exception {
+        assertSame(instance.convert("[a-z]+", Pattern.class), instance.convert("[a-z]+", Pattern.class));
+        assertNotSame(instance.convert("1234567", Integer.class), instance.convert("1234567", Integer.class));
+
+        final AtomicInteger conversionCount = new AtomicInteger();
+        ConverterRegistry registry = new ConverterRegistry(getClass().getClassLoader(), 2);
+        registry.register(StringBuilder.class, value -> {
+            conversionCount.incrementAndGet();
+            return new StringBuilder(value);
+        }, true);
+
+        StringBuilder first = registry.convert("first", StringBuilder.class);
+        assertSame(first, registry.convert("first", StringBuilder.class));
+        registry.convert("second", StringBuilder.class);
+        registry.convert("third", StringBuilder.class);
+        assertEquals(3, conversionCount.get());
+
+        assertNotSame("The eldest value should have been evicted", first, registry.convert("first", StringBuilder.class));
+        assertEquals(4, conversionCount.get());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testConversionFailures() throws Exception {
+        try {
+            instance.convert("5 fortnights", Duration.class);
+            fail("Should fail for an unknown unit");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("convert(value[5 fortnights], type[java.time.Duration]) - java.lang.IllegalArgumentException: parseDuration(value[5 fortnights]) - unknown unit 'fortnights'",
+                expectedEx.getMessage());
+        }
+
+        try {
+            instance.convert("not-a-number", Integer.class);
+            fail("Should fail for an invalid number");
+        } catch (IllegalArgumentException expectedEx) {
+            assertTrue(expectedEx.getCause() instanceof NumberFormatException);
+        }
+
+        try {
+            instance.convert("value", StringBuilder.class);
+            fail("Should fail for a type without a converter");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("convert(value[value], type[java.lang.StringBuilder]) - no converter is registered for the type", expectedEx.getMessage());
+        }
+
+        assertFalse(instance.tryConvert("5 fortnights", Duration.class).isPresent());
+        assertFalse(instance.tryConvert("value", StringBuilder.class).isPresent());
+        assertFalse(instance.tryConvert(null, Integer.class).isPresent());
+        assertEquals(Duration.ofHours(1), instance.tryConvert("1h", Duration.class).get());
+
+        try {
+            DataSize.parse("10XB");
+            fail("Should fail for an unknown unit");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("parse(value[10XB]) - unknown unit 'XB'", expectedEx.getMessage());
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testClassMemoization() throws Exception {
+        ConverterRegistry sharedRegistry = new ConverterRegistry();
+        assertEquals(String.class, sharedRegistry.convert("java.lang.String", Class.class));
+        assertEquals(TimeUnit.SECONDS, sharedRegistry.convert("seconds", TimeUnit.class));
+        assertEquals(String.class, instance.convert("java.lang.String", Class.class));
+        assertEquals(TimeUnit.SECONDS, instance.convert("seconds", TimeUnit.class));
+        synchronized (instance.memo) {
+            assertFalse(instance.memo.keySet().stream().anyMatch(key -> key.type == Class.class || key.type.isEnum()));
+        }
+        assertTrue(sharedRegistry.memo.isEmpty());
+
+        ConverterRegistry handlerRegistry = new ConverterRegistry(getClass().getClassLoader(), 16);
+        assertEquals(getClass(), handlerRegistry.convert(getClass().getName(), Class.class));
+        assertEquals(TimeUnit.SECONDS, handlerRegistry.convert("seconds", TimeUnit.class));
+        assertEquals(2, handlerRegistry.memo.size());
+    }
+}
@@ -16,8 +16,20 @@
  */
 package com.pronoia.aries.blueprint.util.namespace;
 
+import com.pronoia.aries.blueprint.util.reflect.DeferredMetadataUtil;
+import com.pronoia.aries.blueprint.util.reflect.DeferredObject;
 import com.pronoia.aries.blueprint.util.reflect.PrototypeBeanMetadataUtil;
 import com.pronoia.aries.blueprint.util.parser.ElementParser;
+import com.pronoia.aries.blueprint.util.parser.ElementSnapshot;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import javax.xml.parsers.DocumentBuilderFactory;
 
 import org.apache.aries.blueprint.mutable.MutableBeanMetadata;
 import org.junit.Before;
@@ -26,8 +38,12 @@ import org.junit.Test;
 // import org.osgi.service.blueprint.container.BlueprintContainer;
 import org.osgi.service.blueprint.reflect.Metadata;
 import org.osgi.service.blueprint.reflect.RefMetadata;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 
@@ -95,6 +111,81 @@ public class AbstractElementHandlerConfigurationTest {
         assertEquals("Unexpected component id for argument 0", "blueprintContainer", ((RefMetadata) metadata.getArguments().get(1).getValue()).getComponentId());
     }
 
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testCreateDeferredMetadata() throws Exception {
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        Element handledElement = document.createElement("handled-element");
+        handledElement.setAttribute("id", "deferred-element");
+        handledElement.setAttribute("pattern", "[a-z]+");
+
+        AtomicInteger factoryCalls = new AtomicInteger();
+        MutableBeanMetadata metadata = instance.createDeferredMetadata(new ElementParser(handledElement), snapshot -> {
+            factoryCalls.incrementAndGet();
+            return Pattern.compile(snapshot.getAttribute("pattern"));
+        });
+
+        assertEquals("deferred-element", metadata.getId());
+        assertEquals(0, factoryCalls.get());
+
+        handledElement.setAttribute("pattern", "changed");
+        DeferredObject<?> deferredObject = DeferredMetadataUtil.getDeferredObject(metadata);
+        assertEquals("[a-z]+", ((Pattern) deferredObject.get()).pattern());
+        assertSame(deferredObject.get(), deferredObject.get());
+        assertEquals(1, factoryCalls.get());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testCreateChildMetadata() throws Exception {
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        Element handledElement = document.createElement("handled-element");
+        for (int i = 0; i < 1000; ++i) {
+            Element childElement = document.createElement(i % 10 == 0 ? "skipped-element" : "child-element");
+            childElement.setAttribute("index", Integer.toString(i));
+            handledElement.appendChild(childElement);
+        }
+
+        final ConcurrentHashMap<Thread, Boolean> threads = new ConcurrentHashMap<>();
+        Function<ElementSnapshot, Integer> childMetadataFactory = childSnapshot -> {
+            threads.put(Thread.currentThread(), Boolean.TRUE);
+            int index = childSnapshot.getInt("index", -1);
+            return index % 3 == 0 ? null : index;
+        };
+
+        List<Integer> serialAnswer = instance.createChildMetadata(new ElementParser(handledElement), "child-element", childMetadataFactory);
+        assertEquals(600, serialAnswer.size());
+        assertEquals(666, instance.createChildMetadata(new ElementParser(handledElement), null, childMetadataFactory).size());
+        assertEquals(1, threads.size());
+
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            instance.setParallelThreshold(16);
+            instance.setForkJoinPool(forkJoinPool);
+
+            assertEquals(serialAnswer, instance.createChildMetadata(new ElementParser(handledElement), "child-element", childMetadataFactory));
+            assertEquals(666, instance.createChildMetadata(new ElementParser(handledElement), null, childMetadataFactory).size());
+            assertTrue("Expected the pool threads to be used", threads.size() > 1);
+        } finally {
+            forkJoinPool.shutdownNow();
+        }
+
+        try {
+            instance.setParallelThreshold(-1);
+            fail("Should fail for a negative threshold");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("setParallelThreshold(parallelThreshold[-1]) - parallelThreshold cannot be less than zero", expectedEx.getMessage());
+        }
+    }
+
     static class NamespaceHandlerStub extends AbstractNamespaceHandler {
         protected NamespaceHandlerStub() {
         }
@@ -17,14 +17,18 @@
 package com.pronoia.aries.blueprint.util.namespace;
 
 import com.pronoia.aries.blueprint.ElementHandler;
+import com.pronoia.aries.blueprint.util.convert.ConverterRegistry;
 import com.pronoia.aries.blueprint.util.reflect.PrototypeBeanMetadataUtil;
 import com.pronoia.aries.blueprint.util.parser.ElementParser;
 
 import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.management.ObjectName;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 
@@ -32,10 +36,18 @@ import org.junit.Before;
 import org.junit.Test;
 import org.osgi.service.blueprint.container.ComponentDefinitionException;
 import org.osgi.service.blueprint.reflect.Metadata;
+import org.slf4j.MDC;
+import org.slf4j.helpers.BasicMDCAdapter;
+import org.slf4j.spi.MDCAdapter;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -162,6 +174,190 @@ public class AbstractNamespaceHandlerTest {
         }
     }
 
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testGetCompiledSchema() throws Exception {
+        assertNotNull(instance.getCompiledSchema());
+        assertSame("The schema should be compiled once per handler class", instance.getCompiledSchema(), new NamespaceHandlerStub().getCompiledSchema());
+        assertSame(instance.getSchemaLocation(TEST_SCHEMA), new NamespaceHandlerStub().getSchemaLocation(TEST_SCHEMA));
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testParseWithValidation() throws Exception {
+        ElementHandlerStub elementHandlerStub = new ElementHandlerStub(instance, "simple-handler");
+        instance.addElementHandler(elementHandlerStub);
+        instance.setValidateElements(true);
+
+        instance.parse(element, null);
+        assertEquals(1, elementHandlerStub.parseCount);
+
+        element.removeAttribute("string-handler-attribute");
+
+        try {
+            instance.parse(element, null);
+            fail("Should have thrown an exception");
+        } catch (ComponentDefinitionException expectedEx) {
+            final String expectedMessage = "Invalid element for namespace handler <com.pronoia.aries.blueprint.util.namespace.AbstractNamespaceHandlerTest$NamespaceHandlerStub>"
+                                           + " {schema = 'uri:com.pronoia.test/schema/blueprint/testing' element='simple-handler'} - ";
+            assertThat(expectedEx.getMessage(), startsWith(expectedMessage));
+        }
+        assertEquals("The element handler should not be called for an invalid element", 1, elementHandlerStub.parseCount);
+
+        instance.setValidateElements(false);
+        instance.parse(element, null);
+        assertEquals(2, elementHandlerStub.parseCount);
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testFreezeElementHandlers() throws Exception {
+        ElementHandlerStub elementHandlerStub = new ElementHandlerStub(instance, "simple-handler");
+        instance.addElementHandler(elementHandlerStub);
+        instance.freezeElementHandlers();
+
+        try {
+            instance.getElementHandlers().put("another-handler", elementHandlerStub);
+            fail("Frozen element handlers should not be modifiable");
+        } catch (UnsupportedOperationException expectedEx) {
+            // Expected
+        }
+
+        Element prefixedElement = element.getOwnerDocument().createElementNS(element.getNamespaceURI(), "test:simple-handler");
+        instance.parse(prefixedElement, null);
+        assertEquals(1, elementHandlerStub.parseCount);
+
+        ElementHandlerStub anotherElementHandlerStub = new ElementHandlerStub(instance, "another-handler");
+        instance.addElementHandler(anotherElementHandlerStub);
+        instance.parse(element.getOwnerDocument().createElementNS(element.getNamespaceURI(), "another-handler"), null);
+        assertEquals(1, anotherElementHandlerStub.parseCount);
+        assertSame(instance.elementHandlers, instance.elementHandlerTable.source);
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testParseStatistics() throws Exception {
+        ElementHandlerStub elementHandlerStub = new ElementHandlerStub(instance, "simple-handler");
+        instance.addElementHandler(elementHandlerStub);
+        instance.setSlowParseThresholdMillis(1);
+
+        instance.parse(element, null);
+        instance.parse(element, null);
+
+        elementHandlerStub.answer = null;
+        try {
+            instance.parse(element, null);
+            fail("Should have thrown an exception");
+        } catch (ComponentDefinitionException expectedEx) {
+            assertThat(expectedEx.getMessage(), startsWith("com.pronoia.aries.blueprint.util.namespace.AbstractNamespaceHandlerTest$ElementHandlerStub.parseElement(Element, ParserContext) returned null"));
+        }
+
+        ParseStatistics parseStatistics = instance.getParseStatistics();
+        assertEquals(Long.valueOf(3), parseStatistics.getParseCounts().get("simple-handler"));
+        assertEquals(Long.valueOf(1), parseStatistics.getFailureCounts().get("simple-handler"));
+        assertEquals(1, parseStatistics.getSlowParseThresholdMillis());
+        assertTrue(parseStatistics.getMaxParseTimesMicros().get("simple-handler") <= parseStatistics.getTotalParseTimesMicros().get("simple-handler"));
+
+        ObjectName objectName = new ObjectName("com.pronoia.aries.util:type=NamespaceHandlerStatistics,namespace=" + ObjectName.quote(TEST_SCHEMA));
+        instance.registerMBean();
+        try {
+            assertEquals(TEST_SCHEMA, ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, "Namespace"));
+        } finally {
+            instance.unregisterMBean();
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+
+        parseStatistics.reset();
+        assertEquals(Long.valueOf(0), parseStatistics.getParseCounts().get("simple-handler"));
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testParseMdcScope() throws Exception {
+        MDCAdapter originalAdapter = installMDCAdapter(new BasicMDCAdapter());
+        try {
+            ElementHandlerStub elementHandlerStub = new ElementHandlerStub(instance, "simple-handler");
+            instance.addElementHandler(elementHandlerStub);
+
+            MDC.put(AbstractNamespaceHandler.MDCScope.MDC_ELEMENT, "outer-element");
+            MDC.put("unrelated", "unrelated-value");
+
+            instance.parse(element, null);
+
+            assertEquals("simple-handler", elementHandlerStub.mdcElement);
+            assertEquals("outer-element", MDC.get(AbstractNamespaceHandler.MDCScope.MDC_ELEMENT));
+            assertNull("Keys that were not set before the parse should be removed", MDC.get(AbstractNamespaceHandler.MDCScope.MDC_NAMESPACE));
+            assertNull("Keys that were not set before the parse should be removed", MDC.get(AbstractNamespaceHandler.MDCScope.MDC_DOCUMENT_URI));
+            assertEquals("unrelated-value", MDC.get("unrelated"));
+
+            MDC.remove(AbstractNamespaceHandler.MDCScope.MDC_ELEMENT);
+            instance.parse(element, null);
+            assertNull(MDC.get(AbstractNamespaceHandler.MDCScope.MDC_ELEMENT));
+
+            instance.setMdcDecoration(false);
+            instance.parse(element, null);
+            assertNull("The MDC should not be decorated", elementHandlerStub.mdcElement);
+        } finally {
+            MDC.clear();
+            installMDCAdapter(originalAdapter);
+        }
+    }
+
+    /**
+     * Replace the MDC adapter - the slf4j-simple binding used by the tests does not support the MDC.
+     *
+     * @param mdcAdapter the adapter to install
+     *
+     * @return the adapter that was replaced
+     */
+    static MDCAdapter installMDCAdapter(MDCAdapter mdcAdapter) throws Exception {
+        Field adapterField = MDC.class.getDeclaredField("mdcAdapter");
+        adapterField.setAccessible(true);
+
+        MDCAdapter answer = (MDCAdapter) adapterField.get(null);
+        adapterField.set(null, mdcAdapter);
+
+        return answer;
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testGetConverterRegistry() throws Exception {
+        ConverterRegistry converterRegistry = instance.getConverterRegistry();
+
+        assertNotSame(ConverterRegistry.getDefault(), converterRegistry);
+        assertSame(converterRegistry, instance.getConverterRegistry());
+        assertEquals(NamespaceHandlerStub.class, converterRegistry.convert(NamespaceHandlerStub.class.getName(), Class.class));
+
+        ConverterRegistry suppliedRegistry = new ConverterRegistry();
+        instance.setConverterRegistry(suppliedRegistry);
+        assertSame(suppliedRegistry, instance.getConverterRegistry());
+    }
+
     /**
      * Description of test.
      *
@@ -233,6 +429,7 @@ public class AbstractNamespaceHandlerTest {
 
     static class ElementHandlerStub extends AbstractElementHandler {
         int parseCount = 0;
+        String mdcElement;
         Metadata answer = PrototypeBeanMetadataUtil.create(String.class);
 
         public ElementHandlerStub(AbstractNamespaceHandler namespaceHandler, String elementName) {
@@ -242,6 +439,7 @@ public class AbstractNamespaceHandlerTest {
         @Override
         public Metadata createMetadata(ElementParser elementParser) {
             ++parseCount;
+            mdcElement = MDC.get(AbstractNamespaceHandler.MDCScope.MDC_ELEMENT);
             return answer;
         }
     }
@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.namespace;
+
+import java.io.File;
+import java.util.Arrays;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Tests for the ChildElementScan class.
+ */
+public class ChildElementScanTest {
+    Element handledElement;
+
+    @Before
+    public void setUp() throws Exception {
+        DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
+        dbFactory.setNamespaceAware(true);
+        Document doc = dbFactory.newDocumentBuilder().parse(new File("src/test/resources/OSGI-INF/blueprint/simple-handler-blueprint.xml"));
+        doc.getDocumentElement().normalize();
+
+        handledElement = (Element) doc.getDocumentElement().getElementsByTagName("simple-handler").item(0);
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testScan() throws Exception {
+        int allProjections = ChildElementScan.ELEMENTS | ChildElementScan.ELEMENT_MAP | ChildElementScan.VALUES | ChildElementScan.VALUE_MAP;
+        ChildElementScan instance = ChildElementScan.scan(handledElement, null, allProjections);
+
+        assertEquals(6, instance.size());
+        assertEquals(6, instance.getElements().size());
+        assertThat(instance.getElementMap().keySet(), contains("sub-element", "sub-element-with-value", "empty-sub-element", "nested-empty-elements"));
+        assertEquals(6, instance.getValues().size());
+        assertEquals(Arrays.asList("Sub-Element Value", "Sub-Element Value 2"), instance.getValueMap().get("sub-element-with-value"));
+
+        ChildElementScan skipEmpty = ChildElementScan.scan(handledElement, null, ChildElementScan.VALUES | ChildElementScan.VALUE_MAP | ChildElementScan.SKIP_EMPTY_VALUES);
+        assertEquals(6, skipEmpty.size());
+        assertEquals(Arrays.asList("Sub-Element Value", "Sub-Element Value 2"), skipEmpty.getValues());
+        assertThat(skipEmpty.getValueMap().keySet(), contains("sub-element-with-value"));
+
+        ChildElementScan tagged = ChildElementScan.scan(handledElement, "empty-sub-element", ChildElementScan.ELEMENTS);
+        assertEquals(2, tagged.size());
+        assertEquals("empty-sub-element", tagged.getElements().get(1).getTagName());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testUnrequestedProjection() throws Exception {
+        ChildElementScan instance = ChildElementScan.scan(handledElement, null, ChildElementScan.ELEMENTS);
+
+        try {
+            instance.getValueMap();
+            fail("Should fail for a projection that was not requested");
+        } catch (IllegalStateException expectedEx) {
+            assertEquals("getValueMap() - the VALUE_MAP projection was not requested", expectedEx.getMessage());
+        }
+
+        try {
+            ChildElementScan.scan(null, "tag", ChildElementScan.ELEMENTS);
+            fail("Should fail for a null parent element");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("scan(parentElement[null], tagName[tag], projections[1]) - parentElement cannot be null", expectedEx.getMessage());
+        }
+    }
+}
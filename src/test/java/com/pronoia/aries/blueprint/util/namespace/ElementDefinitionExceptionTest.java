@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.namespace;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+
+/**
+ * Tests for the ElementDefinitionException class.
+ */
+public class ElementDefinitionExceptionTest {
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testStackless() throws Exception {
+        ElementDefinitionException instance = ElementDefinitionException.stackless("Attribute '%s' not found {element = '%s'}", "id", "simple-handler");
+
+        assertEquals(0, instance.getStackTrace().length);
+        assertEquals("Attribute 'id' not found {element = 'simple-handler'}", instance.getMessage());
+        assertSame("The message should be formatted once", instance.getMessage(), instance.getMessage());
+
+        assertEquals("No arguments", ElementDefinitionException.stackless("No arguments").getMessage());
+        assertNull(ElementDefinitionException.stackless(null).getMessage());
+
+        try {
+            throw instance;
+        } catch (ElementDefinitionException expectedEx) {
+            assertSame(instance, expectedEx);
+            assertEquals(0, expectedEx.getStackTrace().length);
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testStacklessSerialization() throws Exception {
+        Object notSerializable = new Object() {
+            @Override
+            public String toString() {
+                return "not-serializable";
+            }
+        };
+        ElementDefinitionException instance = ElementDefinitionException.stackless("Attribute '%s' has value '%s'", "id", notSerializable);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(instance);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            ElementDefinitionException copy = (ElementDefinitionException) in.readObject();
+            assertEquals("Attribute 'id' has value 'not-serializable'", copy.getMessage());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.namespace;
+
+import java.io.File;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.slf4j.MDC;
+import org.slf4j.helpers.BasicMDCAdapter;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+
+/**
+ * Compares the cost of scoping the blueprint MDC keys with MDCScope against copying and replacing the whole context
+ * map, which is what the namespace handler did before.
+ *
+ * This is a plain main-method harness - it is not run by the build.  Run it from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.mainClass=... -Dexec.classpathScope=test}.
+ */
+public class MDCScopeBenchmark {
+    static final int WARMUP_ITERATIONS = 2_000_000;
+    static final int MEASURED_ITERATIONS = 5_000_000;
+    static final int UNRELATED_KEY_COUNT = 8;
+
+    static volatile Object sink;
+
+    public static void main(String[] args) throws Exception {
+        AbstractNamespaceHandlerTest.installMDCAdapter(new BasicMDCAdapter());
+        for (int i = 0; i < UNRELATED_KEY_COUNT; ++i) {
+            MDC.put("unrelated-key-" + i, "unrelated-value-" + i);
+        }
+
+        DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
+        dbFactory.setNamespaceAware(true);
+        Document document = dbFactory.newDocumentBuilder().parse(new File("src/test/resources/OSGI-INF/blueprint/simple-handler-blueprint.xml"));
+        Element element = (Element) document.getDocumentElement().getElementsByTagNameNS("*", "simple-handler").item(0);
+
+        for (int round = 0; round < 3; ++round) {
+            System.out.printf("copy-context-map: %6.1f ns/op%n", measure(() -> copyContextMap(element)));
+            System.out.printf("mdc-scope:        %6.1f ns/op%n", measure(() -> mdcScope(element)));
+        }
+    }
+
+    static double measure(Runnable operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; ++i) {
+            operation.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; ++i) {
+            operation.run();
+        }
+
+        return (double) (System.nanoTime() - start) / MEASURED_ITERATIONS;
+    }
+
+    static void mdcScope(Element element) {
+        try (AbstractNamespaceHandler.MDCScope mdcScope = new AbstractNamespaceHandler.MDCScope(element)) {
+            sink = MDC.get(AbstractNamespaceHandler.MDCScope.MDC_ELEMENT);
+        }
+    }
+
+    static void copyContextMap(Element element) {
+        Map<String, String> originalContextMap = MDC.getCopyOfContextMap();
+        try {
+            MDC.put(AbstractNamespaceHandler.MDCScope.MDC_NAMESPACE, element.getNamespaceURI());
+            String documentURI = element.getOwnerDocument().getDocumentURI();
+            MDC.put(AbstractNamespaceHandler.MDCScope.MDC_DOCUMENT_URI, documentURI != null ? documentURI : "null");
+            MDC.put(AbstractNamespaceHandler.MDCScope.MDC_ELEMENT, element.getTagName());
+            sink = MDC.get(AbstractNamespaceHandler.MDCScope.MDC_ELEMENT);
+        } finally {
+            if (originalContextMap != null) {
+                MDC.setContextMap(originalContextMap);
+            }
+        }
+    }
+}
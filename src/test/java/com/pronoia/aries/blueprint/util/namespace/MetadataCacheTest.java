@@ -0,0 +1,162 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.namespace;
+
+import com.pronoia.aries.blueprint.internal.UtilNamespaceHandler;
+import com.pronoia.aries.blueprint.util.reflect.MetadataFactory;
+import com.pronoia.aries.blueprint.util.reflect.ValueMetadataUtil;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.apache.aries.blueprint.ExtendedBeanMetadata;
+import org.apache.aries.blueprint.mutable.MutableBeanMetadata;
+import org.apache.aries.blueprint.mutable.MutableCollectionMetadata;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.service.blueprint.reflect.Metadata;
+import org.osgi.service.blueprint.reflect.ReferenceMetadata;
+import org.w3c.dom.Element;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Tests for the MetadataCache class.
+ */
+public class MetadataCacheTest {
+    static final String UTIL_NAMESPACE = "urn:pronoia.com/schema/blueprint/util";
+
+    UtilNamespaceHandler namespaceHandler;
+
+    @Before
+    public void setUp() throws Exception {
+        namespaceHandler = new UtilNamespaceHandler();
+        namespaceHandler.setMetadataCacheSize(2);
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testParseWithCache() throws Exception {
+        String element = "<util:required-persistent-id xmlns:util='" + UTIL_NAMESPACE + "' id='my-pid-reference' required-pid='my-pid'/>";
+
+        ReferenceMetadata first = (ReferenceMetadata) namespaceHandler.parse(parse(element), null);
+        ReferenceMetadata second = (ReferenceMetadata) namespaceHandler.parse(parse(element.replace("util:", "u:").replace("xmlns:util", "xmlns:u")), null);
+
+        assertNotSame(first, second);
+        assertEquals("my-pid-reference", second.getId());
+        assertEquals(first.getFilter(), second.getFilter());
+        assertEquals(1, namespaceHandler.getMetadataCache().getHitCount());
+        assertEquals(1, namespaceHandler.getMetadataCache().size());
+
+        namespaceHandler.parse(parse(element.replace("my-pid'", "other-pid'")), null);
+        assertEquals(1, namespaceHandler.getMetadataCache().getHitCount());
+        assertEquals(2, namespaceHandler.getMetadataCache().size());
+
+        String processorElement = "<util:required-persistent-id xmlns:util='" + UTIL_NAMESPACE + "' id='my-processor'/>";
+        namespaceHandler.parse(parse(processorElement), null);
+        Metadata processorMetadata = namespaceHandler.parse(parse(processorElement), null);
+        assertEquals(2, namespaceHandler.getMetadataCache().getHitCount());
+        assertEquals("The least-recently-used entry should be evicted", 2, namespaceHandler.getMetadataCache().size());
+        assertTrue(((ExtendedBeanMetadata) processorMetadata).isProcessor());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testParseWithoutId() throws Exception {
+        String element = "<util:required-persistent-id xmlns:util='" + UTIL_NAMESPACE + "' required-pid='my-pid'/>";
+
+        ReferenceMetadata first = (ReferenceMetadata) namespaceHandler.parse(parse(element), null);
+        ReferenceMetadata second = (ReferenceMetadata) namespaceHandler.parse(parse(element), null);
+
+        assertNotEquals("Generated ids should be unique", first.getId(), second.getId());
+        assertEquals(0, namespaceHandler.getMetadataCache().size());
+
+        namespaceHandler.setMetadataCacheSize(0);
+        assertNull(namespaceHandler.getMetadataCache());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testKey() throws Exception {
+        Element element = parse("<a xmlns='urn:test' x='1' y='2'><b>text</b><!-- comment --></a>");
+
+        assertEquals(MetadataCache.key(element, null), MetadataCache.key(parse("<p:a xmlns:p='urn:test' y='2' x='1'><p:b>text</p:b></p:a>"), null));
+        assertNotEquals(MetadataCache.key(element, null), MetadataCache.key(parse("<a xmlns='urn:test' x='1' y='2'><b>other</b></a>"), null));
+        assertNotEquals(MetadataCache.key(element, null), MetadataCache.key(parse("<a xmlns='urn:other' x='1' y='2'><b>text</b></a>"), null));
+        assertEquals(MetadataCache.key(element, null), MetadataCache.key(parse("<a xmlns='urn:test' x='${x}' y='2'><b>text</b></a>"), key -> "1"));
+
+        try {
+            new MetadataCache(0);
+            fail("Should fail for an invalid size");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("MetadataCache(maxSize[0]) - maxSize must be greater than zero", expectedEx.getMessage());
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testPutPassThrough() throws Exception {
+        MetadataCache instance = new MetadataCache(2);
+        MetadataCache.Key key = MetadataCache.key(parse("<a xmlns='urn:test'/>"), null);
+
+        MutableCollectionMetadata collectionMetadata = MetadataFactory.createCollectionMetadata();
+        collectionMetadata.addValue(ValueMetadataUtil.createPreconverted(Integer.valueOf(5)));
+        MutableBeanMetadata beanMetadata = MetadataFactory.createBeanMetadata();
+        beanMetadata.setClassName("java.util.ArrayList");
+        beanMetadata.addArgument(collectionMetadata, null, 0);
+
+        assertFalse(instance.put(key, beanMetadata));
+        assertEquals(0, instance.size());
+
+        collectionMetadata.removeValue(collectionMetadata.getValues().get(0));
+        collectionMetadata.addValue(ValueMetadataUtil.create(5));
+        assertTrue(instance.put(key, beanMetadata));
+        assertEquals(1, instance.size());
+    }
+
+    static Element parse(String xml) throws Exception {
+        DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
+        dbFactory.setNamespaceAware(true);
+
+        return dbFactory.newDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))).getDocumentElement();
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.parser;
+
+import com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.w3c.dom.Element;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Tests for the ElementCursor class.
+ */
+public class ElementCursorTest extends ElementParserTestSupport {
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testNext() throws Exception {
+        List<Element> expected = NamespaceHandlerUtil.getChildElements(handledElement, false);
+
+        ElementCursor cursor = new ElementCursor(handledElement);
+        for (Element expectedElement : expected) {
+            assertTrue(cursor.next());
+            assertSame(expectedElement, cursor.getElement());
+        }
+
+        assertFalse(cursor.next());
+        assertFalse("Cursor should stay exhausted", cursor.next());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testNextWithTagName() throws Exception {
+        ElementCursor cursor = new ElementCursor(handledElement, "sub-element-with-value");
+
+        assertEquals("sub-element-with-value", cursor.getTagName());
+        assertTrue(cursor.next());
+        assertEquals("Sub-Element Value", cursor.getParser().getValue());
+        assertTrue(cursor.next());
+        assertEquals("Sub-Element Value 2", cursor.getParser().getValue());
+        assertFalse(cursor.next());
+
+        assertFalse(new ElementCursor(handledElement, "non-existent-element").next());
+        assertFalse(new ElementCursor(subElement).next());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testGetParserIsReused() throws Exception {
+        ElementCursor cursor = new ElementParser(handledElement).getElementCursor("empty-sub-element");
+
+        assertTrue(cursor.next());
+        ElementParser first = cursor.getParser();
+        Element firstElement = cursor.getElement();
+
+        assertTrue(cursor.next());
+        assertSame(first, cursor.getParser());
+        assertFalse(firstElement == cursor.getElement());
+        assertSame(cursor.getElement(), cursor.getParser().element);
+        assertNull(cursor.getParser().getValue());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testReset() throws Exception {
+        ElementCursor cursor = NamespaceHandlerUtil.getChildElementCursor(handledElement, "sub-element");
+
+        assertTrue(cursor.next());
+        assertSame(subElement, cursor.getElement());
+        assertFalse(cursor.next());
+
+        cursor.reset(handledElement);
+        assertNull(cursor.getTagName());
+        assertTrue(cursor.next());
+        assertSame(subElement, cursor.getElement());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testInvalidUse() throws Exception {
+        try {
+            new ElementCursor(null);
+            fail("Should have failed");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("ElementCursor(parentElement[null], tagName[null]) - the parent element cannot be null", expectedEx.getMessage());
+        }
+
+        try {
+            new ElementCursor(handledElement, "sub-element").getElement();
+            fail("Should have failed");
+        } catch (IllegalStateException expectedEx) {
+            assertEquals("ElementCursor(parentElement[simple-handler], tagName[sub-element]) - the cursor is not positioned on a descendant element", expectedEx.getMessage());
+        }
+
+        try {
+            new ElementParser(handledElement).getElementCursor("");
+            fail("Should have failed");
+        } catch (IllegalArgumentException expectedEx) {
+            assertTrue(expectedEx.getMessage().startsWith("getElementCursor(tagName[]) - tagName cannot be null or empty {element = 'simple-handler'"));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.parser;
+
+import com.pronoia.aries.blueprint.util.namespace.ElementDefinitionException;
+import com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Element;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Tests for the ElementNames class and the namespace-aware lookups.
+ */
+public class ElementNamesTest {
+    static final String TEST_NAMESPACE = "urn:com.pronoia.test/schema/blueprint/test/names";
+    static final String TEST_DOCUMENT =
+        "<u:root xmlns:u='" + TEST_NAMESPACE + "' xmlns:o='urn:other'>"
+            + "<u:item u:key='first' key='plain'/>"
+            + "<item xmlns='" + TEST_NAMESPACE + "' key='second'/>"
+            + "<o:item/>"
+            + "<u:other/>"
+            + "</u:root>";
+
+    static final QName ITEM = ElementNames.intern(TEST_NAMESPACE, "item");
+
+    Element rootElement;
+
+    @Before
+    public void setUp() throws Exception {
+        DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
+        dbFactory.setNamespaceAware(true);
+
+        rootElement = dbFactory.newDocumentBuilder().parse(new ByteArrayInputStream(TEST_DOCUMENT.getBytes(StandardCharsets.UTF_8))).getDocumentElement();
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testIntern() throws Exception {
+        QName prefixedName = new QName(TEST_NAMESPACE, "item", "u");
+
+        assertNotSame(ITEM, prefixedName);
+        assertSame(ITEM, ElementNames.intern(prefixedName));
+        assertSame(ITEM, ElementNames.intern(TEST_NAMESPACE, "item"));
+        assertEquals(ITEM, ElementNames.of(rootElement.getFirstChild()));
+        assertSame(ElementNames.intern(null, "item"), ElementNames.intern("", "item"));
+
+        assertEquals(ElementNames.intern(TEST_NAMESPACE, "root"), new ElementParser(rootElement).getName());
+
+        try {
+            ElementNames.intern(TEST_NAMESPACE, "");
+            fail("Should fail for an empty local name");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("intern(namespaceURI[" + TEST_NAMESPACE + "], localName[]) - localName cannot be null or empty", expectedEx.getMessage());
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testGetElementsNS() throws Exception {
+        for (boolean indexChildren : new boolean[] {false, true}) {
+            ElementParser instance = new ElementParser(rootElement, indexChildren);
+
+            List<ElementParser> items = instance.getElementsNS(ITEM);
+            assertEquals(2, items.size());
+            assertEquals("u:item", items.get(0).getTagName());
+            assertEquals("item", items.get(1).getTagName());
+
+            assertEquals("second", instance.getElementNS(new QName(TEST_NAMESPACE, "item", "x"), 1).getAttribute("key"));
+            assertNull(instance.getElementNS(ITEM, 2));
+            assertEquals(1, instance.getElementsNS(ElementNames.intern("urn:other", "item")).size());
+            assertEquals(0, instance.getElementsNS(ElementNames.intern(null, "item")).size());
+
+            ElementCursor cursor = instance.getElementCursorNS(ITEM);
+            assertSame(ITEM, cursor.getName());
+            assertTrue(cursor.next());
+            assertEquals("first", cursor.getParser().getAttributeNS(new QName(TEST_NAMESPACE, "key")));
+            assertEquals("plain", cursor.getParser().getAttributeNS(new QName("key")));
+            assertTrue(cursor.next());
+            assertFalse(cursor.next());
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testDocumentNamesNotInterned() throws Exception {
+        QName missingName = new QName(TEST_NAMESPACE, "never-interned-" + System.nanoTime());
+        int internedCount = ElementNames.INTERNED_NAMES.size();
+
+        ElementParser indexedParser = new ElementParser(rootElement, true);
+        assertEquals(2, indexedParser.getElementsNS(new QName(TEST_NAMESPACE, "item", "x")).size());
+        assertNull(indexedParser.getElementNS(missingName, 0));
+        assertEquals(new QName(TEST_NAMESPACE, "root"), indexedParser.getName());
+
+        ElementSnapshot snapshot = indexedParser.snapshot();
+        assertEquals(2, snapshot.getElementsNS(new QName(TEST_NAMESPACE, "item", "x")).size());
+        assertSame(snapshot.getElementNS(ITEM, 0).getName(), snapshot.getElementNS(ITEM, 1).getName());
+        assertNull(snapshot.getElementNS(missingName, 0));
+        assertTrue(snapshot.getElementsNS(missingName).isEmpty());
+
+        assertEquals(new QName(TEST_NAMESPACE, "other"), ElementNames.of(rootElement.getLastChild()));
+
+        assertEquals(internedCount, ElementNames.INTERNED_NAMES.size());
+        assertFalse(ElementNames.INTERNED_NAMES.containsKey(missingName));
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testNamespaceHandlerUtil() throws Exception {
+        assertEquals(2, NamespaceHandlerUtil.getChildElementsNS(rootElement, ITEM, true).size());
+
+        Element firstItem = NamespaceHandlerUtil.getChildElementsNS(rootElement, ITEM, true).get(0);
+        assertEquals("first", NamespaceHandlerUtil.getAttributeValueNS(firstItem, new QName(TEST_NAMESPACE, "key"), true));
+        assertNull(NamespaceHandlerUtil.getAttributeValueNS(firstItem, new QName(TEST_NAMESPACE, "missing"), false));
+
+        try {
+            NamespaceHandlerUtil.getChildElementsNS(rootElement, new QName(TEST_NAMESPACE, "missing"), true);
+            fail("Should fail for a missing descendant element");
+        } catch (ElementDefinitionException expectedEx) {
+            assertTrue(expectedEx.getMessage().startsWith("Descendant element matching name '{" + TEST_NAMESPACE + "}missing' not found in parent element 'u:root'"));
+        }
+
+        try {
+            NamespaceHandlerUtil.getChildElementCursorNS(rootElement, null);
+            fail("Should fail for a null name");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("getChildElementCursorNS(element[u:root], name[null]) - name cannot be null", expectedEx.getMessage());
+        }
+    }
+}
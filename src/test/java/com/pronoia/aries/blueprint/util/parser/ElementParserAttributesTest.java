@@ -16,11 +16,16 @@
  */
 package com.pronoia.aries.blueprint.util.parser;
 
+import com.pronoia.aries.blueprint.util.convert.ConverterRegistry;
 import com.pronoia.aries.blueprint.util.namespace.ElementDefinitionException;
 
 import java.io.File;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -37,7 +42,10 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
@@ -444,4 +452,150 @@ public class ElementParserAttributesTest extends ElementParserTestSupport {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testGetPrimitiveAttributes() throws Exception {
+        ElementParser subElement = instance.getElement("sub-element");
+
+        assertTrue(instance.getBoolean("boolean-sub-attribute", true));
+        assertFalse(subElement.getBoolean("boolean-sub-attribute", true));
+
+        assertEquals(-1, instance.getInt("integer-sub-attribute", -1));
+        assertEquals(1234567890, subElement.getInt("integer-sub-attribute", -1));
+
+        assertEquals(-1L, instance.getLong("long-sub-attribute", -1L));
+        assertEquals(9876543210L, subElement.getLong("long-sub-attribute", -1L));
+
+        assertEquals(-1.0, instance.getDouble("double-sub-attribute", -1.0), 0.0);
+        assertEquals(5.6789, subElement.getDouble("double-sub-attribute", -1.0), 0.0);
+
+        assertEquals(OptionalInt.empty(), instance.getOptionalInt("integer-sub-attribute"));
+        assertEquals(OptionalInt.of(1234567890), subElement.getOptionalInt("integer-sub-attribute"));
+        assertEquals(OptionalLong.empty(), instance.getOptionalLong("long-sub-attribute"));
+        assertEquals(OptionalLong.of(9876543210L), subElement.getOptionalLong("long-sub-attribute"));
+        assertEquals(OptionalDouble.empty(), instance.getOptionalDouble("double-sub-attribute"));
+        assertEquals(OptionalDouble.of(5.6789), subElement.getOptionalDouble("double-sub-attribute"));
+
+        try {
+            instance.getLong("string-handler-attribute", -1L);
+            fail("Should fail for un-convertible attribute value");
+        } catch (ElementDefinitionException expectedEx) {
+            assertThat(expectedEx.getMessage(), startsWith("Failed to convert 'string-handler-attribute' attribute value 'my required handler attribute value' to long {element = 'simple-handler' document ="));
+            assertThat(expectedEx.getMessage(), endsWith("simple-handler-blueprint.xml'}"));
+        }
+
+        try {
+            instance.getOptionalInt(null);
+            fail("Should fail for a null attribute name");
+        } catch (IllegalArgumentException expectedEx) {
+            assertThat(expectedEx.getMessage(), startsWith("getOptionalInt(attributeName[null]) - attributeName cannot be null or empty {element = 'simple-handler' document = '"));
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testGetConvertedAttribute() throws Exception {
+        subElement.setAttribute("duration-sub-attribute", "30s");
+
+        ElementParser subElementParser = instance.getElement("sub-element");
+
+        assertEquals(Duration.ofSeconds(30), subElementParser.getAttribute("duration-sub-attribute", Duration.class, true));
+        assertEquals(Long.valueOf(9876543210L), subElementParser.getAttribute("long-sub-attribute", long.class, true));
+        assertNull(instance.getAttribute("duration-sub-attribute", Duration.class, false));
+
+        try {
+            instance.getAttribute("string-handler-attribute", Duration.class, true);
+            fail("Should fail for un-convertible attribute value");
+        } catch (ElementDefinitionException expectedEx) {
+            assertThat(expectedEx.getMessage(), startsWith("Failed to convert 'string-handler-attribute' attribute value 'my required handler attribute value' to class java.time.Duration {element = 'simple-handler' document ="));
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testPlaceholders() throws Exception {
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        Element placeholderElement = document.createElement("placeholder-element");
+        placeholderElement.setAttribute("delay", "${delay}");
+        placeholderElement.setAttribute("host", "${host:localhost}");
+        Element childElement = document.createElement("child-element");
+        childElement.setAttribute("port", "${port:8080}");
+        placeholderElement.appendChild(childElement);
+
+        ElementParser placeholderParser = new ElementParser(placeholderElement);
+        assertEquals("${delay}", placeholderParser.getAttribute("delay"));
+
+        placeholderParser.setPlaceholderResolver(key -> "delay".equals(key) ? "30" : null);
+        assertEquals("30", placeholderParser.getAttribute("delay"));
+        assertEquals(30, placeholderParser.getInt("delay", -1));
+        assertEquals(Integer.valueOf(30), placeholderParser.getIntegerAttribute("delay", true));
+        assertEquals("localhost", placeholderParser.getAttributeValueMap().get("host"));
+        assertEquals(8080, placeholderParser.getElement("child-element").getInt("port", -1));
+
+        ElementCursor cursor = placeholderParser.getElementCursor("child-element");
+        assertTrue(cursor.next());
+        assertEquals("8080", cursor.getParser().getAttribute("port"));
+
+        placeholderElement.setAttribute("missing", "${missing}/${delay}/${other}");
+        assertEquals("${missing}/30/${other}", placeholderParser.getAttribute("missing"));
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testConverterRegistry() throws Exception {
+        String className = getClass().getName();
+        subElement.setAttribute("class", className);
+        subElement.setAttribute("builder", "built");
+
+        // A registry with a class loader that cannot see the test classes - like a handler bundle that does not import them
+        ConverterRegistry converterRegistry = new ConverterRegistry(new ClassLoader(null) { }, 16);
+        converterRegistry.register(StringBuilder.class, StringBuilder::new, false);
+
+        assertEquals(getClass(), instance.getElement("sub-element").getAttribute("class", Class.class, true));
+        assertFalse(instance.getElement("sub-element").tryGetAttribute("builder", StringBuilder.class).isPresent());
+
+        instance.setConverterRegistry(converterRegistry);
+        assertSame(converterRegistry, instance.getConverterRegistry());
+
+        ElementParser subElementParser = instance.getElement("sub-element");
+        assertEquals("built", subElementParser.getAttribute("builder", StringBuilder.class, true).toString());
+        assertFalse(subElementParser.tryGetAttribute("class", Class.class).isPresent());
+        try {
+            subElementParser.getAttribute("class", Class.class, true);
+            fail("Should fail for a class the registry class loader cannot load");
+        } catch (ElementDefinitionException expectedEx) {
+            assertThat(expectedEx.getCause(), instanceOf(ClassNotFoundException.class));
+        }
+
+        ElementCursor cursor = instance.getElementCursor("sub-element");
+        assertTrue(cursor.next());
+        assertEquals("built", cursor.getParser().getAttribute("builder", StringBuilder.class, true).toString());
+
+        assertEquals("built", instance.snapshot().getElement("sub-element").getAttribute("builder", StringBuilder.class, true).toString());
+
+        subElement.setAttribute("enabled", "yes");
+        assertFalse(instance.getElement("sub-element").getBooleanAttribute("enabled", true));
+        converterRegistry.register(Boolean.class, value -> "yes".equals(value) || Boolean.parseBoolean(value), false);
+        assertTrue(instance.getElement("sub-element").getBooleanAttribute("enabled", true));
+        assertTrue(instance.snapshot().getElement("sub-element").getBooleanAttribute("enabled", true));
+
+        instance.setConverterRegistry(null);
+        assertSame(ConverterRegistry.getDefault(), instance.getConverterRegistry());
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.parser;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Tests for the indexed mode of the ElementParser class.
+ */
+public class ElementParserIndexTest extends ElementParserTestSupport {
+    ElementParser instance;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+
+        instance = new ElementParser(handledElement, true);
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testIsIndexChildren() throws Exception {
+        assertTrue(instance.isIndexChildren());
+        assertTrue(instance.getElement("sub-element").isIndexChildren());
+        assertFalse(new ElementParser(handledElement).isIndexChildren());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testGetElement() throws Exception {
+        assertSame(subElement, instance.getElement("sub-element").element);
+        assertEquals("Sub-Element Value", instance.getElement("sub-element-with-value").getValue());
+        assertEquals("Sub-Element Value 2", instance.getElement("sub-element-with-value", 1).getValue());
+        assertNull(instance.getElement("sub-element-with-value", 2));
+        assertNull(instance.getElement("non-existent-element"));
+
+        assertSame("Index should be built once", instance.getChildIndex(), instance.getChildIndex());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testGetElementsMatchesUnindexed() throws Exception {
+        ElementParser unindexed = new ElementParser(handledElement);
+
+        List<ElementParser> expected = unindexed.getElements();
+        List<ElementParser> actual = instance.getElements();
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            assertSame(expected.get(i).element, actual.get(i).element);
+        }
+
+        assertEquals(2, instance.getElements("sub-element-with-value").size());
+        assertEquals("Sub-Element Value 2", instance.getElements("sub-element-with-value").get(1).getValue());
+        assertEquals(0, instance.getElements("non-existent-element").size());
+        assertEquals(unindexed.getElementValues("sub-element-with-value"), instance.getElementValues("sub-element-with-value"));
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testGetElementMap() throws Exception {
+        Map<String, List<ElementParser>> childElements = instance.getElementMap();
+
+        assertEquals(new ElementParser(handledElement).getElementMap().keySet().toString(), childElements.keySet().toString());
+        assertEquals(1, childElements.get("sub-element").size());
+        assertEquals(2, childElements.get("sub-element-with-value").size());
+        assertEquals(2, childElements.get("empty-sub-element").size());
+
+        ElementParser childElementParser = childElements.get("sub-element").get(0);
+        assertTrue(childElementParser.getElementMap().isEmpty());
+    }
+}
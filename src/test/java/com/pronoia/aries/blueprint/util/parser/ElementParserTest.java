@@ -21,6 +21,7 @@ import com.pronoia.aries.blueprint.util.namespace.ElementDefinitionException;
 import java.io.File;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -212,4 +213,30 @@ public class ElementParserTest extends ElementParserTestSupport {
         assertTrue(childElementParser.getElementMap().isEmpty());
     }
 
-}
\ No newline at end of file
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testTryGet() throws Exception {
+        assertEquals("sub-element", instance.tryGetElement("sub-element").get().getTagName());
+        assertEquals("Sub-Element Value 2", instance.tryGetElement("sub-element-with-value", 1).flatMap(ElementParser::tryGetValue).get());
+        assertFalse(instance.tryGetElement("non-existent-element").isPresent());
+        assertFalse(instance.tryGetElement("sub-element-with-value", 2).isPresent());
+        assertFalse(instance.tryGetElement("empty-sub-element").get().tryGetValue().isPresent());
+
+        assertEquals(Optional.of("my-simple-handler"), instance.tryGetAttribute("id"));
+        assertFalse(instance.tryGetAttribute("non-existent-attribute").isPresent());
+        assertEquals(Optional.of((short) 5678), instance.tryGetAttribute("short-handler-attribute", Short.class));
+        assertFalse("Un-convertible values should be empty", instance.tryGetAttribute("string-handler-attribute", Integer.class).isPresent());
+        assertFalse(instance.tryGetAttribute("non-existent-attribute", Integer.class).isPresent());
+
+        try {
+            instance.tryGetAttribute(null);
+            fail("Should fail for a null attribute name");
+        } catch (IllegalArgumentException expectedEx) {
+            assertThat(expectedEx.getMessage(), startsWith("tryGetAttribute(attributeName[null]) - attributeName cannot be null or empty {element = 'simple-handler' document = '"));
+        }
+    }
+}
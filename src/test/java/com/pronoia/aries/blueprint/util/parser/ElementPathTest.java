@@ -0,0 +1,135 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.parser;
+
+import com.pronoia.aries.blueprint.util.namespace.ElementDefinitionException;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Tests for the ElementPath class.
+ */
+public class ElementPathTest extends ElementParserTestSupport {
+    static final ElementPath SECOND_VALUE = ElementPath.compile("sub-element-with-value[2]");
+    static final ElementPath SUB_ELEMENT_ATTRIBUTE = ElementPath.compile("sub-element/@integer-sub-attribute");
+    static final ElementPath NESTED_ELEMENTS = ElementPath.compile("nested-empty-elements/empty-sub-element");
+    static final ElementPath WILDCARD_ELEMENT = ElementPath.compile("*[2]");
+    static final ElementPath HANDLER_ATTRIBUTE = ElementPath.compile("@id");
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testSelect() throws Exception {
+        for (boolean indexChildren : new boolean[] {false, true}) {
+            ElementParser instance = new ElementParser(handledElement, indexChildren);
+
+            assertEquals("Sub-Element Value 2", instance.selectValue(SECOND_VALUE));
+            assertEquals("1234567890", instance.selectValue(SUB_ELEMENT_ATTRIBUTE));
+            assertEquals("my-simple-handler", instance.selectValue(HANDLER_ATTRIBUTE));
+            assertEquals("Sub-Element Value", instance.selectValue(WILDCARD_ELEMENT));
+            assertNull(instance.selectValue(ElementPath.compile("sub-element-with-value[3]")));
+            assertNull(instance.selectValue(ElementPath.compile("sub-element/@non-existent-attribute")));
+
+            assertEquals("sub-element", instance.selectElement(SUB_ELEMENT_ATTRIBUTE).getTagName());
+            assertSame(handledElement, instance.selectElement(HANDLER_ATTRIBUTE).element);
+
+            List<ElementParser> nestedElements = instance.selectElements(NESTED_ELEMENTS);
+            assertEquals(2, nestedElements.size());
+            assertEquals("empty-sub-element", nestedElements.get(1).getTagName());
+            assertEquals(1, instance.selectElements(SECOND_VALUE).size());
+            assertEquals(0, instance.selectElements(ElementPath.compile("sub-element/empty-sub-element")).size());
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testSelectFailures() throws Exception {
+        ElementParser instance = new ElementParser(handledElement);
+
+        try {
+            instance.selectValue(ElementPath.compile("non-existent-element/@key"), true);
+            fail("Should fail for a missing value");
+        } catch (ElementDefinitionException expectedEx) {
+            assertThat(expectedEx.getMessage(), startsWith("Path 'non-existent-element/@key' not found {element = 'simple-handler' document = '"));
+        }
+
+        try {
+            instance.selectElements(SUB_ELEMENT_ATTRIBUTE);
+            fail("Should fail for an attribute path");
+        } catch (IllegalStateException expectedEx) {
+            assertEquals("selectElements(contextElement[simple-handler]) - path 'sub-element/@integer-sub-attribute' does not end with an element step", expectedEx.getMessage());
+        }
+
+        try {
+            instance.selectValue(null);
+            fail("Should fail for a null path");
+        } catch (IllegalArgumentException expectedEx) {
+            assertThat(expectedEx.getMessage(), startsWith("selectValue(path[null]) - path cannot be null {element = 'simple-handler' document = '"));
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testCompile() throws Exception {
+        assertTrue(HANDLER_ATTRIBUTE.isAttributePath());
+        assertFalse(SECOND_VALUE.isAttributePath());
+        assertEquals("sub-element-with-value[2]", SECOND_VALUE.toString());
+        assertEquals(SECOND_VALUE, ElementPath.compile("sub-element-with-value[2]"));
+
+        String[][] invalidExpressions = {
+            {"", "compile(expression[]) - expression cannot be null or empty"},
+            {"a//b", "compile(expression[a//b]) - steps cannot be empty"},
+            {"a/@", "compile(expression[a/@]) - the attribute name cannot be empty"},
+            {"a[0]", "compile(expression[a[0]]) - step 'a[0]' predicate must be a positive integer"},
+            {"a[x]/b", "compile(expression[a[x]/b]) - step 'a[x]' predicate must be a positive integer"},
+            {"a[1", "compile(expression[a[1]) - step 'a[1' has an unterminated predicate"},
+            {"@a/b", "compile(expression[@a/b]) - step '@a' is not valid"}
+        };
+
+        for (String[] invalidExpression : invalidExpressions) {
+            try {
+                ElementPath.compile(invalidExpression[0]);
+                fail("Should fail for invalid expression " + invalidExpression[0]);
+            } catch (IllegalArgumentException expectedEx) {
+                assertEquals(invalidExpression[1], expectedEx.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.parser;
+
+import com.pronoia.aries.blueprint.util.convert.ConverterRegistry;
+import com.pronoia.aries.blueprint.util.namespace.ElementDefinitionException;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Tests for the ElementReader class.
+ */
+public class ElementReaderTest {
+    static final String TEST_NAMESPACE = "urn:com.pronoia.test/schema/blueprint/test/simple-handler";
+
+    InputStream inputStream;
+    XMLStreamReader streamReader;
+
+    @Before
+    public void setUp() throws Exception {
+        inputStream = new FileInputStream("src/test/resources/OSGI-INF/blueprint/simple-handler-blueprint.xml");
+        streamReader = XMLInputFactory.newInstance().createXMLStreamReader(inputStream);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        streamReader.close();
+        inputStream.close();
+    }
+
+    ElementReader readerFor(String localName) throws Exception {
+        while (streamReader.hasNext()) {
+            if (streamReader.next() == XMLStreamConstants.START_ELEMENT && localName.equals(streamReader.getLocalName())) {
+                return new ElementReader(streamReader, "simple-handler-blueprint.xml");
+            }
+        }
+
+        throw new IllegalStateException("Element not found: " + localName);
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testAttributes() throws Exception {
+        ElementReader instance = readerFor("simple-handler");
+
+        assertEquals("simple-handler", instance.getTagName());
+        assertEquals(TEST_NAMESPACE, instance.getNamespaceURI());
+        assertEquals("my-simple-handler", instance.getAttribute("id"));
+        assertEquals("", instance.getStringAttribute("empty-string-handler-attribute", true));
+        assertEquals(Short.valueOf((short) 5678), instance.getShortAttribute("short-handler-attribute", true));
+        assertNull(instance.getAttribute("non-existent-attribute"));
+        assertEquals(Arrays.asList("id", "string-handler-attribute", "empty-string-handler-attribute", "short-handler-attribute"),
+            new LinkedList<>(instance.getAttributeValueMap().keySet()));
+
+        ElementReader sub = instance.nextElement("sub-element");
+        assertEquals(Boolean.FALSE, sub.getBooleanAttribute("boolean-sub-attribute", true));
+        assertEquals(Byte.valueOf((byte) 123), sub.getByteAttribute("short-sub-attribute", true));
+        assertEquals(Integer.valueOf(1234567890), sub.getIntegerAttribute("integer-sub-attribute", true));
+        assertEquals(Long.valueOf(9876543210L), sub.getLongAttribute("long-sub-attribute", true));
+        assertEquals(Float.valueOf(1.234f), sub.getFloatAttribute("float-sub-attribute", true));
+        assertEquals(Double.valueOf(5.6789), sub.getDoubleAttribute("double-sub-attribute", true));
+        assertEquals(Long.valueOf(9876543210L), sub.getAttribute("long-sub-attribute", long.class, true));
+        assertNull(sub.getAttribute("non-existent-attribute", Duration.class, false));
+
+        instance.setConverterRegistry(new ConverterRegistry().register(StringBuilder.class, StringBuilder::new, false));
+        assertEquals("required string value", sub.getAttribute("string-sub-attribute", StringBuilder.class, true).toString());
+
+        try {
+            sub.getIntegerAttribute("long-sub-attribute", true);
+            fail("Should have failed");
+        } catch (ElementDefinitionException expectedEx) {
+            assertEquals("Failed to convert 'long-sub-attribute' attribute value '9876543210' to class java.lang.Integer {element = 'sub-element' document = 'simple-handler-blueprint.xml'}",
+                expectedEx.getMessage());
+        }
+
+        try {
+            sub.getAttribute("non-existent-attribute", true);
+            fail("Should have failed");
+        } catch (ElementDefinitionException expectedEx) {
+            assertEquals("Attribute 'non-existent-attribute' not found {element = 'sub-element' document = 'simple-handler-blueprint.xml'}", expectedEx.getMessage());
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testNavigation() throws Exception {
+        ElementReader instance = readerFor("simple-handler");
+
+        assertEquals("\n        ", instance.getValue());
+
+        List<String> tagNames = new LinkedList<>();
+        for (ElementReader child = instance.nextElement(); child != null; child = instance.nextElement()) {
+            tagNames.add(child.getTagName());
+        }
+
+        assertEquals(Arrays.asList("sub-element", "sub-element-with-value", "sub-element-with-value", "empty-sub-element", "empty-sub-element", "nested-empty-elements"), tagNames);
+        assertNull(instance.nextElement());
+        assertEquals(XMLStreamConstants.END_ELEMENT, streamReader.getEventType());
+        assertEquals("simple-handler", streamReader.getLocalName());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testValues() throws Exception {
+        ElementReader instance = readerFor("simple-handler");
+
+        assertEquals(Arrays.asList("Sub-Element Value", "Sub-Element Value 2"), instance.getElementValues("sub-element-with-value"));
+        assertNull(instance.nextElement("sub-element"));
+
+        tearDown();
+        setUp();
+
+        instance = readerFor("nested-empty-elements");
+        ElementReader empty = instance.nextElement("empty-sub-element");
+        assertNull(empty.getValue());
+
+        try {
+            empty.getValue(true);
+            fail("Should have failed");
+        } catch (ElementDefinitionException expectedEx) {
+            assertThat(expectedEx.getMessage(), startsWith("Element 'empty-sub-element' text content is null or empty in document "));
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testReadElements() throws Exception {
+        final List<String> values = new LinkedList<>();
+
+        ElementReaderHandler handler = new ElementReaderHandler() {
+            @Override
+            public String getElementName() {
+                return "sub-element-with-value";
+            }
+
+            @Override
+            public void readElement(ElementReader elementReader) {
+                values.add(elementReader.getValue());
+            }
+        };
+
+        assertEquals(2, ElementReader.readElements(streamReader, TEST_NAMESPACE, handler));
+        assertEquals(Arrays.asList("Sub-Element Value", "Sub-Element Value 2"), values);
+
+        XMLStreamReader prefixedReader = XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(
+            "<root xmlns:u='urn:util'><u:item id='1'><u:item id='nested'/></u:item><item id='2'/><u:item id='3'/></root>"));
+        final List<String> ids = new LinkedList<>();
+        ElementReaderHandler itemHandler = new ElementReaderHandler() {
+            @Override
+            public String getElementName() {
+                return "item";
+            }
+
+            @Override
+            public void readElement(ElementReader elementReader) {
+                assertEquals("u:item", elementReader.getTagName());
+                ids.add(elementReader.getAttribute("id"));
+            }
+        };
+
+        assertEquals(2, ElementReader.readElements(prefixedReader, "urn:util", itemHandler));
+        assertEquals(Arrays.asList("1", "3"), ids);
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testConstructorWithInvalidArguments() throws Exception {
+        try {
+            new ElementReader(null);
+            fail("Should have failed");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("ElementReader(streamReader[null]) - the stream reader cannot be null", expectedEx.getMessage());
+        }
+
+        try {
+            new ElementReader(streamReader);
+            fail("Should have failed");
+        } catch (IllegalArgumentException expectedEx) {
+            assertThat(expectedEx.getMessage(), startsWith("ElementReader(streamReader) - the stream reader must be positioned on a START_ELEMENT event"));
+        }
+    }
+}
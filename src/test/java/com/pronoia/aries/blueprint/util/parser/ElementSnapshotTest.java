@@ -0,0 +1,187 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.parser;
+
+import com.pronoia.aries.blueprint.util.namespace.ElementDefinitionException;
+import com.pronoia.aries.blueprint.util.placeholder.DictionaryPlaceholderResolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Tests for the ElementSnapshot class.
+ */
+public class ElementSnapshotTest extends ElementParserTestSupport {
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testReadApi() throws Exception {
+        ElementParser parser = new ElementParser(handledElement);
+        ElementSnapshot instance = parser.snapshot();
+
+        assertEquals("simple-handler", instance.getTagName());
+        assertEquals(parser.getName(), instance.getName());
+        assertEquals(parser.getOwnerDocumentURI(), instance.getOwnerDocumentURI());
+        assertEquals(parser.getAttributeValueMap(), instance.getAttributeValueMap());
+        assertEquals("my-simple-handler", instance.getAttribute("id", true));
+        assertEquals(Short.valueOf((short) 5678), instance.getShortAttribute("short-handler-attribute", true));
+        assertNull(instance.getAttribute("non-existent-attribute"));
+
+        assertEquals(parser.getElements().size(), instance.getElementCount());
+        assertThat(instance.getElementMap().keySet(), contains("sub-element", "sub-element-with-value", "empty-sub-element", "nested-empty-elements"));
+        assertEquals(Arrays.asList("Sub-Element Value", "Sub-Element Value 2"), instance.getElementValues("sub-element-with-value"));
+        assertEquals("Sub-Element Value 2", instance.getElement("sub-element-with-value", 1).getValue(true));
+        assertNull(instance.getElement("sub-element-with-value", 2));
+        assertEquals(2, instance.getElements("empty-sub-element").size());
+        assertEquals(2, instance.getElement("nested-empty-elements").getElements("empty-sub-element").size());
+        assertEquals(0, instance.getElement("nested-empty-elements").getElement("empty-sub-element").getElementCount());
+        assertEquals(2, instance.getElementsNS(parser.getElement("empty-sub-element").getName()).size());
+
+        try {
+            instance.getElementNS(parser.getElement("empty-sub-element").getName(), -1);
+            fail("Should fail for a negative occurrence");
+        } catch (IllegalArgumentException expectedEx) {
+            assertThat(expectedEx.getMessage(), startsWith("getElementNS(name[" + parser.getElement("empty-sub-element").getName() + "], occurrence[-1]) - occurrence cannot be less than zero"));
+        }
+
+        ElementSnapshot subElementSnapshot = instance.getElement("sub-element", true);
+        assertFalse(subElementSnapshot.getBoolean("boolean-sub-attribute", true));
+        assertEquals(1234567890, subElementSnapshot.getInt("integer-sub-attribute", 0));
+        assertEquals(9876543210L, subElementSnapshot.getOptionalLong("long-sub-attribute").getAsLong());
+        assertEquals(5.6789, subElementSnapshot.getDouble("double-sub-attribute", 0.0), 0.0);
+        assertEquals(Float.valueOf(1.234F), subElementSnapshot.getFloatAttribute("float-sub-attribute", true));
+        assertFalse(subElementSnapshot.getOptionalInt("non-existent-attribute").isPresent());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testFailures() throws Exception {
+        ElementSnapshot instance = ElementSnapshot.of(handledElement);
+
+        try {
+            instance.getElement("non-existent-element", true);
+            fail("Should fail for a missing descendant element");
+        } catch (ElementDefinitionException expectedEx) {
+            assertThat(expectedEx.getMessage(), startsWith("Descendant 'non-existent-element' element not found {element = 'simple-handler' document = '"));
+        }
+
+        try {
+            instance.getAttribute("non-existent-attribute", true);
+            fail("Should fail for a missing attribute");
+        } catch (ElementDefinitionException expectedEx) {
+            assertThat(expectedEx.getMessage(), startsWith("Attribute 'non-existent-attribute' not found {element = 'simple-handler' document = '"));
+        }
+
+        try {
+            instance.getInt("string-handler-attribute", 0);
+            fail("Should fail for un-convertible attribute value");
+        } catch (ElementDefinitionException expectedEx) {
+            assertThat(expectedEx.getMessage(), startsWith("Failed to convert 'string-handler-attribute' attribute value 'my required handler attribute value' to int {element = 'simple-handler'"));
+        }
+
+        try {
+            instance.getElement("empty-sub-element").getValue(true);
+            fail("Should fail for an empty value");
+        } catch (ElementDefinitionException expectedEx) {
+            assertThat(expectedEx.getMessage(), startsWith("Element 'empty-sub-element' text content is null or empty in document '"));
+        }
+
+        try {
+            ElementSnapshot.of((ElementParser) null);
+            fail("Should fail for a null parser");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("ElementSnapshot.of(elementParser[null]) - the elementParser cannot be null", expectedEx.getMessage());
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testPlaceholdersAreResolvedWhenCaptured() throws Exception {
+        subElement.setAttribute("string-sub-attribute", "${snapshot.value:default}");
+
+        ElementParser parser = new ElementParser(handledElement);
+        parser.setPlaceholderResolver(DictionaryPlaceholderResolver.fromMap(Collections.singletonMap("snapshot.value", "resolved")));
+        ElementSnapshot instance = parser.snapshot();
+
+        subElement.setAttribute("string-sub-attribute", "changed");
+
+        assertEquals("resolved", instance.getElement("sub-element").getAttribute("string-sub-attribute"));
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testConcurrentReads() throws Exception {
+        final ElementSnapshot instance = ElementSnapshot.of(handledElement);
+
+        List<Callable<Boolean>> readers = new ArrayList<>();
+        for (int i = 0; i < 8; ++i) {
+            readers.add(() -> {
+                for (int j = 0; j < 1000; ++j) {
+                    if (!"Sub-Element Value 2".equals(instance.getElementValues("sub-element-with-value").get(1))
+                        || instance.getElement("sub-element").getLong("long-sub-attribute", 0L) != 9876543210L) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (Future<Boolean> result : executor.invokeAll(readers)) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
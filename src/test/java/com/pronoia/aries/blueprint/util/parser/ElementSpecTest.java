@@ -0,0 +1,169 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.parser;
+
+import com.pronoia.aries.blueprint.util.namespace.ElementDefinitionException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Tests for the ElementSpec class.
+ */
+public class ElementSpecTest extends ElementParserTestSupport {
+    static final ElementSpec<Target> HANDLER_SPEC = ElementSpec.<Target>builder()
+        .attribute("id", true, (target, value) -> target.id = value)
+        .intAttribute("short-handler-attribute", false, (target, value) -> target.intValue = value)
+        .otherAttributes((target, attributeValues) -> target.otherAttributes = attributeValues)
+        .childValues("sub-element-with-value", (target, values) -> target.values = values)
+        .childValue("empty-sub-element", (target, value) -> target.emptyValues.add(value))
+        .child("sub-element", (target, childParser) -> target.subElement = ElementSpec.<Target>builder()
+            .booleanAttribute("boolean-sub-attribute", true, (subTarget, value) -> subTarget.booleanValue = value)
+            .longAttribute("long-sub-attribute", true, (subTarget, value) -> subTarget.longValue = value)
+            .doubleAttribute("double-sub-attribute", true, (subTarget, value) -> subTarget.doubleValue = value)
+            .attribute("short-sub-attribute", false, Short.class, Short::valueOf, (subTarget, value) -> subTarget.shortValue = value)
+            .build()
+            .bind(childParser, new Target()))
+        .build();
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testBind() throws Exception {
+        Target target = HANDLER_SPEC.bind(handledElement, new Target());
+
+        assertEquals("my-simple-handler", target.id);
+        assertEquals(5678, target.intValue);
+        assertThat(target.otherAttributes.keySet(), contains("empty-string-handler-attribute", "string-handler-attribute", "xmlns"));
+        assertEquals(Arrays.asList("Sub-Element Value", "Sub-Element Value 2"), target.values);
+        assertEquals(Arrays.asList(null, null), target.emptyValues);
+
+        assertFalse(target.subElement.booleanValue);
+        assertEquals(9876543210L, target.subElement.longValue);
+        assertEquals(5.6789, target.subElement.doubleValue, 0.0);
+        assertEquals(Short.valueOf((short) 123), target.subElement.shortValue);
+        assertNull(target.subElement.subElement);
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testBindFailures() throws Exception {
+        Target target = new Target();
+
+        try {
+            HANDLER_SPEC.bind(subElement, target);
+            fail("Should fail for a missing required attribute");
+        } catch (ElementDefinitionException expectedEx) {
+            assertThat(expectedEx.getMessage(), startsWith("Attribute 'id' not found {element = 'sub-element' document = '"));
+            assertThat(expectedEx.getMessage(), endsWith("simple-handler-blueprint.xml'}"));
+        }
+
+        ElementSpec<Target> conversionSpec = ElementSpec.<Target>builder()
+            .intAttribute("string-handler-attribute", false, (bindTarget, value) -> bindTarget.intValue = value)
+            .build();
+        try {
+            conversionSpec.bind(handledElement, target);
+            fail("Should fail for un-convertible attribute value");
+        } catch (ElementDefinitionException expectedEx) {
+            assertThat(expectedEx.getMessage(), startsWith("Failed to convert 'string-handler-attribute' attribute value 'my required handler attribute value' to int {element = 'simple-handler' document ="));
+        }
+
+        try {
+            HANDLER_SPEC.bind(handledElement, null);
+            fail("Should fail for a null target");
+        } catch (IllegalArgumentException expectedEx) {
+            assertThat(expectedEx.getMessage(), startsWith("bind(elementParser, target[null]) - target cannot be null {element = 'simple-handler' document = '"));
+        }
+
+        assertSame(target, ElementSpec.<Target>builder().build().bind(handledElement, target));
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testBuilderWithInvalidArguments() throws Exception {
+        ElementSpec.Builder<Target> builder = ElementSpec.<Target>builder()
+            .attribute("id", false, (target, value) -> target.id = value)
+            .childValue("sub-element", (target, value) -> target.id = value);
+
+        try {
+            builder.intAttribute("id", false, (target, value) -> target.intValue = value);
+            fail("Should fail for a duplicate attribute");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("intAttribute(attributeName[id]) - attribute is already bound", expectedEx.getMessage());
+        }
+
+        try {
+            builder.childValues("sub-element", (target, values) -> target.values = values);
+            fail("Should fail for a duplicate descendant element");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("childValues(tagName[sub-element]) - descendant element is already bound", expectedEx.getMessage());
+        }
+
+        try {
+            builder.attribute("", false, (target, value) -> target.id = value);
+            fail("Should fail for an empty attribute name");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("attribute(attributeName[]) - attributeName cannot be null or empty", expectedEx.getMessage());
+        }
+
+        try {
+            builder.child("nested-empty-elements", null);
+            fail("Should fail for a null setter");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("child(tagName[nested-empty-elements], setter[null]) - setter cannot be null", expectedEx.getMessage());
+        }
+    }
+
+    static class Target {
+        String id;
+        int intValue;
+        long longValue;
+        double doubleValue;
+        boolean booleanValue = true;
+        Short shortValue;
+        Map<String, String> otherAttributes;
+        List<String> values;
+        List<String> emptyValues = new ArrayList<>();
+        Target subElement;
+    }
+}
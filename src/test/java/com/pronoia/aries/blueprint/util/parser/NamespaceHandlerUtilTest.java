@@ -21,6 +21,10 @@ import com.pronoia.aries.blueprint.util.namespace.ElementDefinitionException;
 import java.io.File;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -37,19 +41,28 @@ import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.ge
 import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getAttributeValue;
 import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getAttributeValueMap;
 import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getAttributes;
+import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getBoolean;
 import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getBooleanAttribute;
 import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getByteAttribute;
 import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getChildElementMap;
 import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getChildElementValues;
 import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getChildElements;
 
+import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getDouble;
 import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getDoubleAttribute;
 import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getElementValue;
 import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getFloatAttribute;
+import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getInt;
 import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getIntegerAttribute;
+import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getLong;
 import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getLongAttribute;
+import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getOptionalDouble;
+import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getOptionalInt;
+import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getOptionalLong;
 import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getShortAttribute;
 import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.getStringAttribute;
+import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.tryGetAttributeValue;
+import static com.pronoia.aries.blueprint.util.namespace.NamespaceHandlerUtil.tryGetChildElement;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.instanceOf;
@@ -865,4 +878,72 @@ public class NamespaceHandlerUtilTest {
             assertEquals("Error converting value 'my required handler attribute value' of attribute 'string-handler-attribute' in element 'simple-handler' to class java.lang.Double", expectedEx.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testGetPrimitiveAttributes() throws Exception {
+        assertTrue(getBoolean(handledElement, "boolean-sub-attribute", true));
+        assertFalse(getBoolean(sub, "boolean-sub-attribute", true));
+
+        assertEquals(-1, getInt(handledElement, "integer-sub-attribute", -1));
+        assertEquals(1234567890, getInt(sub, "integer-sub-attribute", -1));
+
+        assertEquals(-1L, getLong(handledElement, "long-sub-attribute", -1L));
+        assertEquals(9876543210L, getLong(sub, "long-sub-attribute", -1L));
+
+        assertEquals(-1.0, getDouble(handledElement, "double-sub-attribute", -1.0), 0.0);
+        assertEquals(5.6789, getDouble(sub, "double-sub-attribute", -1.0), 0.0);
+
+        assertEquals(OptionalInt.empty(), getOptionalInt(handledElement, "integer-sub-attribute"));
+        assertEquals(OptionalInt.of(1234567890), getOptionalInt(sub, "integer-sub-attribute"));
+        assertEquals(OptionalLong.empty(), getOptionalLong(handledElement, "long-sub-attribute"));
+        assertEquals(OptionalLong.of(9876543210L), getOptionalLong(sub, "long-sub-attribute"));
+        assertEquals(OptionalDouble.empty(), getOptionalDouble(handledElement, "double-sub-attribute"));
+        assertEquals(OptionalDouble.of(5.6789), getOptionalDouble(sub, "double-sub-attribute"));
+
+        try {
+            getInt(handledElement, "string-handler-attribute", -1);
+            fail("Should fail for un-convertible attribute value");
+        } catch (ElementDefinitionException expectedEx) {
+            assertEquals("Error converting value 'my required handler attribute value' of attribute 'string-handler-attribute' in element 'simple-handler' to int", expectedEx.getMessage());
+        }
+
+        try {
+            getOptionalLong(null, "long-sub-attribute");
+            fail("Should fail for a null element");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("getOptionalLong(element[null], attributeName[long-sub-attribute]) - element cannot be null", expectedEx.getMessage());
+        }
+
+        try {
+            getDouble(sub, "", -1.0);
+            fail("Should fail for an empty attribute name");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("getDouble(element[sub-element], attributeName[]) - attributeName cannot be null or empty", expectedEx.getMessage());
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testTryGet() throws Exception {
+        assertEquals(Optional.of(sub), tryGetChildElement(handledElement, SUB_ELEMENT));
+        assertFalse(tryGetChildElement(sub, SUB_ELEMENT).isPresent());
+        assertEquals(Optional.of("123"), tryGetAttributeValue(sub, "short-sub-attribute"));
+        assertFalse(tryGetAttributeValue(handledElement, "short-sub-attribute").isPresent());
+
+        try {
+            tryGetChildElement(handledElement, "");
+            fail("Should fail for an empty tag name");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("tryGetChildElement(element[simple-handler], tagName[]) - tagName cannot be null or empty", expectedEx.getMessage());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.placeholder;
+
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Tests for the PlaceholderTemplate class.
+ */
+public class PlaceholderTemplateTest {
+    static final PlaceholderResolver RESOLVER;
+
+    static {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("delay", 30);
+        properties.put("host", "localhost");
+
+        RESOLVER = DictionaryPlaceholderResolver.fromMap(properties);
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testResolve() throws Exception {
+        assertEquals("30", PlaceholderTemplate.resolve("${delay}", RESOLVER));
+        assertEquals("http://localhost:8080/path", PlaceholderTemplate.resolve("http://${host}:${port:8080}/path", RESOLVER));
+        assertEquals("", PlaceholderTemplate.resolve("${missing:}", RESOLVER));
+        assertEquals("a:b", PlaceholderTemplate.resolve("${missing:a:b}", RESOLVER));
+        assertEquals("${} and ${unterminated", PlaceholderTemplate.resolve("${} and ${unterminated", RESOLVER));
+        assertEquals("plain", PlaceholderTemplate.resolve("plain", null));
+        assertNull(PlaceholderTemplate.resolve(null, RESOLVER));
+        assertEquals("delay=${missing}/8080", PlaceholderTemplate.resolve("delay=${missing}/${port:8080}", RESOLVER, true));
+
+        try {
+            PlaceholderTemplate.resolve("delay=${missing}", RESOLVER);
+            fail("Should fail for an unresolvable placeholder");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("resolve(resolver) - placeholder 'missing' could not be resolved and does not have a default value {template = 'delay=${missing}'}", expectedEx.getMessage());
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testCompile() throws Exception {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("${host}:${port:8080}");
+
+        assertSame(template, PlaceholderTemplate.compile(new String("${host}:${port:8080}")));
+        assertFalse(template.isLiteral());
+        assertTrue(PlaceholderTemplate.compile("${}").isLiteral());
+        assertEquals("${host}:${port:8080}", template.getTemplate());
+
+        for (int index = 0; index < PlaceholderTemplate.CACHE_SIZE * 2; ++index) {
+            PlaceholderTemplate.compile("${key" + index + "}");
+        }
+        assertTrue(PlaceholderTemplate.TEMPLATE_CACHE.size() <= PlaceholderTemplate.CACHE_SIZE);
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testResolvers() throws Exception {
+        Hashtable<String, Object> configuration = new Hashtable<>();
+        configuration.put("delay", 45);
+
+        DictionaryPlaceholderResolver configurationResolver = new DictionaryPlaceholderResolver(configuration);
+        configuration.put("delay", 60);
+        assertEquals("45", configurationResolver.resolve("delay"));
+
+        System.setProperty("placeholder.test.delay", "15");
+        try {
+            PlaceholderResolver resolver = configurationResolver.orElse(new SystemPropertyPlaceholderResolver());
+            assertEquals("45/15", PlaceholderTemplate.resolve("${delay}/${placeholder.test.delay}", resolver));
+        } finally {
+            System.clearProperty("placeholder.test.delay");
+        }
+    }
+}
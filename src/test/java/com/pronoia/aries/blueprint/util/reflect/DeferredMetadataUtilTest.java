@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.reflect;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.aries.blueprint.mutable.MutableBeanMetadata;
+import org.junit.Test;
+import org.osgi.service.blueprint.reflect.ComponentMetadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Tests for the DeferredMetadataUtil class.
+ */
+public class DeferredMetadataUtilTest {
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testConstructor() throws Exception {
+        assertNotNull(new DeferredMetadataUtil());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testCreate() throws Exception {
+        AtomicInteger supplierCalls = new AtomicInteger();
+        MutableBeanMetadata actual = DeferredMetadataUtil.create(() -> "deferred-" + supplierCalls.incrementAndGet(), "deferred-bean");
+
+        assertEquals("deferred-bean", actual.getId());
+        assertEquals(ComponentMetadata.ACTIVATION_LAZY, actual.getActivation());
+        assertEquals(DeferredObject.class.getName(), actual.getClassName());
+        assertSame(DeferredObject.class, actual.getRuntimeClass());
+        assertEquals("create", actual.getFactoryMethod());
+        assertEquals(1, actual.getArguments().size());
+
+        DeferredObject<?> deferredObject = DeferredMetadataUtil.getDeferredObject(actual);
+        assertFalse(deferredObject.isResolved());
+        assertEquals(0, supplierCalls.get());
+
+        assertEquals("deferred-1", DeferredObject.create(deferredObject));
+        assertEquals("deferred-1", DeferredObject.create(deferredObject));
+        assertTrue(deferredObject.isResolved());
+        assertEquals(1, supplierCalls.get());
+
+        assertNull(DeferredMetadataUtil.getDeferredObject(SingletonBeanMetadataUtil.create(String.class)));
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testDeferredObjectFailure() throws Exception {
+        AtomicInteger supplierCalls = new AtomicInteger();
+        DeferredObject<String> instance = new DeferredObject<>(() -> {
+            if (supplierCalls.incrementAndGet() == 1) {
+                throw new IllegalStateException("First call fails");
+            }
+            return "created";
+        });
+
+        try {
+            instance.get();
+            fail("Should propagate the supplier failure");
+        } catch (IllegalStateException expectedEx) {
+            assertEquals("First call fails", expectedEx.getMessage());
+        }
+        assertFalse(instance.isResolved());
+
+        assertEquals("created", instance.get());
+        assertEquals("created", instance.get());
+        assertEquals(2, supplierCalls.get());
+
+        try {
+            DeferredMetadataUtil.create(null);
+            fail("Should fail for a null supplier");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("create(supplier[null]) - supplier cannot be null", expectedEx.getMessage());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.reflect;
+
+import org.apache.aries.blueprint.ExtendedBeanMetadata;
+import org.apache.aries.blueprint.PassThroughMetadata;
+import org.apache.aries.blueprint.mutable.MutableBeanMetadata;
+import org.apache.aries.blueprint.mutable.MutableCollectionMetadata;
+import org.apache.aries.blueprint.mutable.MutableValueMetadata;
+import org.apache.aries.blueprint.reflect.MetadataUtil;
+import org.junit.Test;
+import org.osgi.service.blueprint.reflect.BeanMetadata;
+import org.osgi.service.blueprint.reflect.Metadata;
+import org.osgi.service.blueprint.reflect.NonNullMetadata;
+import org.osgi.service.blueprint.reflect.NullMetadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Tests for the MetadataFactory class.
+ */
+public class MetadataFactoryTest {
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testCreateMatchesMetadataUtil() throws Exception {
+        for (Class<?> metadataType : MetadataFactory.FACTORIES.keySet()) {
+            @SuppressWarnings("unchecked")
+            Class<? extends Metadata> type = (Class<? extends Metadata>) metadataType;
+
+            assertSame("Implementation for " + type.getName(), MetadataUtil.createMetadata(type).getClass(), MetadataFactory.create(type).getClass());
+        }
+
+        assertSame(NullMetadata.NULL, MetadataFactory.create(NullMetadata.class));
+        assertNotSame(MetadataFactory.create(MutableValueMetadata.class), MetadataFactory.create(MutableValueMetadata.class));
+        assertEquals(MetadataUtil.createMetadata(MutableCollectionMetadata.class).getClass(), MetadataFactory.createCollectionMetadata().getClass());
+        assertEquals(MetadataUtil.createMetadata(PassThroughMetadata.class).getClass(), MetadataFactory.createPassThroughMetadata().getClass());
+        assertEquals(MetadataUtil.createMetadata(BeanMetadata.class).getClass(), MetadataFactory.createBeanMetadata().getClass());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testCreateFallback() throws Exception {
+        assertSame(MetadataUtil.createMetadata(MutableBeanMetadata.class).getClass(), MetadataFactory.create(ExtendedBeanMetadata.class).getClass());
+
+        try {
+            MetadataFactory.create(NonNullMetadata.class);
+            fail("Should fail for an unsupported metadata type");
+        } catch (IllegalArgumentException expectedEx) {
+            // Raised by MetadataUtil.createMetadata
+        }
+
+        try {
+            MetadataFactory.create(null);
+            fail("Should fail for a null metadata type");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("create(metadataType[null]) - metadataType cannot be null", expectedEx.getMessage());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.reflect;
+
+import org.apache.aries.blueprint.reflect.MetadataUtil;
+import org.junit.After;
+import org.junit.Test;
+import org.osgi.service.blueprint.reflect.NullMetadata;
+import org.osgi.service.blueprint.reflect.RefMetadata;
+import org.osgi.service.blueprint.reflect.ValueMetadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Tests for the MetadataPool class.
+ */
+public class MetadataPoolTest {
+    @After
+    public void tearDown() throws Exception {
+        MetadataPool.setMaximumSize(MetadataPool.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testRef() throws Exception {
+        RefMetadata actual = MetadataPool.ref("pooled-component");
+
+        assertEquals("pooled-component", actual.getComponentId());
+        assertSame(actual, MetadataPool.ref(new String("pooled-component")));
+        assertNotSame(actual, MetadataPool.ref("other-pooled-component"));
+
+        try {
+            MetadataPool.ref("");
+            fail("Should fail for an empty component id");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("ref(componentId[]) - componentId cannot be null or empty", expectedEx.getMessage());
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testValue() throws Exception {
+        ValueMetadata actual = MetadataPool.value("1234", Integer.class);
+
+        assertEquals("1234", actual.getStringValue());
+        assertEquals(Integer.class.getName(), actual.getType());
+        assertSame(actual, MetadataPool.value("1234", Integer.class.getName()));
+        assertNotSame(actual, MetadataPool.value("1234", Long.class));
+        assertNotSame(actual, MetadataPool.value("1234"));
+        assertNull(MetadataPool.value("1234").getType());
+        assertSame(MetadataPool.value("1234"), MetadataPool.value("1234", (Class<?>) null));
+        assertSame(NullMetadata.NULL, MetadataPool.nullValue());
+
+        try {
+            MetadataPool.value(null, Integer.class);
+            fail("Should fail for a null value");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("value(stringValue[null], type[java.lang.Integer]) - stringValue cannot be null", expectedEx.getMessage());
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testMaximumSize() throws Exception {
+        RefMetadata pooled = MetadataPool.ref("bounded-pooled-component");
+
+        MetadataPool.setMaximumSize(0);
+        assertSame(pooled, MetadataPool.ref("bounded-pooled-component"));
+        assertNotSame(MetadataPool.ref("bounded-unpooled-component"), MetadataPool.ref("bounded-unpooled-component"));
+
+        try {
+            MetadataPool.setMaximumSize(-1);
+            fail("Should fail for a negative size");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("setMaximumSize(maximumSize[-1]) - maximumSize cannot be negative", expectedEx.getMessage());
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testCloneMetadata() throws Exception {
+        RefMetadata clonedRef = (RefMetadata) MetadataUtil.cloneMetadata(MetadataPool.ref("cloned-component"));
+        assertEquals("cloned-component", clonedRef.getComponentId());
+
+        ValueMetadata clonedValue = (ValueMetadata) MetadataUtil.cloneMetadata(MetadataPool.value("true", Boolean.class));
+        assertEquals("true", clonedValue.getStringValue());
+        assertEquals(Boolean.class.getName(), clonedValue.getType());
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pronoia.aries.blueprint.util.reflect;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.aries.blueprint.mutable.MutableCollectionMetadata;
+import org.apache.aries.blueprint.mutable.MutableMapMetadata;
+import org.junit.Test;
+import org.osgi.service.blueprint.reflect.CollectionMetadata;
+import org.osgi.service.blueprint.reflect.MapEntry;
+import org.osgi.service.blueprint.reflect.MapMetadata;
+import org.osgi.service.blueprint.reflect.Metadata;
+import org.osgi.service.blueprint.reflect.NullMetadata;
+import org.osgi.service.blueprint.reflect.RefMetadata;
+import org.osgi.service.blueprint.reflect.ValueMetadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Tests for the ObjectGraphMetadataUtil class.
+ */
+public class ObjectGraphMetadataUtilTest {
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testConstructor() throws Exception {
+        assertNotNull(new ObjectGraphMetadataUtil());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testCreate() throws Exception {
+        List<Object> shared = Arrays.asList("shared-1", "shared-2");
+        RefMetadata ref = MetadataPool.ref("referenced-component");
+
+        Map<Object, Object> root = new LinkedHashMap<>();
+        root.put("list", Arrays.asList(1, shared, null));
+        root.put("set", new LinkedHashSet<>(Collections.singletonList(shared)));
+        root.put("array", new int[] {7, 8});
+        root.put("strings", new String[] {"a"});
+        root.put(shared, ref);
+
+        MapMetadata actual = (MapMetadata) ObjectGraphMetadataUtil.create(root);
+        List<MapEntry> entries = actual.getEntries();
+        assertEquals(5, entries.size());
+
+        CollectionMetadata list = (CollectionMetadata) entries.get(0).getValue();
+        assertSame(List.class, list.getCollectionClass());
+        assertEquals("1", ((ValueMetadata) list.getValues().get(0)).getStringValue());
+        assertEquals(Integer.class.getName(), ((ValueMetadata) list.getValues().get(0)).getType());
+        CollectionMetadata sharedMetadata = (CollectionMetadata) list.getValues().get(1);
+        assertEquals(2, sharedMetadata.getValues().size());
+        assertSame(NullMetadata.NULL, list.getValues().get(2));
+
+        CollectionMetadata set = (CollectionMetadata) entries.get(1).getValue();
+        assertSame(Set.class, set.getCollectionClass());
+        assertSame(sharedMetadata, set.getValues().get(0));
+
+        CollectionMetadata array = (CollectionMetadata) entries.get(2).getValue();
+        assertSame(Object[].class, array.getCollectionClass());
+        assertNull(array.getValueType());
+        assertEquals("8", ((ValueMetadata) array.getValues().get(1)).getStringValue());
+        assertEquals(String.class.getName(), ((CollectionMetadata) entries.get(3).getValue()).getValueType());
+
+        assertSame(sharedMetadata, entries.get(4).getKey());
+        assertSame(ref, entries.get(4).getValue());
+
+        assertSame(NullMetadata.NULL, ObjectGraphMetadataUtil.create(null));
+        assertEquals("scalar", ((ValueMetadata) ObjectGraphMetadataUtil.create("scalar")).getStringValue());
+        assertTrue(ObjectGraphMetadataUtil.isContainer(new long[0]));
+        assertFalse(ObjectGraphMetadataUtil.isContainer("scalar"));
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testCreateDeepGraph() throws Exception {
+        List<Object> root = new ArrayList<>();
+        List<Object> current = root;
+        for (int depth = 0; depth < 100_000; ++depth) {
+            List<Object> child = new ArrayList<>();
+            current.add(child);
+            current = child;
+        }
+        current.add("leaf");
+
+        Metadata metadata = ObjectGraphMetadataUtil.create(root);
+        for (int depth = 0; depth <= 100_000; ++depth) {
+            metadata = ((CollectionMetadata) metadata).getValues().get(0);
+        }
+        assertEquals("leaf", ((ValueMetadata) metadata).getStringValue());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testCreateInvalidGraph() throws Exception {
+        List<Object> cyclic = new ArrayList<>();
+        cyclic.add(Collections.singletonMap("self", cyclic));
+
+        try {
+            ObjectGraphMetadataUtil.create(cyclic);
+            fail("Should fail for a cyclic graph");
+        } catch (IllegalArgumentException expectedEx) {
+            assertTrue(expectedEx.getMessage().startsWith("create(value) - the object graph contains a cycle through java.util.ArrayList@"));
+        }
+
+        Map<Object, Object> nullKey = new HashMap<>();
+        nullKey.put(null, "value");
+        try {
+            ObjectGraphMetadataUtil.create(nullKey);
+            fail("Should fail for a null key");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("create(value) - Map keys cannot be null: null=value", expectedEx.getMessage());
+        }
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testAddNestedValues() throws Exception {
+        MutableCollectionMetadata listMetadata = ListMetadataUtil.create();
+        ListMetadataUtil.addValue(listMetadata, Arrays.asList("nested"));
+        assertEquals(1, ((CollectionMetadata) listMetadata.getValues().get(0)).getValues().size());
+
+        MutableMapMetadata mapMetadata = MapMetadataUtil.create(Collections.singletonMap("nested", Collections.singletonMap("key", "value")));
+        assertEquals(1, ((MapMetadata) mapMetadata.getEntries().get(0).getValue()).getEntries().size());
+    }
+}
@@ -18,12 +18,21 @@ package com.pronoia.aries.blueprint.util.reflect;
 
 import com.pronoia.aries.blueprint.util.reflect.PassThroughMetadataUtil;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.apache.aries.blueprint.mutable.MutablePassThroughMetadata;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 
 /**
@@ -65,4 +74,39 @@ public class PassThroughMetadataUtilTest {
         assertEquals(expectedObject, actual.getObject());
     }
 
-}
\ No newline at end of file
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testCreatePassThroughCollections() throws Exception {
+        List<String> values = Arrays.asList("first", "second", "first");
+
+        List<?> list = (List<?>) ListMetadataUtil.createPassThrough(values).getObject();
+        assertEquals(values, list);
+        assertEquals(Arrays.asList("first", "second"), Arrays.asList(((Set<?>) SetMetadataUtil.createPassThrough(values).getObject()).toArray()));
+        assertEquals(Collections.emptyList(), ListMetadataUtil.createPassThrough(null).getObject());
+
+        Map<String, Integer> entries = new LinkedHashMap<>();
+        entries.put("one", 1);
+        entries.put("none", null);
+        Map<?, ?> map = (Map<?, ?>) MapMetadataUtil.createPassThrough(entries).getObject();
+        assertEquals(entries, map);
+        assertTrue(((Map<?, ?>) MapMetadataUtil.createPassThrough(Collections.emptyMap()).getObject()).isEmpty());
+
+        try {
+            list.clear();
+            fail("Pass-through collections should be immutable");
+        } catch (UnsupportedOperationException expectedEx) {
+            // Expected
+        }
+
+        try {
+            MapMetadataUtil.createPassThrough(Collections.singletonMap("ref", MetadataPool.ref("referenced-component")));
+            fail("Should fail for a metadata value");
+        } catch (IllegalArgumentException expectedEx) {
+            assertEquals("createPassThrough(values) - value 'RefMetadata[componentId=referenced-component]' is metadata - use create to build collections that contain metadata", expectedEx.getMessage());
+        }
+    }
+}
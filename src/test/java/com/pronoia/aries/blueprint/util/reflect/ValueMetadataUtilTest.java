@@ -18,13 +18,22 @@ package com.pronoia.aries.blueprint.util.reflect;
 
 import com.pronoia.aries.blueprint.util.reflect.ValueMetadataUtil;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.apache.aries.blueprint.PassThroughMetadata;
 import org.apache.aries.blueprint.mutable.MutableValueMetadata;
 import org.apache.aries.blueprint.reflect.MetadataUtil;
 import org.junit.Test;
+import org.osgi.service.blueprint.reflect.NullMetadata;
 import org.osgi.service.blueprint.reflect.ValueMetadata;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 
 /**
@@ -106,4 +115,37 @@ public class ValueMetadataUtilTest {
 
         assertMetadataEquals(expected, ValueMetadataUtil.create(Integer.class, stringValue));
     }
-}
\ No newline at end of file
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testCreateFromPrimitives() throws Exception {
+        assertMetadataEquals(ValueMetadataUtil.create(Integer.valueOf(123)), ValueMetadataUtil.create(123));
+        assertMetadataEquals(ValueMetadataUtil.create(Long.valueOf(9876543210L)), ValueMetadataUtil.create(9876543210L));
+        assertMetadataEquals(ValueMetadataUtil.create(Boolean.TRUE), ValueMetadataUtil.create(true));
+        assertSame(ValueMetadataUtil.create(1).getType(), ValueMetadataUtil.create(2).getType());
+    }
+
+    /**
+     * Description of test.
+     *
+     * @throws Exception in the event of a test error.
+     */
+    @Test
+    public void testCreatePreconverted() throws Exception {
+        Pattern pattern = Pattern.compile("[a-z]+");
+
+        assertSame(pattern, ((PassThroughMetadata) ValueMetadataUtil.createPreconverted(pattern)).getObject());
+        assertSame(TimeUnit.SECONDS, ((PassThroughMetadata) ValueMetadataUtil.createPreconverted(TimeUnit.SECONDS)).getObject());
+        assertSame(Duration.ZERO, ((PassThroughMetadata) ValueMetadataUtil.createPreconverted(Duration.ZERO)).getObject());
+        assertSame(NullMetadata.NULL, ValueMetadataUtil.createPreconverted(null));
+
+        StringBuilder mutableValue = new StringBuilder("mutable");
+        assertFalse(ValueMetadataUtil.isPreconverted(mutableValue));
+        assertTrue(ValueMetadataUtil.isPreconverted(42));
+        assertMetadataEquals(ValueMetadataUtil.create(mutableValue), (ValueMetadata) ValueMetadataUtil.createPreconverted(mutableValue));
+    }
+}